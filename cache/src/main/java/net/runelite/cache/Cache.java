@@ -45,6 +45,7 @@ public class Cache
 		options.addOption(null, "npcs", true, "directory to dump npcs to");
 		options.addOption(null, "objects", true, "directory to dump objects to");
 		options.addOption(null, "sprites", true, "directory to dump sprites to");
+		options.addOption(null, "ndjson", false, "dump items, npcs or objects to a single ndjson file instead of a file per id");
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -61,6 +62,8 @@ public class Cache
 
 		String cache = cmd.getOptionValue("cache");
 
+		boolean ndjson = cmd.hasOption("ndjson");
+
 		Store store = loadStore(cache);
 
 		if (cmd.hasOption("items"))
@@ -74,7 +77,7 @@ public class Cache
 			}
 
 			System.out.println("Dumping items to " + itemdir);
-			dumpItems(store, new File(itemdir));
+			dumpItems(store, new File(itemdir), ndjson);
 		}
 		else if (cmd.hasOption("npcs"))
 		{
@@ -87,7 +90,7 @@ public class Cache
 			}
 
 			System.out.println("Dumping npcs to " + npcdir);
-			dumpNpcs(store, new File(npcdir));
+			dumpNpcs(store, new File(npcdir), ndjson);
 		}
 		else if (cmd.hasOption("objects"))
 		{
@@ -100,7 +103,7 @@ public class Cache
 			}
 
 			System.out.println("Dumping objects to " + objectdir);
-			dumpObjects(store, new File(objectdir));
+			dumpObjects(store, new File(objectdir), ndjson);
 		}
 		else if (cmd.hasOption("sprites"))
 		{
@@ -128,27 +131,51 @@ public class Cache
 		return store;
 	}
 
-	private static void dumpItems(Store store, File itemdir) throws IOException
+	private static void dumpItems(Store store, File itemdir, boolean ndjson) throws IOException
 	{
 		ItemManager dumper = new ItemManager(store);
 		dumper.load();
-		dumper.export(itemdir);
+		if (ndjson)
+		{
+			itemdir.mkdirs();
+			dumper.exportNdjson(new File(itemdir, "items.ndjson"));
+		}
+		else
+		{
+			dumper.export(itemdir);
+		}
 		dumper.java(itemdir);
 	}
 
-	private static void dumpNpcs(Store store, File npcdir) throws IOException
+	private static void dumpNpcs(Store store, File npcdir, boolean ndjson) throws IOException
 	{
 		NpcManager dumper = new NpcManager(store);
 		dumper.load();
-		dumper.dump(npcdir);
+		if (ndjson)
+		{
+			npcdir.mkdirs();
+			dumper.exportNdjson(new File(npcdir, "npcs.ndjson"));
+		}
+		else
+		{
+			dumper.dump(npcdir);
+		}
 		dumper.java(npcdir);
 	}
 
-	private static void dumpObjects(Store store, File objectdir) throws IOException
+	private static void dumpObjects(Store store, File objectdir, boolean ndjson) throws IOException
 	{
 		ObjectManager dumper = new ObjectManager(store);
 		dumper.load();
-		dumper.dump(objectdir);
+		if (ndjson)
+		{
+			objectdir.mkdirs();
+			dumper.exportNdjson(new File(objectdir, "objects.ndjson"));
+		}
+		else
+		{
+			dumper.dump(objectdir);
+		}
 		dumper.java(objectdir);
 	}
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+
+/**
+ * Definitions of a config archive, decoded on first access. Loading only
+ * decompresses the archive and records where each file is. Decoded
+ * definitions are kept, so each id always maps to the same instance.
+ */
+class DefinitionTable<T>
+{
+	@FunctionalInterface
+	interface Loader<T>
+	{
+		T load(int id, byte[] b);
+	}
+
+	private final Loader<T> loader;
+	private final byte[] data;
+	private final int[] ids;
+	private final int[] offsets;
+	private final int[] lengths;
+	/**
+	 * id -> slot + 1, or 0 if there is no file with the id
+	 */
+	private final int[] slots;
+	private final AtomicReferenceArray<T> cache;
+
+	DefinitionTable(Loader<T> loader, byte[] data, int[] ids)
+	{
+		this.loader = loader;
+		this.ids = ids;
+		this.offsets = new int[ids.length];
+		this.lengths = new int[ids.length];
+		this.cache = new AtomicReferenceArray<>(ids.length);
+
+		int maxId = -1;
+		for (int id : ids)
+		{
+			maxId = Math.max(maxId, id);
+		}
+		slots = new int[maxId + 1];
+		for (int i = 0; i < ids.length; ++i)
+		{
+			slots[ids[i]] = i + 1;
+		}
+
+		this.data = index(data);
+	}
+
+	/**
+	 * Get a table without any definitions, for managers which haven't been loaded
+	 */
+	static <T> DefinitionTable<T> empty()
+	{
+		return new DefinitionTable<>(null, new byte[0], new int[0]);
+	}
+
+	static <T> DefinitionTable<T> load(Store store, ConfigType type, Loader<T> loader) throws IOException
+	{
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(type.getId());
+
+		byte[] archiveData = storage.loadArchive(archive);
+		byte[] data = archive.decompress(archiveData);
+
+		FileData[] fileData = archive.getFileData();
+		int[] ids = new int[fileData.length];
+		for (int i = 0; i < fileData.length; ++i)
+		{
+			ids[i] = fileData[i].getId();
+		}
+
+		return new DefinitionTable<>(loader, data, ids);
+	}
+
+	/**
+	 * Fill in the file offsets and lengths, in the same layout as
+	 * {@link net.runelite.cache.fs.ArchiveFiles#loadContents(byte[])}.
+	 *
+	 * @return the data to read the files from
+	 */
+	private byte[] index(byte[] data)
+	{
+		final int filesCount = ids.length;
+		if (filesCount == 0)
+		{
+			return data;
+		}
+
+		if (filesCount == 1)
+		{
+			lengths[0] = data.length;
+			return data;
+		}
+
+		final int chunks = data[data.length - 1] & 0xFF;
+		int pos = data.length - 1 - chunks * filesCount * 4;
+
+		final int[][] chunkSizes = new int[chunks][filesCount];
+		for (int chunk = 0; chunk < chunks; ++chunk)
+		{
+			int chunkSize = 0;
+			for (int id = 0; id < filesCount; ++id)
+			{
+				chunkSize += readInt(data, pos);
+				pos += 4;
+
+				chunkSizes[chunk][id] = chunkSize;
+				lengths[id] += chunkSize;
+			}
+		}
+
+		int offset = 0;
+		for (int id = 0; id < filesCount; ++id)
+		{
+			offsets[id] = offset;
+			offset += lengths[id];
+		}
+
+		if (chunks == 1)
+		{
+			// the files are already contiguous
+			return data;
+		}
+
+		// the files are split over multiple chunks, so join each file back together
+		final byte[] joined = new byte[offset];
+		final int[] written = new int[filesCount];
+		int read = 0;
+		for (int chunk = 0; chunk < chunks; ++chunk)
+		{
+			for (int id = 0; id < filesCount; ++id)
+			{
+				int chunkSize = chunkSizes[chunk][id];
+				System.arraycopy(data, read, joined, offsets[id] + written[id], chunkSize);
+				written[id] += chunkSize;
+				read += chunkSize;
+			}
+		}
+		return joined;
+	}
+
+	private static int readInt(byte[] b, int pos)
+	{
+		return ((b[pos] & 0xFF) << 24) | ((b[pos + 1] & 0xFF) << 16) | ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+	}
+
+	int size()
+	{
+		return ids.length;
+	}
+
+	boolean contains(int id)
+	{
+		return id >= 0 && id < slots.length && slots[id] != 0;
+	}
+
+	/**
+	 * Get a definition, decoding it if it isn't cached
+	 *
+	 * @return the definition, or null if there is no file with the id
+	 */
+	T get(int id)
+	{
+		if (!contains(id))
+		{
+			return null;
+		}
+		return getSlot(slots[id] - 1);
+	}
+
+	private T getSlot(int slot)
+	{
+		final T def = cache.get(slot);
+		if (def != null)
+		{
+			return def;
+		}
+
+		final int offset = offsets[slot];
+		final T loaded = loader.load(ids[slot], Arrays.copyOfRange(data, offset, offset + lengths[slot]));
+		if (cache.compareAndSet(slot, null, loaded))
+		{
+			return loaded;
+		}
+
+		// another thread decoded it first, use theirs so there is only one instance
+		return cache.get(slot);
+	}
+
+	/**
+	 * Stream all definitions in file order. The stream is parallel, so
+	 * the definitions which aren't cached yet are decoded concurrently.
+	 */
+	Stream<T> stream()
+	{
+		return IntStream.range(0, ids.length)
+			.parallel()
+			.mapToObj(this::getSlot);
+	}
+
+	/**
+	 * Get all definitions in file order
+	 */
+	List<T> getAll()
+	{
+		return Collections.unmodifiableList(stream().collect(Collectors.toList()));
+	}
+}
@@ -25,11 +25,16 @@
 package net.runelite.cache;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
+import net.runelite.cache.util.XteaKeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,21 +46,83 @@ public class HeightMapDumper
 	private static final float MAX_HEIGHT = 2048f;
 
 	private final Store store;
+	private final XteaKeyManager keyManager;
 	private RegionLoader regionLoader;
 
 	public HeightMapDumper(Store store)
+	{
+		this(store, null);
+	}
+
+	/**
+	 * @param keyManager keys to decrypt the region locations with, or null to fetch them from the xtea service
+	 */
+	public HeightMapDumper(Store store, XteaKeyManager keyManager)
 	{
 		this.store = store;
+		this.keyManager = keyManager;
 	}
 
 	public void load() throws IOException
 	{
-		regionLoader = new RegionLoader(store);
+		regionLoader = keyManager != null ? new RegionLoader(store, keyManager) : new RegionLoader(store);
 		regionLoader.loadRegions();
 		regionLoader.calculateBounds();
 	}
 
 	public BufferedImage drawHeightMap(int z)
+	{
+		BufferedImage image = createImage();
+		draw(image, z);
+		return image;
+	}
+
+	/**
+	 * Draw the height map from per region tiles which are kept in a directory
+	 * between runs. Only the regions whose map archive changed since the last
+	 * run are drawn again.
+	 *
+	 * @param z plane
+	 * @param tileDirectory directory to keep the tiles of this plane in
+	 */
+	public BufferedImage drawHeightMapIncremental(int z, File tileDirectory) throws IOException
+	{
+		RegionTileCache tiles = new RegionTileCache(tileDirectory, store, RegionTileCache.hash(z, MAP_SCALE));
+
+		BufferedImage image = createImage();
+		Graphics2D graphics = image.createGraphics();
+		Set<Integer> regionIds = new HashSet<>();
+		int rendered = 0;
+
+		for (Region region : regionLoader.getRegions())
+		{
+			regionIds.add(region.getRegionID());
+
+			long inputs = tiles.regionInputs(region, 0, false);
+			BufferedImage tile = tiles.getTile(region.getRegionID(), inputs);
+			if (tile == null)
+			{
+				tile = new BufferedImage(Region.X * MAP_SCALE, Region.Y * MAP_SCALE, BufferedImage.TYPE_INT_RGB);
+				drawRegion(tile, region, 0, 0, z);
+				tiles.putTile(region.getRegionID(), inputs, tile);
+				++rendered;
+			}
+
+			int drawBaseX = region.getBaseX() - regionLoader.getLowestX().getBaseX();
+			int drawBaseY = regionLoader.getHighestY().getBaseY() - region.getBaseY();
+			graphics.drawImage(tile, drawBaseX * MAP_SCALE, drawBaseY * MAP_SCALE, null);
+		}
+
+		graphics.dispose();
+
+		tiles.retain(regionIds);
+		tiles.save();
+
+		logger.info("Drew {} of {} regions", rendered, regionIds.size());
+		return image;
+	}
+
+	private BufferedImage createImage()
 	{
 		int minX = regionLoader.getLowestX().getBaseX();
 		int minY = regionLoader.getLowestY().getBaseY();
@@ -71,9 +138,7 @@ public class HeightMapDumper
 
 		logger.info("Map image dimensions: {}px x {}px, {}px per map square ({} MB)", dimX, dimY, MAP_SCALE, (dimX * dimY / 1024 / 1024));
 
-		BufferedImage image = new BufferedImage(dimX, dimY, BufferedImage.TYPE_INT_RGB);
-		draw(image, z);
-		return image;
+		return new BufferedImage(dimX, dimY, BufferedImage.TYPE_INT_RGB);
 	}
 
 	private void draw(BufferedImage image, int z)
@@ -93,14 +158,12 @@ public class HeightMapDumper
 			// region has the greatest y, so invert
 			int drawBaseY = regionLoader.getHighestY().getBaseY() - baseY;
 
+			drawRegion(image, region, drawBaseX, drawBaseY, z);
+
 			for (int x = 0; x < Region.X; ++x)
 			{
-				int drawX = drawBaseX + x;
-
 				for (int y = 0; y < Region.Y; ++y)
 				{
-					int drawY = drawBaseY + (Region.Y - 1 - y);
-
 					int height = region.getTileHeight(z, x, y);
 					if (height > max)
 					{
@@ -110,10 +173,6 @@ public class HeightMapDumper
 					{
 						min = height;
 					}
-
-					int rgb = toColor(height);
-
-					drawMapSquare(image, drawX, drawY, rgb);
 				}
 			}
 		}
@@ -121,6 +180,24 @@ public class HeightMapDumper
 		System.out.println("min " + min);
 	}
 
+	private void drawRegion(BufferedImage image, Region region, int drawBaseX, int drawBaseY, int z)
+	{
+		for (int x = 0; x < Region.X; ++x)
+		{
+			int drawX = drawBaseX + x;
+
+			for (int y = 0; y < Region.Y; ++y)
+			{
+				int drawY = drawBaseY + (Region.Y - 1 - y);
+
+				int height = region.getTileHeight(z, x, y);
+				int rgb = toColor(height);
+
+				drawMapSquare(image, drawX, drawY, rgb);
+			}
+		}
+	}
+
 	private int toColor(int height)
 	{
 		// height seems to be between -2040 and 0, inclusive
@@ -27,25 +27,18 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.exporters.ItemExporter;
+import net.runelite.cache.definitions.exporters.NdjsonExporter;
 import net.runelite.cache.definitions.loaders.ItemLoader;
 import net.runelite.cache.definitions.providers.ItemProvider;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
 
 public class ItemManager implements ItemProvider
 {
 	private final Store store;
-	private final Map<Integer, ItemDefinition> items = new HashMap<>();
+	private DefinitionTable<ItemDefinition> items = DefinitionTable.empty();
 
 	public ItemManager(Store store)
 	{
@@ -54,25 +47,12 @@ public class ItemManager implements ItemProvider
 
 	public void load() throws IOException
 	{
-		ItemLoader loader = new ItemLoader();
-
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.ITEM.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
-
-		for (FSFile f : files.getFiles())
-		{
-			ItemDefinition def = loader.load(f.getFileId(), f.getContents());
-			items.put(f.getFileId(), def);
-		}
+		items = DefinitionTable.load(store, ConfigType.ITEM, new ItemLoader()::load);
 	}
 
 	public Collection<ItemDefinition> getItems()
 	{
-		return Collections.unmodifiableCollection(items.values());
+		return items.getAll();
 	}
 
 	public ItemDefinition getItem(int itemId)
@@ -84,7 +64,7 @@ public class ItemManager implements ItemProvider
 	{
 		out.mkdirs();
 
-		for (ItemDefinition def : items.values())
+		for (ItemDefinition def : items.getAll())
 		{
 			ItemExporter exporter = new ItemExporter(def);
 
@@ -93,13 +73,21 @@ public class ItemManager implements ItemProvider
 		}
 	}
 
+	/**
+	 * Write all definitions to a single file as newline delimited json, ordered by id
+	 */
+	public void exportNdjson(File out) throws IOException
+	{
+		new NdjsonExporter().exportTo(items.getAll(), out);
+	}
+
 	public void java(File java) throws IOException
 	{
 		java.mkdirs();
 		try (IDClass ids = IDClass.create(java, "ItemID");
 			IDClass nulls = IDClass.create(java, "NullItemID"))
 		{
-			for (ItemDefinition def : items.values())
+			for (ItemDefinition def : items.getAll())
 			{
 				if (def.name.equalsIgnoreCase("NULL"))
 				{
@@ -28,9 +28,12 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.cache.definitions.AreaDefinition;
@@ -49,10 +52,10 @@ import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.item.ColorPalette;
 import net.runelite.cache.item.RSTextureProvider;
-import net.runelite.cache.region.Location;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
 import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.XteaKeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,8 +73,8 @@ public class MapImageDumper
 	private static int[][] TILE_SHAPE_2D = new int[][]{{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, {1, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1, 0, 1, 1, 1, 1}, {1, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0}, {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0, 0, 1}, {0, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, {1, 1, 1, 0, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1}, {1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0}, {0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 1, 1, 0, 0}, {1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 0, 0, 1, 1}, {1, 1, 1, 1, 1, 1, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0}, {0, 0, 0, 0, 0, 0, 1, 1, 0, 1, 1, 1, 0, 1, 1, 1}, {0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 1, 1, 1, 1}};
 	private static int[][] TILE_ROTATION_2D = new int[][]{{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, {12, 8, 4, 0, 13, 9, 5, 1, 14, 10, 6, 2, 15, 11, 7, 3}, {15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0}, {3, 7, 11, 15, 2, 6, 10, 14, 1, 5, 9, 13, 0, 4, 8, 12}};
 
-	private final int wallColor = (238 + (int) (Math.random() * 20.0D) - 10 << 16) + (238 + (int) (Math.random() * 20.0D) - 10 << 8) + (238 + (int) (Math.random() * 20.0D) - 10);
-	private final int doorColor = 238 + (int) (Math.random() * 20.0D) - 10 << 16;
+	private int wallColor = (238 + (int) (Math.random() * 20.0D) - 10 << 16) + (238 + (int) (Math.random() * 20.0D) - 10 << 8) + (238 + (int) (Math.random() * 20.0D) - 10);
+	private int doorColor = 238 + (int) (Math.random() * 20.0D) - 10 << 16;
 
 	private final Store store;
 
@@ -93,6 +96,12 @@ public class MapImageDumper
 	@Setter
 	private boolean outlineRegions;
 
+	/**
+	 * keys to decrypt the region locations with, or null to fetch them from the xtea service
+	 */
+	@Setter
+	private XteaKeyManager keyManager;
+
 	public MapImageDumper(Store store)
 	{
 		this.store = store;
@@ -118,6 +127,81 @@ public class MapImageDumper
 	}
 
 	public BufferedImage drawMap(int z)
+	{
+		BufferedImage image = createMapImage();
+
+		drawMap(image, z);
+		drawObjects(image, z);
+		drawMapIcons(image, z);
+
+		return image;
+	}
+
+	/**
+	 * Draw the map from per region tiles which are kept in a directory between
+	 * runs. Only the regions whose map archives, or the map archives of their
+	 * neighbours, changed since the last run are rendered again. Unlike
+	 * {@link #drawMap(int)}, objects and icons are clipped to their region.
+	 *
+	 * @param z plane
+	 * @param tileDirectory directory to keep the tiles of this plane in
+	 */
+	public BufferedImage drawMapIncremental(int z, File tileDirectory) throws IOException
+	{
+		Index configs = store.getIndex(IndexType.CONFIGS);
+		long inputs = RegionTileCache.hash(
+			z, labelRegions ? 1 : 0, outlineRegions ? 1 : 0,
+			crc(configs.getArchive(ConfigType.UNDERLAY.getId())),
+			crc(configs.getArchive(ConfigType.OVERLAY.getId())),
+			crc(configs.getArchive(ConfigType.OBJECT.getId())),
+			crc(configs.getArchive(ConfigType.AREA.getId())),
+			store.getIndex(IndexType.SPRITES).getCrc(),
+			store.getIndex(IndexType.TEXTURES).getCrc());
+		RegionTileCache tiles = new RegionTileCache(tileDirectory, store, inputs);
+
+		// the wall and door colors are random, so keep them the same as the cached tiles
+		wallColor = tiles.setting("wallColor", wallColor);
+		doorColor = tiles.setting("doorColor", doorColor);
+
+		BufferedImage image = createMapImage();
+		Graphics2D graphics = image.createGraphics();
+		Set<Integer> regionIds = new HashSet<>();
+		int rendered = 0;
+
+		for (Region region : regionLoader.getRegions())
+		{
+			regionIds.add(region.getRegionID());
+
+			// ground blending reads the tiles of the neighbouring regions
+			long regionInputs = tiles.regionInputs(region, 1, true);
+			BufferedImage tile = tiles.getTile(region.getRegionID(), regionInputs);
+			if (tile == null)
+			{
+				tile = drawRegion(region, z);
+				tiles.putTile(region.getRegionID(), regionInputs, tile);
+				++rendered;
+			}
+
+			int drawBaseX = region.getBaseX() - regionLoader.getLowestX().getBaseX();
+			int drawBaseY = regionLoader.getHighestY().getBaseY() - region.getBaseY();
+			graphics.drawImage(tile, drawBaseX * MAP_SCALE, drawBaseY * MAP_SCALE, null);
+		}
+
+		graphics.dispose();
+
+		tiles.retain(regionIds);
+		tiles.save();
+
+		logger.info("Rendered {} of {} regions", rendered, regionIds.size());
+		return image;
+	}
+
+	private static int crc(Archive archive)
+	{
+		return archive == null ? 0 : archive.getCrc();
+	}
+
+	private BufferedImage createMapImage()
 	{
 		int minX = regionLoader.getLowestX().getBaseX();
 		int minY = regionLoader.getLowestY().getBaseY();
@@ -135,13 +219,7 @@ public class MapImageDumper
 			MAP_SCALE, (pixelsX * pixelsY * 3 / 1024 / 1024),
 			Runtime.getRuntime().maxMemory() / 1024L / 1024L);
 
-		BufferedImage image = new BufferedImage(pixelsX, pixelsY, BufferedImage.TYPE_INT_RGB);
-
-		drawMap(image, z);
-		drawObjects(image, z);
-		drawMapIcons(image, z);
-
-		return image;
+		return new BufferedImage(pixelsX, pixelsY, BufferedImage.TYPE_INT_RGB);
 	}
 
 	public BufferedImage drawRegion(Region region, int z)
@@ -488,25 +566,26 @@ public class MapImageDumper
 	{
 		Graphics2D graphics = image.createGraphics();
 
-		for (Location location : region.getLocations())
+		for (int i = 0; i < region.getLocationCount(); ++i)
 		{
+			int id = region.getLocationId(i);
+			int rotation = region.getLocationOrientation(i);
+			int type = region.getLocationType(i);
+			int localZ = region.getLocationZ(i);
 
-			int rotation = location.getOrientation();
-			int type = location.getType();
-
-			int localX = location.getPosition().getX() - region.getBaseX();
-			int localY = location.getPosition().getY() - region.getBaseY();
+			int localX = region.getLocationLocalX(i);
+			int localY = region.getLocationLocalY(i);
 
 			boolean isBridge = (region.getTileSetting(1, localX, localY) & 2) != 0;
 
-			if (location.getPosition().getZ() == z + 1)
+			if (localZ == z + 1)
 			{
 				if (!isBridge)
 				{
 					continue;
 				}
 			}
-			else if (location.getPosition().getZ() == z)
+			else if (localZ == z)
 			{
 				if (isBridge)
 				{
@@ -523,7 +602,7 @@ public class MapImageDumper
 				continue;
 			}
 
-			ObjectDefinition object = findObject(location.getId());
+			ObjectDefinition object = findObject(id);
 
 			int drawX = (drawBaseX + localX) * MAP_SCALE;
 			int drawY = (drawBaseY + (Region.Y - 1 - localY)) * MAP_SCALE;
@@ -531,7 +610,7 @@ public class MapImageDumper
 			if (type >= 0 && type <= 3)
 			{
 				// this is a wall
-				int hash = (localY << 7) + localX + (location.getId() << 14) + 0x4000_0000;
+				int hash = (localY << 7) + localX + (id << 14) + 0x4000_0000;
 				if (object.getWallOrDoor() == 0)
 				{
 					hash -= Integer.MIN_VALUE;
@@ -644,7 +723,7 @@ public class MapImageDumper
 					continue;
 				}
 
-				int hash = (localY << 7) + localX + (location.getId() << 14) + 0x4000_0000;
+				int hash = (localY << 7) + localX + (id << 14) + 0x4000_0000;
 				if (object.getWallOrDoor() == 0)
 				{
 					hash -= Integer.MIN_VALUE;
@@ -856,21 +935,21 @@ public class MapImageDumper
 
 	private void drawMapIcons(Graphics2D graphics, Region region, int z, int drawBaseX, int drawBaseY)
 	{
-		for (Location location : region.getLocations())
+		for (int i = 0; i < region.getLocationCount(); ++i)
 		{
-			int localZ = location.getPosition().getZ();
+			int localZ = region.getLocationZ(i);
 			if (z != 0 && localZ != z)
 			{
 				// draw all icons on z=0
 				continue;
 			}
 
-			ObjectDefinition od = findObject(location.getId());
+			ObjectDefinition od = findObject(region.getLocationId(i));
 
 			assert od != null;
 
-			int localX = location.getPosition().getX() - region.getBaseX();
-			int localY = location.getPosition().getY() - region.getBaseY();
+			int localX = region.getLocationLocalX(i);
+			int localY = region.getLocationLocalY(i);
 
 			int drawX = drawBaseX + localX;
 			int drawY = drawBaseY + (Region.Y - 1 - localY);
@@ -893,7 +972,7 @@ public class MapImageDumper
 
 	private void loadRegions(Store store) throws IOException
 	{
-		regionLoader = new RegionLoader(store);
+		regionLoader = keyManager != null ? new RegionLoader(store, keyManager) : new RegionLoader(store);
 		regionLoader.loadRegions();
 		regionLoader.calculateBounds();
 
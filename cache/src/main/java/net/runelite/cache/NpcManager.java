@@ -27,24 +27,17 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.NpcDefinition;
+import net.runelite.cache.definitions.exporters.NdjsonExporter;
 import net.runelite.cache.definitions.exporters.NpcExporter;
 import net.runelite.cache.definitions.loaders.NpcLoader;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
 
 public class NpcManager
 {
 	private final Store store;
-	private final Map<Integer, NpcDefinition> npcs = new HashMap<>();
+	private DefinitionTable<NpcDefinition> npcs = DefinitionTable.empty();
 
 	public NpcManager(Store store)
 	{
@@ -53,25 +46,12 @@ public class NpcManager
 
 	public void load() throws IOException
 	{
-		NpcLoader loader = new NpcLoader();
-
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.NPC.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
-
-		for (FSFile f : files.getFiles())
-		{
-			NpcDefinition npc = loader.load(f.getFileId(), f.getContents());
-			npcs.put(f.getFileId(), npc);
-		}
+		npcs = DefinitionTable.load(store, ConfigType.NPC, new NpcLoader()::load);
 	}
 
 	public Collection<NpcDefinition> getNpcs()
 	{
-		return Collections.unmodifiableCollection(npcs.values());
+		return npcs.getAll();
 	}
 
 	public NpcDefinition get(int npcId)
@@ -83,7 +63,7 @@ public class NpcManager
 	{
 		out.mkdirs();
 
-		for (NpcDefinition def : npcs.values())
+		for (NpcDefinition def : npcs.getAll())
 		{
 			NpcExporter exporter = new NpcExporter(def);
 
@@ -92,13 +72,21 @@ public class NpcManager
 		}
 	}
 
+	/**
+	 * Write all definitions to a single file as newline delimited json, ordered by id
+	 */
+	public void exportNdjson(File out) throws IOException
+	{
+		new NdjsonExporter().exportTo(npcs.getAll(), out);
+	}
+
 	public void java(File java) throws IOException
 	{
 		java.mkdirs();
 		try (IDClass ids = IDClass.create(java, "NpcID");
 			IDClass nulls = IDClass.create(java, "NullNpcID"))
 		{
-			for (NpcDefinition def : npcs.values())
+			for (NpcDefinition def : npcs.getAll())
 			{
 				if (def.name.equalsIgnoreCase("NULL"))
 				{
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import javax.imageio.ImageIO;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.region.Region;
+import net.runelite.cache.util.Djb2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On disk cache of rendered region tiles for incremental map dumps. A
+ * manifest records a hash of the inputs of each tile, which are the crcs of
+ * the map archives of the region and its neighbours, so only regions whose
+ * inputs changed since the last run need to be rendered again.
+ */
+class RegionTileCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(RegionTileCache.class);
+
+	private static final String MANIFEST = "manifest.json";
+
+	private static class Manifest
+	{
+		long inputs;
+		Map<String, Integer> settings = new HashMap<>();
+		Map<Integer, Long> regions = new HashMap<>();
+	}
+
+	private final Gson gson = new Gson();
+	private final File directory;
+	private final Map<Integer, Integer> mapCrcs = new HashMap<>();
+	private final Manifest manifest;
+
+	/**
+	 * @param directory directory to keep the tiles and manifest in
+	 * @param store store the tiles are rendered from
+	 * @param inputs hash of the inputs shared by every tile, changing it invalidates all tiles
+	 */
+	RegionTileCache(File directory, Store store, long inputs) throws IOException
+	{
+		this.directory = directory;
+		directory.mkdirs();
+
+		Index maps = store.getIndex(IndexType.MAPS);
+		for (Archive archive : maps.getArchives())
+		{
+			mapCrcs.put(archive.getNameHash(), archive.getCrc());
+		}
+
+		Manifest manifest = readManifest();
+		if (manifest == null || manifest.inputs != inputs)
+		{
+			manifest = new Manifest();
+			manifest.inputs = inputs;
+		}
+		this.manifest = manifest;
+	}
+
+	private Manifest readManifest() throws IOException
+	{
+		File file = new File(directory, MANIFEST);
+		if (!file.exists())
+		{
+			return null;
+		}
+
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+		{
+			return gson.fromJson(reader, Manifest.class);
+		}
+	}
+
+	/**
+	 * Hash values such as archive crcs and options, for use as the inputs shared by every tile
+	 */
+	static long hash(int... values)
+	{
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (int value : values)
+		{
+			hasher.putInt(value);
+		}
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * Compute the inputs of a region's tile
+	 *
+	 * @param region the region
+	 * @param radius how many neighbouring regions in each direction the tile depends on
+	 * @param locations whether the tile depends on the region's locations
+	 */
+	long regionInputs(Region region, int radius, boolean locations)
+	{
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (int dx = -radius; dx <= radius; ++dx)
+		{
+			for (int dy = -radius; dy <= radius; ++dy)
+			{
+				putCrc(hasher, "m" + (region.getRegionX() + dx) + "_" + (region.getRegionY() + dy));
+			}
+		}
+
+		if (locations)
+		{
+			putCrc(hasher, "l" + region.getRegionX() + "_" + region.getRegionY());
+			// the locations are only loaded if there is a valid key for them
+			hasher.putInt(region.getLocationCount());
+		}
+		return hasher.hash().asLong();
+	}
+
+	private void putCrc(Hasher hasher, String archiveName)
+	{
+		Integer crc = mapCrcs.get(Djb2.hash(archiveName));
+		hasher.putBoolean(crc != null);
+		if (crc != null)
+		{
+			hasher.putInt(crc);
+		}
+	}
+
+	/**
+	 * Get a setting which must stay the same between runs, such as a random
+	 * color, storing the given value if there isn't one yet
+	 */
+	int setting(String name, int value)
+	{
+		return manifest.settings.computeIfAbsent(name, k -> value);
+	}
+
+	/**
+	 * Get the cached tile of a region
+	 *
+	 * @return the tile, or null if there is no tile for these inputs
+	 */
+	BufferedImage getTile(int regionId, long inputs) throws IOException
+	{
+		Long cached = manifest.regions.get(regionId);
+		File file = tileFile(regionId);
+		if (cached == null || cached != inputs || !file.exists())
+		{
+			return null;
+		}
+
+		return ImageIO.read(file);
+	}
+
+	void putTile(int regionId, long inputs, BufferedImage tile) throws IOException
+	{
+		ImageIO.write(tile, "png", tileFile(regionId));
+		manifest.regions.put(regionId, inputs);
+	}
+
+	/**
+	 * Remove the tiles of regions which no longer exist
+	 */
+	void retain(Set<Integer> regionIds)
+	{
+		for (Iterator<Integer> it = manifest.regions.keySet().iterator(); it.hasNext(); )
+		{
+			int regionId = it.next();
+			if (!regionIds.contains(regionId))
+			{
+				it.remove();
+				if (!tileFile(regionId).delete())
+				{
+					logger.debug("Unable to delete tile of region {}", regionId);
+				}
+			}
+		}
+	}
+
+	void save() throws IOException
+	{
+		File file = new File(directory, MANIFEST);
+		File tmp = new File(directory, MANIFEST + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8))
+		{
+			gson.toJson(manifest, writer);
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private File tileFile(int regionId)
+	{
+		return new File(directory, regionId + ".png");
+	}
+}
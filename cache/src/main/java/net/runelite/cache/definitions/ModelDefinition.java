@@ -15,7 +15,10 @@ public class ModelDefinition
 	public int[] vertexPositionsX;
 	public int[] vertexPositionsY;
 	public int[] vertexPositionsZ;
-	public transient VertexNormal[] vertexNormals;
+	public transient int[] vertexNormalsX;
+	public transient int[] vertexNormalsY;
+	public transient int[] vertexNormalsZ;
+	public transient int[] vertexNormalsMagnitude;
 
 	public int faceCount;
 	public int[] faceVertexIndices1;
@@ -25,14 +28,22 @@ public class ModelDefinition
 	public short[] faceColors;
 	public byte[] faceRenderPriorities;
 	public byte[] faceRenderTypes;
-	public transient FaceNormal[] faceNormals;
+	/**
+	 * normals of the flat shaded faces, null if there are none
+	 */
+	public transient int[] faceNormalsX;
+	public transient int[] faceNormalsY;
+	public transient int[] faceNormalsZ;
 
 	public int textureTriangleCount;
 	public short[] textureTriangleVertexIndices1;
 	public short[] textureTriangleVertexIndices2;
 	public short[] textureTriangleVertexIndices3;
-	public transient float[][] faceTextureUCoordinates;
-	public transient float[][] faceTextureVCoordinates;
+	/**
+	 * texture coordinates of each face's three vertices, at face * 3 + vertex
+	 */
+	public transient float[] faceTextureU;
+	public transient float[] faceTextureV;
 	public short[] texturePrimaryColors;
 	public short[] faceTextures;
 	public byte[] textureCoordinates;
@@ -62,20 +73,17 @@ public class ModelDefinition
 
 	public void computeNormals()
 	{
-		if (this.vertexNormals != null)
+		if (this.vertexNormalsX != null)
 		{
 			return;
 		}
 
-		this.vertexNormals = new VertexNormal[this.vertexCount];
-
-		int var1;
-		for (var1 = 0; var1 < this.vertexCount; ++var1)
-		{
-			this.vertexNormals[var1] = new VertexNormal();
-		}
+		final int[] normalsX = this.vertexNormalsX = new int[this.vertexCount];
+		final int[] normalsY = this.vertexNormalsY = new int[this.vertexCount];
+		final int[] normalsZ = this.vertexNormalsZ = new int[this.vertexCount];
+		final int[] magnitudes = this.vertexNormalsMagnitude = new int[this.vertexCount];
 
-		for (var1 = 0; var1 < this.faceCount; ++var1)
+		for (int var1 = 0; var1 < this.faceCount; ++var1)
 		{
 			int vertexA = this.faceVertexIndices1[var1];
 			int vertexB = this.faceVertexIndices2[var1];
@@ -123,37 +131,85 @@ public class ModelDefinition
 
 			if (var15 == 0)
 			{
-				VertexNormal var16 = this.vertexNormals[vertexA];
-				var16.x += var11;
-				var16.y += var12;
-				var16.z += var13;
-				++var16.magnitude;
-
-				var16 = this.vertexNormals[vertexB];
-				var16.x += var11;
-				var16.y += var12;
-				var16.z += var13;
-				++var16.magnitude;
-
-				var16 = this.vertexNormals[vertexC];
-				var16.x += var11;
-				var16.y += var12;
-				var16.z += var13;
-				++var16.magnitude;
+				normalsX[vertexA] += var11;
+				normalsY[vertexA] += var12;
+				normalsZ[vertexA] += var13;
+				++magnitudes[vertexA];
+
+				normalsX[vertexB] += var11;
+				normalsY[vertexB] += var12;
+				normalsZ[vertexB] += var13;
+				++magnitudes[vertexB];
+
+				normalsX[vertexC] += var11;
+				normalsY[vertexC] += var12;
+				normalsZ[vertexC] += var13;
+				++magnitudes[vertexC];
 			}
 			else if (var15 == 1)
 			{
-				if (this.faceNormals == null)
+				if (this.faceNormalsX == null)
 				{
-					this.faceNormals = new FaceNormal[this.faceCount];
+					this.faceNormalsX = new int[this.faceCount];
+					this.faceNormalsY = new int[this.faceCount];
+					this.faceNormalsZ = new int[this.faceCount];
 				}
 
-				FaceNormal var17 = this.faceNormals[var1] = new FaceNormal();
-				var17.x = var11;
-				var17.y = var12;
-				var17.z = var13;
+				this.faceNormalsX[var1] = var11;
+				this.faceNormalsY[var1] = var12;
+				this.faceNormalsZ[var1] = var13;
+			}
+		}
+	}
+
+	/**
+	 * Get a copy of the vertex normals as objects
+	 *
+	 * @return the vertex normals, or null if they haven't been computed
+	 */
+	public VertexNormal[] getVertexNormals()
+	{
+		if (vertexNormalsX == null)
+		{
+			return null;
+		}
+
+		VertexNormal[] normals = new VertexNormal[vertexCount];
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			VertexNormal normal = normals[i] = new VertexNormal();
+			normal.x = vertexNormalsX[i];
+			normal.y = vertexNormalsY[i];
+			normal.z = vertexNormalsZ[i];
+			normal.magnitude = vertexNormalsMagnitude[i];
+		}
+		return normals;
+	}
+
+	/**
+	 * Get a copy of the face normals as objects. Only flat shaded faces have a normal.
+	 *
+	 * @return the face normals, or null if there are no flat shaded faces
+	 */
+	public FaceNormal[] getFaceNormals()
+	{
+		if (faceNormalsX == null)
+		{
+			return null;
+		}
+
+		FaceNormal[] normals = new FaceNormal[faceCount];
+		for (int i = 0; i < faceCount; ++i)
+		{
+			if (faceRenderTypes[i] == 1)
+			{
+				FaceNormal normal = normals[i] = new FaceNormal();
+				normal.x = faceNormalsX[i];
+				normal.y = faceNormalsY[i];
+				normal.z = faceNormalsZ[i];
 			}
 		}
+		return normals;
 	}
 
 	/**
@@ -162,8 +218,8 @@ public class ModelDefinition
 	 */
 	public void computeTextureUVCoordinates()
 	{
-		this.faceTextureUCoordinates = new float[faceCount][];
-		this.faceTextureVCoordinates = new float[faceCount][];
+		final float[] u = this.faceTextureU = new float[faceCount * 3];
+		final float[] v = this.faceTextureV = new float[faceCount * 3];
 
 		for (int i = 0; i < faceCount; i++)
 		{
@@ -189,19 +245,18 @@ public class ModelDefinition
 
 			if (textureIdx != -1)
 			{
-				float[] u = new float[3];
-				float[] v = new float[3];
+				final int uv = i * 3;
 
 				if (textureCoordinate == -1)
 				{
-					u[0] = 0.0F;
-					v[0] = 1.0F;
+					u[uv] = 0.0F;
+					v[uv] = 1.0F;
 
-					u[1] = 1.0F;
-					v[1] = 1.0F;
+					u[uv + 1] = 1.0F;
+					v[uv + 1] = 1.0F;
 
-					u[2] = 0.0F;
-					v[2] = 0.0F;
+					u[uv + 2] = 0.0F;
+					v[uv + 2] = 0.0F;
 				}
 				else
 				{
@@ -251,25 +306,64 @@ public class ModelDefinition
 						float f_902_ = f_885_ * f_898_ - f_886_ * f_897_;
 						float f_903_ = 1.0F / (f_900_ * f_882_ + f_901_ * f_883_ + f_902_ * f_884_);
 
-						u[0] = (f_900_ * f_888_ + f_901_ * f_889_ + f_902_ * f_890_) * f_903_;
-						u[1] = (f_900_ * f_891_ + f_901_ * f_892_ + f_902_ * f_893_) * f_903_;
-						u[2] = (f_900_ * f_894_ + f_901_ * f_895_ + f_902_ * f_896_) * f_903_;
+						u[uv] = (f_900_ * f_888_ + f_901_ * f_889_ + f_902_ * f_890_) * f_903_;
+						u[uv + 1] = (f_900_ * f_891_ + f_901_ * f_892_ + f_902_ * f_893_) * f_903_;
+						u[uv + 2] = (f_900_ * f_894_ + f_901_ * f_895_ + f_902_ * f_896_) * f_903_;
 
 						f_900_ = f_883_ * f_899_ - f_884_ * f_898_;
 						f_901_ = f_884_ * f_897_ - f_882_ * f_899_;
 						f_902_ = f_882_ * f_898_ - f_883_ * f_897_;
 						f_903_ = 1.0F / (f_900_ * f_885_ + f_901_ * f_886_ + f_902_ * f_887_);
 
-						v[0] = (f_900_ * f_888_ + f_901_ * f_889_ + f_902_ * f_890_) * f_903_;
-						v[1] = (f_900_ * f_891_ + f_901_ * f_892_ + f_902_ * f_893_) * f_903_;
-						v[2] = (f_900_ * f_894_ + f_901_ * f_895_ + f_902_ * f_896_) * f_903_;
+						v[uv] = (f_900_ * f_888_ + f_901_ * f_889_ + f_902_ * f_890_) * f_903_;
+						v[uv + 1] = (f_900_ * f_891_ + f_901_ * f_892_ + f_902_ * f_893_) * f_903_;
+						v[uv + 2] = (f_900_ * f_894_ + f_901_ * f_895_ + f_902_ * f_896_) * f_903_;
 					}
 				}
+			}
+		}
+	}
+
+	/**
+	 * Get a copy of the U texture coordinates, indexed by face then vertex. Untextured faces are null.
+	 *
+	 * @return the coordinates, or null if they haven't been computed
+	 */
+	public float[][] getFaceTextureUCoordinates()
+	{
+		return faceTextureCoordinates(faceTextureU);
+	}
 
-				this.faceTextureUCoordinates[i] = u;
-				this.faceTextureVCoordinates[i] = v;
+	/**
+	 * Get a copy of the V texture coordinates, indexed by face then vertex. Untextured faces are null.
+	 *
+	 * @return the coordinates, or null if they haven't been computed
+	 */
+	public float[][] getFaceTextureVCoordinates()
+	{
+		return faceTextureCoordinates(faceTextureV);
+	}
+
+	private float[][] faceTextureCoordinates(float[] coordinates)
+	{
+		if (coordinates == null)
+		{
+			return null;
+		}
+
+		float[][] faces = new float[faceCount][];
+		if (faceTextures != null)
+		{
+			for (int i = 0; i < faceCount; ++i)
+			{
+				// untextured faces have no coordinates
+				if (faceTextures[i] != -1)
+				{
+					faces[i] = Arrays.copyOfRange(coordinates, i * 3, i * 3 + 3);
+				}
 			}
 		}
+		return faces;
 	}
 
 	public void computeAnimationTables()
@@ -562,9 +656,9 @@ public class ModelDefinition
 
 	private void reset()
 	{
-		vertexNormals = null;
-		faceNormals = null;
-		faceTextureUCoordinates = faceTextureVCoordinates = null;
+		vertexNormalsX = vertexNormalsY = vertexNormalsZ = vertexNormalsMagnitude = null;
+		faceNormalsX = faceNormalsY = faceNormalsZ = null;
+		faceTextureU = faceTextureV = null;
 	}
 
 	public void resize(int var1, int var2, int var3)
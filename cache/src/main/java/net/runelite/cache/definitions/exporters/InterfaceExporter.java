@@ -33,16 +33,15 @@ import net.runelite.cache.definitions.InterfaceDefinition;
 
 public class InterfaceExporter
 {
+	private static final Gson gson = new GsonBuilder()
+		.setPrettyPrinting()
+		.create();
+
 	private final InterfaceDefinition item;
-	private final Gson gson;
 
 	public InterfaceExporter(InterfaceDefinition item)
 	{
 		this.item = item;
-
-		GsonBuilder builder = new GsonBuilder()
-			.setPrettyPrinting();
-		gson = builder.create();
 	}
 
 	public String export()
@@ -33,16 +33,15 @@ import net.runelite.cache.definitions.ItemDefinition;
 
 public class ItemExporter
 {
+	private static final Gson gson = new GsonBuilder()
+		.setPrettyPrinting()
+		.create();
+
 	private final ItemDefinition item;
-	private final Gson gson;
 
 	public ItemExporter(ItemDefinition item)
 	{
 		this.item = item;
-
-		GsonBuilder builder = new GsonBuilder()
-			.setPrettyPrinting();
-		gson = builder.create();
 	}
 
 	public String export()
@@ -33,16 +33,15 @@ import net.runelite.cache.definitions.NpcDefinition;
 
 public class NpcExporter
 {
+	private static final Gson gson = new GsonBuilder()
+		.setPrettyPrinting()
+		.create();
+
 	private final NpcDefinition npc;
-	private final Gson gson;
 
 	public NpcExporter(NpcDefinition npc)
 	{
 		this.npc = npc;
-
-		GsonBuilder builder = new GsonBuilder()
-			.setPrettyPrinting();
-		gson = builder.create();
 	}
 
 	public String export()
@@ -33,16 +33,15 @@ import net.runelite.cache.definitions.ObjectDefinition;
 
 public class ObjectExporter
 {
+	private static final Gson gson = new GsonBuilder()
+		.setPrettyPrinting()
+		.create();
+
 	private final ObjectDefinition object;
-	private final Gson gson;
 
 	public ObjectExporter(ObjectDefinition object)
 	{
 		this.object = object;
-
-		GsonBuilder builder = new GsonBuilder()
-			.setPrettyPrinting();
-		gson = builder.create();
 	}
 
 	public String export()
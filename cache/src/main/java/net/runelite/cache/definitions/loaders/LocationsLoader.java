@@ -31,16 +31,26 @@ import net.runelite.cache.region.Position;
 
 public class LocationsLoader
 {
+	@FunctionalInterface
+	public interface LocationConsumer
+	{
+		void accept(int id, int type, int orientation, int localX, int localY, int z);
+	}
+
 	public LocationsDefinition load(int regionX, int regionY, byte[] b)
 	{
 		LocationsDefinition loc = new LocationsDefinition();
 		loc.setRegionX(regionX);
 		loc.setRegionY(regionY);
-		loadLocations(loc, b);
+		load(b, (id, type, orientation, localX, localY, z) ->
+			loc.getLocations().add(new Location(id, type, orientation, new Position(localX, localY, z))));
 		return loc;
 	}
 
-	private void loadLocations(LocationsDefinition loc, byte[] b)
+	/**
+	 * Decode locations without creating a {@link Location} for each
+	 */
+	public void load(byte[] b, LocationConsumer consumer)
 	{
 		InputStream buf = new InputStream(b);
 
@@ -66,7 +76,7 @@ public class LocationsLoader
 				int type = attributes >> 2;
 				int orientation = attributes & 0x3;
 
-				loc.getLocations().add(new Location(id, type, orientation, new Position(localX, localY, height)));
+				consumer.accept(id, type, orientation, localX, localY, height);
 			}
 		}
 	}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.diff;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.loaders.EnumLoader;
+import net.runelite.cache.definitions.loaders.InventoryLoader;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+import net.runelite.cache.definitions.loaders.NpcLoader;
+import net.runelite.cache.definitions.loaders.ObjectLoader;
+import net.runelite.cache.definitions.loaders.OverlayLoader;
+import net.runelite.cache.definitions.loaders.SequenceLoader;
+import net.runelite.cache.definitions.loaders.SpotAnimLoader;
+import net.runelite.cache.definitions.loaders.StructLoader;
+import net.runelite.cache.definitions.loaders.UnderlayLoader;
+import net.runelite.cache.definitions.loaders.VarbitLoader;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares two stores. Archives are compared by their crc and name hash
+ * first, and only archives which differ are loaded to compare their files.
+ * Changed files of the config archives are decoded to find which fields of
+ * the definitions changed.
+ */
+public class StoreDiff
+{
+	private static final Logger logger = LoggerFactory.getLogger(StoreDiff.class);
+
+	private static final Map<Integer, BiFunction<Integer, byte[], Object>> CONFIG_LOADERS = new HashMap<>();
+
+	static
+	{
+		CONFIG_LOADERS.put(ConfigType.UNDERLAY.getId(), new UnderlayLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.OVERLAY.getId(), new OverlayLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.INV.getId(), new InventoryLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.OBJECT.getId(), new ObjectLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.ENUM.getId(), new EnumLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.NPC.getId(), new NpcLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.ITEM.getId(), new ItemLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.SEQUENCE.getId(), new SequenceLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.SPOTANIM.getId(), new SpotAnimLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.VARBIT.getId(), new VarbitLoader()::load);
+		CONFIG_LOADERS.put(ConfigType.STRUCT.getId(), new StructLoader()::load);
+	}
+
+	private final Store from;
+	private final Store to;
+	private final Gson gson = new Gson();
+
+	public StoreDiff(Store from, Store to)
+	{
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Compare the stores, with each index compared in parallel. Differences
+	 * are passed to the consumer as they are found, so the consumer must be
+	 * thread safe.
+	 */
+	public void diff(Consumer<ArchiveDiff> consumer) throws IOException
+	{
+		Set<Integer> indexes = new TreeSet<>();
+		from.getIndexes().forEach(i -> indexes.add(i.getId()));
+		to.getIndexes().forEach(i -> indexes.add(i.getId()));
+
+		try
+		{
+			indexes.parallelStream().forEach(id ->
+			{
+				try
+				{
+					diffIndex(id, consumer);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * Compare the stores
+	 *
+	 * @return the differences, ordered by index and archive
+	 */
+	public List<ArchiveDiff> diff() throws IOException
+	{
+		List<ArchiveDiff> diffs = Collections.synchronizedList(new ArrayList<>());
+		diff(diffs::add);
+		diffs.sort(Comparator.comparingInt(ArchiveDiff::getIndex)
+			.thenComparingInt(ArchiveDiff::getArchive));
+		return diffs;
+	}
+
+	private void diffIndex(int id, Consumer<ArchiveDiff> consumer) throws IOException
+	{
+		Map<Integer, Archive> fromArchives = archives(from.findIndex(id));
+		Map<Integer, Archive> toArchives = archives(to.findIndex(id));
+
+		Set<Integer> archiveIds = new TreeSet<>(fromArchives.keySet());
+		archiveIds.addAll(toArchives.keySet());
+
+		for (int archiveId : archiveIds)
+		{
+			Archive fromArchive = fromArchives.get(archiveId);
+			Archive toArchive = toArchives.get(archiveId);
+
+			if (fromArchive == null)
+			{
+				consumer.accept(new ArchiveDiff(id, archiveId, DiffType.ADDED, Collections.emptyList()));
+			}
+			else if (toArchive == null)
+			{
+				consumer.accept(new ArchiveDiff(id, archiveId, DiffType.REMOVED, Collections.emptyList()));
+			}
+			else if (fromArchive.getCrc() != toArchive.getCrc() || fromArchive.getNameHash() != toArchive.getNameHash())
+			{
+				List<FileDiff> files = id == IndexType.MAPS.getNumber()
+					// the landscape archives are encrypted, and map archives only have one file anyway
+					? Collections.emptyList()
+					: diffFiles(id, fromArchive, toArchive);
+				consumer.accept(new ArchiveDiff(id, archiveId, DiffType.CHANGED, files));
+			}
+		}
+	}
+
+	private static Map<Integer, Archive> archives(Index index)
+	{
+		if (index == null)
+		{
+			return Collections.emptyMap();
+		}
+
+		Map<Integer, Archive> archives = new HashMap<>();
+		for (Archive archive : index.getArchives())
+		{
+			archives.put(archive.getArchiveId(), archive);
+		}
+		return archives;
+	}
+
+	private List<FileDiff> diffFiles(int indexId, Archive fromArchive, Archive toArchive) throws IOException
+	{
+		Map<Integer, byte[]> fromFiles = files(from, fromArchive);
+		Map<Integer, byte[]> toFiles = files(to, toArchive);
+		if (fromFiles == null || toFiles == null)
+		{
+			return Collections.emptyList();
+		}
+
+		BiFunction<Integer, byte[], Object> loader = indexId == IndexType.CONFIGS.getNumber()
+			? CONFIG_LOADERS.get(fromArchive.getArchiveId())
+			: null;
+
+		Set<Integer> fileIds = new TreeSet<>(fromFiles.keySet());
+		fileIds.addAll(toFiles.keySet());
+
+		List<FileDiff> diffs = new ArrayList<>();
+		for (int fileId : fileIds)
+		{
+			byte[] fromFile = fromFiles.get(fileId);
+			byte[] toFile = toFiles.get(fileId);
+
+			if (fromFile == null)
+			{
+				diffs.add(new FileDiff(fileId, DiffType.ADDED, Collections.emptyList()));
+			}
+			else if (toFile == null)
+			{
+				diffs.add(new FileDiff(fileId, DiffType.REMOVED, Collections.emptyList()));
+			}
+			else if (!Arrays.equals(fromFile, toFile))
+			{
+				List<String> fields = loader == null
+					? Collections.emptyList()
+					: diffFields(loader.apply(fileId, fromFile), loader.apply(fileId, toFile));
+				diffs.add(new FileDiff(fileId, DiffType.CHANGED, fields));
+			}
+		}
+		return diffs;
+	}
+
+	private static Map<Integer, byte[]> files(Store store, Archive archive) throws IOException
+	{
+		byte[] data = store.getStorage().loadArchive(archive);
+		if (data == null)
+		{
+			logger.debug("Unable to load archive {}/{}", archive.getIndex().getId(), archive.getArchiveId());
+			return null;
+		}
+
+		ArchiveFiles archiveFiles = archive.getFiles(data);
+		Map<Integer, byte[]> files = new TreeMap<>();
+		for (FSFile file : archiveFiles.getFiles())
+		{
+			files.put(file.getFileId(), file.getContents());
+		}
+		return files;
+	}
+
+	/**
+	 * Get the names of the fields which differ between two definitions
+	 */
+	private List<String> diffFields(Object fromDef, Object toDef)
+	{
+		JsonObject fromJson = gson.toJsonTree(fromDef).getAsJsonObject();
+		JsonObject toJson = gson.toJsonTree(toDef).getAsJsonObject();
+
+		Set<String> names = new TreeSet<>();
+		fromJson.entrySet().forEach(e -> names.add(e.getKey()));
+		toJson.entrySet().forEach(e -> names.add(e.getKey()));
+
+		List<String> fields = new ArrayList<>();
+		for (String name : names)
+		{
+			JsonElement fromValue = fromJson.get(name);
+			JsonElement toValue = toJson.get(name);
+			if (!Objects.equals(fromValue, toValue))
+			{
+				fields.add(name);
+			}
+		}
+		return fields;
+	}
+}
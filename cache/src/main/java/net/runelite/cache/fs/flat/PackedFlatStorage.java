@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+
+/**
+ * A binary companion to {@link FlatStorage}, with one file per index. Each
+ * file is a header and a table of the archives sorted by id, followed by the
+ * file data, the archive hashes and then the raw archive contents. The files are
+ * memory mapped, so the contents are only read when an archive is loaded.
+ */
+public class PackedFlatStorage implements Storage
+{
+	static final String EXTENSION = ".packedcache";
+
+	private static final int MAGIC = 0x464c4154; // FLAT
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 4 + 4 + 1 + 4;
+	private static final int ENTRY_SIZE = 4 + 4 + 4 + 4 + 1 + 4 + 4 + 4 + 4;
+
+	/**
+	 * The archive contents of a single index file
+	 */
+	private static class PackedIndex
+	{
+		private final ByteBuffer buffer;
+		private final int[] ids;
+		private final int[] offsets;
+		private final int[] lengths;
+
+		private PackedIndex(ByteBuffer buffer, int count)
+		{
+			this.buffer = buffer;
+			this.ids = new int[count];
+			this.offsets = new int[count];
+			this.lengths = new int[count];
+		}
+
+		private byte[] get(int archiveId)
+		{
+			int idx = Arrays.binarySearch(ids, archiveId);
+			if (idx < 0 || lengths[idx] == -1)
+			{
+				return null;
+			}
+
+			byte[] contents = new byte[lengths[idx]];
+			ByteBuffer b = buffer.duplicate();
+			b.position(offsets[idx]);
+			b.get(contents);
+			return contents;
+		}
+	}
+
+	private final File directory;
+	private final Map<Integer, PackedIndex> indexes = new HashMap<>();
+	private final Map<Long, byte[]> data = new HashMap<>();
+
+	public PackedFlatStorage(File directory)
+	{
+		this.directory = directory;
+	}
+
+	/**
+	 * Copy the contents of one storage into another, such as from a {@link FlatStorage}
+	 * to a {@link PackedFlatStorage} or back
+	 */
+	public static void convert(Storage from, Storage to) throws IOException
+	{
+		try (Store store = new Store(from))
+		{
+			store.load();
+			to.save(store);
+		}
+	}
+
+	@Override
+	public void init(Store store) throws IOException
+	{
+		String[] idxs = directory.list((dir, name) -> name.endsWith(EXTENSION));
+		if (idxs == null)
+		{
+			throw new IOException("unable to list " + directory);
+		}
+
+		for (String idx : idxs)
+		{
+			int id = Integer.parseInt(idx.substring(0, idx.length() - EXTENSION.length()));
+			store.addIndex(id);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		indexes.clear();
+	}
+
+	@Override
+	public void load(Store store) throws IOException
+	{
+		for (Index idx : store.getIndexes())
+		{
+			File file = new File(directory, idx.getId() + EXTENSION);
+			MappedByteBuffer buffer;
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+			{
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+
+			try
+			{
+				indexes.put(idx.getId(), read(idx, buffer));
+			}
+			catch (RuntimeException ex)
+			{
+				throw new IOException("error reading packed flatcache " + file, ex);
+			}
+		}
+	}
+
+	private static PackedIndex read(Index idx, ByteBuffer buffer) throws IOException
+	{
+		if (buffer.getInt() != MAGIC)
+		{
+			throw new IOException("not a packed flatcache");
+		}
+
+		int version = buffer.getInt();
+		if (version != VERSION)
+		{
+			throw new IOException("unsupported version " + version);
+		}
+
+		idx.setProtocol(buffer.getInt());
+		idx.setRevision(buffer.getInt());
+		idx.setCompression(buffer.getInt());
+		idx.setCrc(buffer.getInt());
+		idx.setNamed(buffer.get() != 0);
+		int count = buffer.getInt();
+
+		PackedIndex packed = new PackedIndex(buffer, count);
+		Archive[] archives = new Archive[count];
+		int[] fileCounts = new int[count];
+		int[] hashLengths = new int[count];
+		for (int i = 0; i < count; ++i)
+		{
+			int id = buffer.getInt();
+			Archive archive = archives[i] = idx.addArchive(id);
+			archive.setNameHash(buffer.getInt());
+			archive.setRevision(buffer.getInt());
+			archive.setCrc(buffer.getInt());
+			archive.setCompression(buffer.get() & 0xff);
+			fileCounts[i] = buffer.getInt();
+			hashLengths[i] = buffer.getInt();
+
+			packed.ids[i] = id;
+			packed.offsets[i] = buffer.getInt();
+			packed.lengths[i] = buffer.getInt();
+		}
+
+		for (int i = 0; i < count; ++i)
+		{
+			Archive archive = archives[i];
+			if (fileCounts[i] != -1)
+			{
+				FileData[] fileData = new FileData[fileCounts[i]];
+				for (int j = 0; j < fileData.length; ++j)
+				{
+					FileData fd = fileData[j] = new FileData();
+					fd.setId(buffer.getInt());
+					fd.setNameHash(buffer.getInt());
+				}
+				archive.setFileData(fileData);
+			}
+
+			if (hashLengths[i] != -1)
+			{
+				byte[] hash = new byte[hashLengths[i]];
+				buffer.get(hash);
+				archive.setHash(hash);
+			}
+		}
+
+		return packed;
+	}
+
+	@Override
+	public void save(Store store) throws IOException
+	{
+		directory.mkdirs();
+
+		store.getIndexes().sort(Comparator.comparing(Index::getId));
+		for (Index idx : store.getIndexes())
+		{
+			File file = new File(directory, idx.getId() + EXTENSION);
+			File tmp = new File(directory, idx.getId() + EXTENSION + ".tmp");
+			try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+			{
+				write(store.getStorage(), idx, channel);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void write(Storage storage, Index idx, FileChannel channel) throws IOException
+	{
+		idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
+		List<Archive> archives = idx.getArchives();
+
+		long metadataSize = HEADER_SIZE + (long) ENTRY_SIZE * archives.size();
+		for (Archive archive : archives)
+		{
+			if (archive.getFileData() != null)
+			{
+				metadataSize += 8L * archive.getFileData().length;
+			}
+			if (archive.getHash() != null)
+			{
+				metadataSize += archive.getHash().length;
+			}
+		}
+
+		if (metadataSize > Integer.MAX_VALUE)
+		{
+			throw new IOException("index " + idx.getId() + " is too large");
+		}
+
+		// write the contents first, after the space for the metadata, to learn their offsets
+		int[] offsets = new int[archives.size()];
+		int[] lengths = new int[archives.size()];
+		long offset = metadataSize;
+		channel.position(offset);
+		for (int i = 0; i < archives.size(); ++i)
+		{
+			byte[] contents = storage.loadArchive(archives.get(i));
+			if (contents == null)
+			{
+				lengths[i] = -1;
+				continue;
+			}
+
+			if (offset + contents.length > Integer.MAX_VALUE)
+			{
+				throw new IOException("index " + idx.getId() + " is too large");
+			}
+
+			offsets[i] = (int) offset;
+			lengths[i] = contents.length;
+			writeFully(channel, ByteBuffer.wrap(contents));
+			offset += contents.length;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) metadataSize);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(idx.getProtocol());
+		buffer.putInt(idx.getRevision());
+		buffer.putInt(idx.getCompression());
+		buffer.putInt(idx.getCrc());
+		buffer.put((byte) (idx.isNamed() ? 1 : 0));
+		buffer.putInt(archives.size());
+
+		for (int i = 0; i < archives.size(); ++i)
+		{
+			Archive archive = archives.get(i);
+			buffer.putInt(archive.getArchiveId());
+			buffer.putInt(archive.getNameHash());
+			buffer.putInt(archive.getRevision());
+			buffer.putInt(archive.getCrc());
+			buffer.put((byte) archive.getCompression());
+			buffer.putInt(archive.getFileData() != null ? archive.getFileData().length : -1);
+			buffer.putInt(archive.getHash() != null ? archive.getHash().length : -1);
+			buffer.putInt(offsets[i]);
+			buffer.putInt(lengths[i]);
+		}
+
+		for (Archive archive : archives)
+		{
+			if (archive.getFileData() != null)
+			{
+				for (FileData fd : archive.getFileData())
+				{
+					buffer.putInt(fd.getId());
+					buffer.putInt(fd.getNameHash());
+				}
+			}
+			if (archive.getHash() != null)
+			{
+				buffer.put(archive.getHash());
+			}
+		}
+
+		buffer.flip();
+		channel.position(0);
+		writeFully(channel, buffer);
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+	}
+
+	@Override
+	public byte[] loadArchive(Archive archive) throws IOException
+	{
+		int indexId = archive.getIndex().getId();
+		byte[] contents = data.get((long) indexId << 32 | archive.getArchiveId());
+		if (contents != null)
+		{
+			return contents;
+		}
+
+		PackedIndex packed = indexes.get(indexId);
+		return packed != null ? packed.get(archive.getArchiveId()) : null;
+	}
+
+	@Override
+	public void saveArchive(Archive archive, byte[] bytes) throws IOException
+	{
+		data.put((long) archive.getIndex().getId() << 32 | archive.getArchiveId(), bytes);
+	}
+}
@@ -24,16 +24,23 @@
  */
 package net.runelite.cache.item;
 
+import com.google.common.base.Throwables;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.ModelDefinition;
 import net.runelite.cache.definitions.providers.ItemProvider;
 import net.runelite.cache.definitions.providers.ModelProvider;
 import net.runelite.cache.definitions.providers.SpriteProvider;
 import net.runelite.cache.definitions.providers.TextureProvider;
-import net.runelite.cache.models.FaceNormal;
-import net.runelite.cache.models.VertexNormal;
 
 public class ItemSpriteFactory
 {
@@ -42,148 +49,69 @@ public class ItemSpriteFactory
 		int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
-		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-			itemId, quantity, border, shadowColor, noted);
-		return spritePixels == null ? null : spritePixels.toBufferedImage();
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		return new ItemSpriteRenderer(itemProvider, modelProvider, rsTextureProvider)
+			.createSprite(itemId, quantity, border, shadowColor, noted);
 	}
 
-	private static final SpritePixels createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
+	/**
+	 * Render many item sprites in parallel. Each task renders with its own {@link ItemSpriteRenderer}, and all of
+	 * them share the textures. The providers are called from the executor's threads, and the model provider must
+	 * return a new model for each call, as the models are modified when they are lit. Item definitions are not
+	 * modified, and may be shared.
+	 *
+	 * @param executor    executor to render on
+	 * @param parallelism the number of renderers to run at once
+	 * @return the sprites, in the same order as the requests. Sprites of items without a model are null.
+	 */
+	public static List<BufferedImage> createSprites(ItemProvider itemProvider, ModelProvider modelProvider,
 		SpriteProvider spriteProvider, TextureProvider textureProvider,
-		int itemId, int quantity, int border, int shadowColor,
-		boolean noted) throws IOException
+		List<ItemSpriteRequest> requests, ExecutorService executor, int parallelism) throws IOException
 	{
-		ItemDefinition item = itemProvider.provide(itemId);
+		final RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		final BufferedImage[] sprites = new BufferedImage[requests.size()];
+		final AtomicInteger next = new AtomicInteger();
 
-		if (quantity > 1 && item.countObj != null)
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < Math.max(1, Math.min(parallelism, requests.size())); ++i)
 		{
-			int stackItemID = -1;
-
-			for (int i = 0; i < 10; ++i)
+			futures.add(executor.submit(() ->
 			{
-				if (quantity >= item.countCo[i] && item.countCo[i] != 0)
+				ItemSpriteRenderer renderer = new ItemSpriteRenderer(itemProvider, modelProvider, rsTextureProvider);
+				for (int idx = next.getAndIncrement(); idx < sprites.length; idx = next.getAndIncrement())
 				{
-					stackItemID = item.countObj[i];
+					ItemSpriteRequest request = requests.get(idx);
+					sprites[idx] = renderer.createSprite(request.getItemId(), request.getQuantity(),
+						request.getBorder(), request.getShadowColor(), request.isNoted());
 				}
-			}
-
-			if (stackItemID != -1)
-			{
-				item = itemProvider.provide(stackItemID);
-			}
-		}
-
-		if (item.notedTemplate != -1)
-		{
-			item.updateNote(itemProvider.provide(item.notedTemplate), itemProvider.provide(item.notedID));
-		}
-
-		Model itemModel = getModel(modelProvider, item);
-		if (itemModel == null)
-		{
-			return null;
-		}
-
-		SpritePixels auxSpritePixels = null;
-		if (item.notedTemplate != -1)
-		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.notedID, 10, 1, 0, true);
-			if (auxSpritePixels == null)
-			{
-				return null;
-			}
-		}
-		else if (item.boughtTemplateId != -1)
-		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.boughtId, quantity, border, shadowColor, false);
-			if (auxSpritePixels == null)
-			{
 				return null;
-			}
+			}));
 		}
-		else if (item.placeholderTemplateId != -1)
+
+		try
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.placeholderId, quantity, 0, 0, false);
-			if (auxSpritePixels == null)
+			for (Future<?> future : futures)
 			{
-				return null;
+				future.get();
 			}
 		}
-
-		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
-
-		SpritePixels spritePixels = new SpritePixels(36, 32);
-		Graphics3D graphics = new Graphics3D(rsTextureProvider);
-		graphics.setBrightness(0.6d);
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		graphics.reset();
-		graphics.setRasterClipping();
-		graphics.setOffset(16, 16);
-		graphics.rasterGouraudLowRes = false;
-		if (item.placeholderTemplateId != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
-
-		int zoom2d = item.zoom2d;
-		if (noted)
-		{
-			zoom2d = (int) ((double) zoom2d * 1.5D);
-		}
-		else if (border == 2)
+		catch (InterruptedException e)
 		{
-			zoom2d = (int) ((double) zoom2d * 1.04D);
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
 		}
-
-		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
-		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
-
-		itemModel.calculateBoundsCylinder();
-		itemModel.rotateAndProject(graphics, 0,
-			item.yan2d,
-			item.zan2d,
-			item.xan2d,
-			item.xOffset2d,
-			itemModel.modelHeight / 2 + var17 + item.yOffset2d,
-			var18 + item.yOffset2d);
-		if (item.boughtTemplateId != -1)
+		catch (ExecutionException e)
 		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
+			futures.forEach(f -> f.cancel(true));
+			Throwables.propagateIfPossible(e.getCause(), IOException.class);
+			throw new RuntimeException(e.getCause());
 		}
 
-		if (border >= 1)
-		{
-			spritePixels.drawBorder(1);
-		}
-
-		if (border >= 2)
-		{
-			spritePixels.drawBorder(0xffffff);
-		}
-
-		if (shadowColor != 0)
-		{
-			spritePixels.drawShadow(shadowColor);
-		}
-
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		if (item.notedTemplate != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
-
-		graphics.setRasterBuffer(graphics.graphicsPixels,
-			graphics.graphicsPixelsWidth,
-			graphics.graphicsPixelsHeight);
-
-		graphics.setRasterClipping();
-		graphics.rasterGouraudLowRes = true;
-		return spritePixels;
+		return Arrays.asList(sprites);
 	}
 
-	private static Model getModel(ModelProvider modelProvider, ItemDefinition item) throws IOException
+	static Model getModel(ModelProvider modelProvider, ItemDefinition item) throws IOException
 	{
 		Model itemModel;
 		ModelDefinition inventoryModel = modelProvider.provide(item.inventoryModel);
@@ -218,6 +146,11 @@ public class ItemSpriteFactory
 		return itemModel;
 	}
 
+	private static int vertexLight(ModelDefinition def, int vertex, int ambient, int x, int y, int z, int var7)
+	{
+		return (y * def.vertexNormalsY[vertex] + z * def.vertexNormalsZ[vertex] + x * def.vertexNormalsX[vertex]) / (var7 * def.vertexNormalsMagnitude[vertex]) + ambient;
+	}
+
 	private static Model light(ModelDefinition def, int ambient, int contrast, int x, int y, int z)
 	{
 		def.computeNormals();
@@ -328,17 +261,14 @@ public class ItemSpriteFactory
 				faceType = 2;
 			}
 
-			VertexNormal vertexNormal;
 			int tmp;
-			FaceNormal faceNormal;
 			if (faceTexture == -1)
 			{
 				if (faceType != 0)
 				{
 					if (faceType == 1)
 					{
-						faceNormal = def.faceNormals[faceIdx];
-						tmp = (y * faceNormal.y + z * faceNormal.z + x * faceNormal.x) / (var7 / 2 + var7) + ambient;
+						tmp = (y * def.faceNormalsY[faceIdx] + z * def.faceNormalsZ[faceIdx] + x * def.faceNormalsX[faceIdx]) / (var7 / 2 + var7) + ambient;
 						litModel.field1856[faceIdx] = method2608(def.faceColors[faceIdx] & '\uffff', tmp);
 						litModel.field1823[faceIdx] = -1;
 					}
@@ -355,17 +285,11 @@ public class ItemSpriteFactory
 				else
 				{
 					int var15 = def.faceColors[faceIdx] & '\uffff';
-					vertexNormal = def.vertexNormals[def.faceVertexIndices1[faceIdx]];
-
-					tmp = (y * vertexNormal.y + z * vertexNormal.z + x * vertexNormal.x) / (var7 * vertexNormal.magnitude) + ambient;
+					tmp = vertexLight(def, def.faceVertexIndices1[faceIdx], ambient, x, y, z, var7);
 					litModel.field1856[faceIdx] = method2608(var15, tmp);
-					vertexNormal = def.vertexNormals[def.faceVertexIndices2[faceIdx]];
-
-					tmp = (y * vertexNormal.y + z * vertexNormal.z + x * vertexNormal.x) / (var7 * vertexNormal.magnitude) + ambient;
+					tmp = vertexLight(def, def.faceVertexIndices2[faceIdx], ambient, x, y, z, var7);
 					litModel.field1854[faceIdx] = method2608(var15, tmp);
-					vertexNormal = def.vertexNormals[def.faceVertexIndices3[faceIdx]];
-
-					tmp = (y * vertexNormal.y + z * vertexNormal.z + x * vertexNormal.x) / (var7 * vertexNormal.magnitude) + ambient;
+					tmp = vertexLight(def, def.faceVertexIndices3[faceIdx], ambient, x, y, z, var7);
 					litModel.field1823[faceIdx] = method2608(var15, tmp);
 				}
 			}
@@ -373,8 +297,7 @@ public class ItemSpriteFactory
 			{
 				if (faceType == 1)
 				{
-					faceNormal = def.faceNormals[faceIdx];
-					tmp = (y * faceNormal.y + z * faceNormal.z + x * faceNormal.x) / (var7 / 2 + var7) + ambient;
+					tmp = (y * def.faceNormalsY[faceIdx] + z * def.faceNormalsZ[faceIdx] + x * def.faceNormalsX[faceIdx]) / (var7 / 2 + var7) + ambient;
 					litModel.field1856[faceIdx] = bound2to126(tmp);
 					litModel.field1823[faceIdx] = -1;
 				}
@@ -385,17 +308,11 @@ public class ItemSpriteFactory
 			}
 			else
 			{
-				vertexNormal = def.vertexNormals[def.faceVertexIndices1[faceIdx]];
-
-				tmp = (y * vertexNormal.y + z * vertexNormal.z + x * vertexNormal.x) / (var7 * vertexNormal.magnitude) + ambient;
+				tmp = vertexLight(def, def.faceVertexIndices1[faceIdx], ambient, x, y, z, var7);
 				litModel.field1856[faceIdx] = bound2to126(tmp);
-				vertexNormal = def.vertexNormals[def.faceVertexIndices2[faceIdx]];
-
-				tmp = (y * vertexNormal.y + z * vertexNormal.z + x * vertexNormal.x) / (var7 * vertexNormal.magnitude) + ambient;
+				tmp = vertexLight(def, def.faceVertexIndices2[faceIdx], ambient, x, y, z, var7);
 				litModel.field1854[faceIdx] = bound2to126(tmp);
-				vertexNormal = def.vertexNormals[def.faceVertexIndices3[faceIdx]];
-
-				tmp = (y * vertexNormal.y + z * vertexNormal.z + x * vertexNormal.x) / (var7 * vertexNormal.magnitude) + ambient;
+				tmp = vertexLight(def, def.faceVertexIndices3[faceIdx], ambient, x, y, z, var7);
 				litModel.field1823[faceIdx] = bound2to126(tmp);
 			}
 		}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+
+/**
+ * Renders item sprites. A renderer reuses its rasterizer and model buffers for each sprite, so it must only be
+ * used by one thread at a time, but renderers on different threads may share a {@link RSTextureProvider}.
+ */
+public class ItemSpriteRenderer
+{
+	private static final int[] COLOR_PALETTE = new ColorPalette(0.6d, 0, 512).getColorPalette();
+
+	private final ItemProvider itemProvider;
+	private final ModelProvider modelProvider;
+	private final Graphics3D graphics;
+
+	public ItemSpriteRenderer(ItemProvider itemProvider, ModelProvider modelProvider, RSTextureProvider textureProvider)
+	{
+		this.itemProvider = itemProvider;
+		this.modelProvider = modelProvider;
+		this.graphics = new Graphics3D(textureProvider);
+		this.graphics.colorPalette = COLOR_PALETTE;
+	}
+
+	public BufferedImage createSprite(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
+	{
+		SpritePixels spritePixels = createSpritePixels(itemId, quantity, border, shadowColor, noted);
+		return spritePixels == null ? null : spritePixels.toBufferedImage();
+	}
+
+	private SpritePixels createSpritePixels(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
+	{
+		ItemDefinition item = itemProvider.provide(itemId);
+
+		if (quantity > 1 && item.countObj != null)
+		{
+			int stackItemID = -1;
+
+			for (int i = 0; i < 10; ++i)
+			{
+				if (quantity >= item.countCo[i] && item.countCo[i] != 0)
+				{
+					stackItemID = item.countObj[i];
+				}
+			}
+
+			if (stackItemID != -1)
+			{
+				item = itemProvider.provide(stackItemID);
+			}
+		}
+
+		if (item.notedTemplate != -1)
+		{
+			item = noted(item, itemProvider.provide(item.notedTemplate), itemProvider.provide(item.notedID));
+		}
+
+		Model itemModel = ItemSpriteFactory.getModel(modelProvider, item);
+		if (itemModel == null)
+		{
+			return null;
+		}
+
+		SpritePixels auxSpritePixels = null;
+		if (item.notedTemplate != -1)
+		{
+			auxSpritePixels = createSpritePixels(item.notedID, 10, 1, 0, true);
+			if (auxSpritePixels == null)
+			{
+				return null;
+			}
+		}
+		else if (item.boughtTemplateId != -1)
+		{
+			auxSpritePixels = createSpritePixels(item.boughtId, quantity, border, shadowColor, false);
+			if (auxSpritePixels == null)
+			{
+				return null;
+			}
+		}
+		else if (item.placeholderTemplateId != -1)
+		{
+			auxSpritePixels = createSpritePixels(item.placeholderId, quantity, 0, 0, false);
+			if (auxSpritePixels == null)
+			{
+				return null;
+			}
+		}
+
+		SpritePixels spritePixels = new SpritePixels(36, 32);
+		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
+		graphics.reset();
+		graphics.setRasterClipping();
+		graphics.setOffset(16, 16);
+		graphics.rasterGouraudLowRes = false;
+		if (item.placeholderTemplateId != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		int zoom2d = item.zoom2d;
+		if (noted)
+		{
+			zoom2d = (int) ((double) zoom2d * 1.5D);
+		}
+		else if (border == 2)
+		{
+			zoom2d = (int) ((double) zoom2d * 1.04D);
+		}
+
+		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
+		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
+
+		itemModel.calculateBoundsCylinder();
+		itemModel.rotateAndProject(graphics, 0,
+			item.yan2d,
+			item.zan2d,
+			item.xan2d,
+			item.xOffset2d,
+			itemModel.modelHeight / 2 + var17 + item.yOffset2d,
+			var18 + item.yOffset2d);
+		if (item.boughtTemplateId != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		if (border >= 1)
+		{
+			spritePixels.drawBorder(1);
+		}
+
+		if (border >= 2)
+		{
+			spritePixels.drawBorder(0xffffff);
+		}
+
+		if (shadowColor != 0)
+		{
+			spritePixels.drawShadow(shadowColor);
+		}
+
+		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
+		if (item.notedTemplate != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		graphics.setRasterBuffer(graphics.graphicsPixels,
+			graphics.graphicsPixelsWidth,
+			graphics.graphicsPixelsHeight);
+
+		graphics.setRasterClipping();
+		graphics.rasterGouraudLowRes = true;
+		return spritePixels;
+	}
+
+	/**
+	 * Apply a note template to a copy of an item, so the definitions from the item provider, which may be
+	 * shared with other renderers, are not modified. Only the fields used for rendering are copied.
+	 */
+	private static ItemDefinition noted(ItemDefinition item, ItemDefinition notedItem, ItemDefinition unnotedItem)
+	{
+		ItemDefinition noted = new ItemDefinition(item.id);
+		noted.resizeX = item.resizeX;
+		noted.resizeY = item.resizeY;
+		noted.resizeZ = item.resizeZ;
+		noted.ambient = item.ambient;
+		noted.contrast = item.contrast;
+		noted.countCo = item.countCo;
+		noted.countObj = item.countObj;
+		noted.notedID = item.notedID;
+		noted.notedTemplate = item.notedTemplate;
+		noted.boughtId = item.boughtId;
+		noted.boughtTemplateId = item.boughtTemplateId;
+		noted.placeholderId = item.placeholderId;
+		noted.placeholderTemplateId = item.placeholderTemplateId;
+		noted.updateNote(notedItem, unnotedItem);
+		return noted;
+	}
+}
@@ -26,27 +26,29 @@ package net.runelite.cache.item;
 
 class Model extends Renderable
 {
-	boolean[] field1887 = new boolean[4700];
-	boolean[] field1885 = new boolean[4700];
-	int[] modelViewportYs = new int[4700];
-	int[] modelViewportXs = new int[4700];
-	int[] modelViewportZs = new int[4700];
-	int[] yViewportBuffer = new int[4700];
-	int[] field1839 = new int[4700];
-	int[] field1869 = new int[4700];
-	int[] field1871 = new int[1600];
-	int[][] field1868 = new int[1600][512];
-	int[] field1872 = new int[12];
-	int[][] field1874 = new int[12][2000];
-	int[] field1857 = new int[2000];
-	int[] field1863 = new int[2000];
-	int[] field1877 = new int[12];
-	int[] field1831 = new int[10];
-	int[] field1837 = new int[10];
-	int[] xViewportBuffer = new int[10];
-	static int[] Model_sine;
-	static int[] Model_cosine;
-	static int[] field1890;
+	// scratch buffers, owned by the Graphics3D the model is drawn with
+	boolean[] field1887;
+	boolean[] field1885;
+	int[] modelViewportYs;
+	int[] modelViewportXs;
+	int[] modelViewportZs;
+	int[] yViewportBuffer;
+	int[] field1839;
+	int[] field1869;
+	int[] field1871;
+	int[][] field1868;
+	int[] field1872;
+	int[][] field1874;
+	int[] field1857;
+	int[] field1863;
+	int[] field1877;
+	int[] field1831;
+	int[] field1837;
+	int[] xViewportBuffer;
+	// lookup tables, these are never written
+	static final int[] Model_sine = Graphics3D.SINE;
+	static final int[] Model_cosine = Graphics3D.COSINE;
+	static final int[] field1890 = Graphics3D.field1933;
 	int verticesCount;
 	int[] verticesX;
 	int[] verticesY;
@@ -77,13 +79,6 @@ class Model extends Renderable
 	public int extremeY;
 	public int extremeZ;
 
-	static
-	{
-		Model_sine = Graphics3D.SINE;
-		Model_cosine = Graphics3D.COSINE;
-		field1890 = Graphics3D.field1933;
-	}
-
 	Model()
 	{
 		this.verticesCount = 0;
@@ -135,6 +130,25 @@ class Model extends Renderable
 
 	public final void rotateAndProject(Graphics3D graphics, int rotation_1, int yRotation, int zRotation, int xRotation, int xOffset, int yOffset, int zOffset)
 	{
+		ModelScratch scratch = graphics.modelScratch;
+		field1887 = scratch.field1887;
+		field1885 = scratch.field1885;
+		modelViewportYs = scratch.modelViewportYs;
+		modelViewportXs = scratch.modelViewportXs;
+		modelViewportZs = scratch.modelViewportZs;
+		yViewportBuffer = scratch.yViewportBuffer;
+		field1839 = scratch.field1839;
+		field1869 = scratch.field1869;
+		field1871 = scratch.field1871;
+		field1868 = scratch.field1868;
+		field1872 = scratch.field1872;
+		field1874 = scratch.field1874;
+		field1857 = scratch.field1857;
+		field1863 = scratch.field1863;
+		field1877 = scratch.field1877;
+		field1831 = scratch.field1831;
+		field1837 = scratch.field1837;
+		xViewportBuffer = scratch.xViewportBuffer;
 		field1871[0] = -1;
 		// (re?)Calculate magnitude as necessary
 		if (this.boundsType != 2 && this.boundsType != 1)
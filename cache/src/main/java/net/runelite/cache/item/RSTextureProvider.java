@@ -24,6 +24,7 @@
  */
 package net.runelite.cache.item;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import net.runelite.cache.definitions.TextureDefinition;
 import net.runelite.cache.definitions.providers.SpriteProvider;
 import net.runelite.cache.definitions.providers.TextureProvider;
@@ -32,6 +33,7 @@ public class RSTextureProvider
 {
 	private final SpriteProvider spriteProvider;
 	TextureDefinition[] textures;
+	private final AtomicReferenceArray<int[]> loaded;
 	int maxSize;
 	int size;
 	double brightness;
@@ -62,20 +64,35 @@ public class RSTextureProvider
 		{
 			textures[textureDefinition.getId()] = textureDefinition;
 		}
+		loaded = new AtomicReferenceArray<>(textures.length);
 	}
 
 	public int[] load(int var1)
 	{
+		int[] pixels = this.loaded.get(var1);
+		if (pixels != null)
+		{
+			return pixels;
+		}
+
 		TextureDefinition var2 = this.textures[var1];
 		if (var2 != null)
 		{
-			if (var2.pixels != null)
+			// textures are loaded under a lock, so the provider can be shared by renderers on other threads
+			synchronized (this)
 			{
-				return var2.pixels;
+				if (var2.pixels == null)
+				{
+					var2.method2680(this.brightness, this.width, spriteProvider);
+				}
+				pixels = var2.pixels;
 			}
 
-			boolean var3 = var2.method2680(this.brightness, this.width, spriteProvider);
-			return var2.pixels;
+			if (pixels != null)
+			{
+				this.loaded.set(var1, pixels);
+			}
+			return pixels;
 		}
 
 		return null;
@@ -24,12 +24,18 @@
  */
 package net.runelite.cache.region;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
 import net.runelite.cache.definitions.MapDefinition.Tile;
 
+/**
+ * The terrain and locations of a region. Tiles are stored in flat arrays
+ * indexed by {@link #tileIndex(int, int, int)}, and locations in a table of
+ * parallel arrays sorted by object id.
+ */
 public class Region
 {
 
@@ -41,14 +47,19 @@ public class Region
 	private final int baseX;
 	private final int baseY;
 
-	private final int[][][] tileHeights = new int[Z][X][Y];
-	private final byte[][][] tileSettings = new byte[Z][X][Y];
-	private final byte[][][] overlayIds = new byte[Z][X][Y];
-	private final byte[][][] overlayPaths = new byte[Z][X][Y];
-	private final byte[][][] overlayRotations = new byte[Z][X][Y];
-	private final byte[][][] underlayIds = new byte[Z][X][Y];
+	private final short[] tileHeights = new short[Z * X * Y];
+	private final byte[] tileSettings = new byte[Z * X * Y];
+	private final byte[] overlayIds = new byte[Z * X * Y];
+	// overlay path << 2 | overlay rotation
+	private final byte[] overlayShapes = new byte[Z * X * Y];
+	private final byte[] underlayIds = new byte[Z * X * Y];
 
-	private final List<Location> locations = new ArrayList<>();
+	private int locationCount;
+	private int[] locationIds = new int[0];
+	// type << 2 | orientation
+	private byte[] locationAttributes = new byte[0];
+	// z << 12 | local x << 6 | local y
+	private short[] locationPositions = new short[0];
 
 	public Region(int id)
 	{
@@ -64,6 +75,14 @@ public class Region
 		this.baseY = y << 6;
 	}
 
+	/**
+	 * Get the index of a tile in the terrain arrays
+	 */
+	public static int tileIndex(int z, int x, int y)
+	{
+		return z << 12 | x << 6 | y;
+	}
+
 	public void loadTerrain(MapDefinition map)
 	{
 		Tile[][][] tiles = map.getTiles();
@@ -74,16 +93,17 @@ public class Region
 				for (int y = 0; y < Y; y++)
 				{
 					Tile tile = tiles[z][x][y];
+					int idx = tileIndex(z, x, y);
 
 					if (tile.height == null)
 					{
 						if (z == 0)
 						{
-							tileHeights[0][x][y] = -HeightCalc.calculate(baseX + x + 0xe3b7b, baseY + y + 0x87cce) * 8;
+							tileHeights[idx] = (short) (-HeightCalc.calculate(baseX + x + 0xe3b7b, baseY + y + 0x87cce) * 8);
 						}
 						else
 						{
-							tileHeights[z][x][y] = tileHeights[z - 1][x][y] - 240;
+							tileHeights[idx] = (short) (tileHeights[tileIndex(z - 1, x, y)] - 240);
 						}
 					}
 					else
@@ -96,20 +116,19 @@ public class Region
 
 						if (z == 0)
 						{
-							tileHeights[0][x][y] = -height * 8;
+							tileHeights[idx] = (short) (-height * 8);
 						}
 						else
 						{
-							tileHeights[z][x][y] = tileHeights[z - 1][x][y] - height * 8;
+							tileHeights[idx] = (short) (tileHeights[tileIndex(z - 1, x, y)] - height * 8);
 						}
 					}
 
-					overlayIds[z][x][y] = tile.getOverlayId();
-					overlayPaths[z][x][y] = tile.getOverlayPath();
-					overlayRotations[z][x][y] = tile.getOverlayRotation();
+					overlayIds[idx] = tile.getOverlayId();
+					overlayShapes[idx] = (byte) (tile.getOverlayPath() << 2 | tile.getOverlayRotation() & 3);
 
-					tileSettings[z][x][y] = tile.getSettings();
-					underlayIds[z][x][y] = tile.getUnderlayId();
+					tileSettings[idx] = tile.getSettings();
+					underlayIds[idx] = tile.getUnderlayId();
 				}
 			}
 		}
@@ -119,14 +138,44 @@ public class Region
 	{
 		for (Location loc : locs.getLocations())
 		{
-			Location newLoc = new Location(loc.getId(), loc.getType(), loc.getOrientation(),
-				new Position(getBaseX() + loc.getPosition().getX(),
-					getBaseY() + loc.getPosition().getY(),
-					loc.getPosition().getZ()));
-			locations.add(newLoc);
+			Position position = loc.getPosition();
+			addLocation(loc.getId(), loc.getType(), loc.getOrientation(), position.getX(), position.getY(), position.getZ());
 		}
 	}
 
+	/**
+	 * Add a location at local coordinates
+	 */
+	void addLocation(int id, int type, int orientation, int localX, int localY, int z)
+	{
+		if (locationCount == locationIds.length)
+		{
+			int size = Math.max(16, locationCount * 2);
+			locationIds = Arrays.copyOf(locationIds, size);
+			locationAttributes = Arrays.copyOf(locationAttributes, size);
+			locationPositions = Arrays.copyOf(locationPositions, size);
+		}
+
+		// locations are encoded in id order, so this is normally an append
+		int idx = locationCount;
+		while (idx > 0 && locationIds[idx - 1] > id)
+		{
+			--idx;
+		}
+
+		if (idx < locationCount)
+		{
+			System.arraycopy(locationIds, idx, locationIds, idx + 1, locationCount - idx);
+			System.arraycopy(locationAttributes, idx, locationAttributes, idx + 1, locationCount - idx);
+			System.arraycopy(locationPositions, idx, locationPositions, idx + 1, locationCount - idx);
+		}
+
+		locationIds[idx] = id;
+		locationAttributes[idx] = (byte) (type << 2 | orientation & 3);
+		locationPositions[idx] = (short) tileIndex(z, localX, localY);
+		++locationCount;
+	}
+
 	public int getRegionID()
 	{
 		return regionID;
@@ -144,37 +193,121 @@ public class Region
 
 	public int getTileHeight(int z, int x, int y)
 	{
-		return tileHeights[z][x][y];
+		return tileHeights[tileIndex(z, x, y)];
 	}
 
 	public byte getTileSetting(int z, int x, int y)
 	{
-		return tileSettings[z][x][y];
+		return tileSettings[tileIndex(z, x, y)];
 	}
 
 	public int getOverlayId(int z, int x, int y)
 	{
-		return overlayIds[z][x][y] & 0xFF;
+		return overlayIds[tileIndex(z, x, y)] & 0xFF;
 	}
 
 	public byte getOverlayPath(int z, int x, int y)
 	{
-		return overlayPaths[z][x][y];
+		return (byte) ((overlayShapes[tileIndex(z, x, y)] & 0xFF) >> 2);
 	}
 
 	public byte getOverlayRotation(int z, int x, int y)
 	{
-		return overlayRotations[z][x][y];
+		return (byte) (overlayShapes[tileIndex(z, x, y)] & 3);
 	}
 
 	public int getUnderlayId(int z, int x, int y)
 	{
-		return underlayIds[z][x][y] & 0xFF;
+		return underlayIds[tileIndex(z, x, y)] & 0xFF;
+	}
+
+	/**
+	 * Get the number of locations in the region
+	 */
+	public int getLocationCount()
+	{
+		return locationCount;
+	}
+
+	public int getLocationId(int location)
+	{
+		return locationIds[location];
+	}
+
+	public int getLocationType(int location)
+	{
+		return (locationAttributes[location] & 0xFF) >> 2;
+	}
+
+	public int getLocationOrientation(int location)
+	{
+		return locationAttributes[location] & 3;
+	}
+
+	public int getLocationLocalX(int location)
+	{
+		return locationPositions[location] >> 6 & 0x3F;
+	}
+
+	public int getLocationLocalY(int location)
+	{
+		return locationPositions[location] & 0x3F;
 	}
 
+	public int getLocationZ(int location)
+	{
+		return locationPositions[location] >> 12 & 3;
+	}
+
+	/**
+	 * Find the locations of an object. Locations are sorted by object id,
+	 * so the locations of the object are the returned location and those
+	 * following it with the same id.
+	 *
+	 * @param objectId object id
+	 * @return the first location of the object, or -1 if there are none
+	 */
+	public int findLocation(int objectId)
+	{
+		int idx = Arrays.binarySearch(locationIds, 0, locationCount, objectId);
+		if (idx < 0)
+		{
+			return -1;
+		}
+
+		while (idx > 0 && locationIds[idx - 1] == objectId)
+		{
+			--idx;
+		}
+		return idx;
+	}
+
+	/**
+	 * Get a view of the locations, in world coordinates. This creates a
+	 * {@link Location} for each element accessed.
+	 */
 	public List<Location> getLocations()
 	{
-		return locations;
+		return new AbstractList<Location>()
+		{
+			@Override
+			public Location get(int index)
+			{
+				if (index < 0 || index >= locationCount)
+				{
+					throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + locationCount);
+				}
+
+				return new Location(getLocationId(index), getLocationType(index), getLocationOrientation(index),
+					new Position(baseX + getLocationLocalX(index), baseY + getLocationLocalY(index), getLocationZ(index)));
+			}
+
+			@Override
+			public int size()
+			{
+				return locationCount;
+			}
+		};
 	}
 
 	public int getRegionX()
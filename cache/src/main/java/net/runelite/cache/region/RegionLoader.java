@@ -29,7 +29,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import net.runelite.cache.IndexType;
-import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
 import net.runelite.cache.definitions.loaders.LocationsLoader;
 import net.runelite.cache.definitions.loaders.MapLoader;
@@ -56,11 +55,22 @@ public class RegionLoader
 	private Region highestX = null, highestY = null;
 
 	public RegionLoader(Store store)
+	{
+		this(store, loadKeys());
+	}
+
+	public RegionLoader(Store store, XteaKeyManager keyManager)
 	{
 		this.store = store;
-		index = store.getIndex(IndexType.MAPS);
-		keyManager = new XteaKeyManager();
+		this.index = store.getIndex(IndexType.MAPS);
+		this.keyManager = keyManager;
+	}
+
+	private static XteaKeyManager loadKeys()
+	{
+		XteaKeyManager keyManager = new XteaKeyManager();
 		keyManager.loadKeys();
+		return keyManager;
 	}
 
 	public void loadRegions() throws IOException
@@ -104,8 +114,7 @@ public class RegionLoader
 			try
 			{
 				data = land.decompress(storage.loadArchive(land), keys);
-				LocationsDefinition locDef = new LocationsLoader().load(x, y, data);
-				region.loadLocations(locDef);
+				new LocationsLoader().load(data, region::addLocation);
 			}
 			catch (IOException ex)
 			{
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.script;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.ScriptDefinition;
+import net.runelite.cache.definitions.loaders.ScriptLoader;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.script.assembler.Assembler;
+import net.runelite.cache.script.disassembler.Disassembler;
+
+/**
+ * Assembles or disassembles many scripts in parallel, sharing one instruction
+ * table. An optional manifest records a hash of each input, and inputs which
+ * haven't changed since the manifest was written, and whose output still
+ * exists, are skipped.
+ */
+public class ScriptBatch
+{
+	private static final String ASM_EXTENSION = ".rs2asm";
+	private static final String HASH_EXTENSION = ".hash";
+
+	@FunctionalInterface
+	public interface AssembleCallback
+	{
+		/**
+		 * Called with each assembled script, possibly from multiple threads at once
+		 */
+		void accept(File source, ScriptDefinition script) throws IOException;
+
+		/**
+		 * Check if the output of a previously assembled script still exists.
+		 * Scripts are only skipped if this returns true.
+		 */
+		default boolean isAssembled(int scriptId)
+		{
+			return false;
+		}
+	}
+
+	private static class ManifestEntry
+	{
+		private final String hash;
+		private final int id;
+
+		private ManifestEntry(String hash, int id)
+		{
+			this.hash = hash;
+			this.id = id;
+		}
+	}
+
+	private final Gson gson = new Gson();
+	private final Assembler assembler;
+	private final Disassembler disassembler;
+
+	/**
+	 * @param instructions initialized instruction table, which must not be modified afterwards
+	 */
+	public ScriptBatch(Instructions instructions)
+	{
+		this.assembler = new Assembler(instructions);
+		this.disassembler = new Disassembler(instructions);
+	}
+
+	/**
+	 * Assemble the .rs2asm scripts in a directory. A script's hash covers the
+	 * script and its .hash file, if it has one.
+	 *
+	 * @param directory directory of scripts
+	 * @param manifest manifest file, or null to assemble every script
+	 * @param callback called with each script which was assembled
+	 * @return the number of scripts assembled
+	 */
+	public int assemble(File directory, File manifest, AssembleCallback callback) throws IOException
+	{
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(ASM_EXTENSION));
+		if (files == null)
+		{
+			throw new IOException("unable to list " + directory);
+		}
+
+		Map<String, ManifestEntry> previous = readManifest(manifest);
+		Map<String, ManifestEntry> current = new ConcurrentHashMap<>();
+		AtomicInteger count = new AtomicInteger();
+
+		forEach(Arrays.asList(files), file ->
+		{
+			byte[] source = Files.readAllBytes(file.toPath());
+
+			Hasher hasher = Hashing.sha256().newHasher();
+			hasher.putBytes(source);
+			String name = file.getName();
+			File hashFile = new File(directory, name.substring(0, name.length() - ASM_EXTENSION.length()) + HASH_EXTENSION);
+			if (hashFile.exists())
+			{
+				hasher.putBytes(Files.readAllBytes(hashFile.toPath()));
+			}
+			String hash = hasher.hash().toString();
+
+			ManifestEntry entry = previous.get(name);
+			if (entry != null && hash.equals(entry.hash) && callback.isAssembled(entry.id))
+			{
+				current.put(name, entry);
+				return;
+			}
+
+			ScriptDefinition script;
+			try
+			{
+				script = assembler.assemble(new ByteArrayInputStream(source));
+			}
+			catch (RuntimeException ex)
+			{
+				throw new IOException("unable to assemble " + file, ex);
+			}
+
+			callback.accept(file, script);
+			count.incrementAndGet();
+
+			current.put(name, new ManifestEntry(hash, script.getId()));
+		});
+
+		writeManifest(manifest, current);
+		return count.get();
+	}
+
+	/**
+	 * Disassemble the scripts in the clientscript index to {@code <id>.rs2asm}
+	 * files. The archive crcs are used as the hashes.
+	 *
+	 * @param store store to read the scripts from
+	 * @param outDirectory directory to write the scripts to
+	 * @param manifest manifest file, or null to disassemble every script
+	 * @return the number of scripts disassembled
+	 */
+	public int disassemble(Store store, File outDirectory, File manifest) throws IOException
+	{
+		outDirectory.mkdirs();
+
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CLIENTSCRIPT);
+		ScriptLoader loader = new ScriptLoader();
+
+		Map<String, ManifestEntry> previous = readManifest(manifest);
+		Map<String, ManifestEntry> current = new ConcurrentHashMap<>();
+		AtomicInteger count = new AtomicInteger();
+
+		forEach(index.getArchives(), archive ->
+		{
+			String name = archive.getArchiveId() + ASM_EXTENSION;
+			String hash = Integer.toHexString(archive.getCrc());
+			File outFile = new File(outDirectory, name);
+
+			ManifestEntry entry = previous.get(name);
+			if (entry == null || !hash.equals(entry.hash) || !outFile.exists())
+			{
+				byte[] contents = archive.decompress(storage.loadArchive(archive));
+				if (contents == null)
+				{
+					return;
+				}
+
+				ScriptDefinition script = loader.load(archive.getArchiveId(), contents);
+				String out = disassembler.disassemble(script);
+				Files.write(outFile.toPath(), out.getBytes(StandardCharsets.UTF_8));
+				count.incrementAndGet();
+			}
+
+			current.put(name, new ManifestEntry(hash, archive.getArchiveId()));
+		});
+
+		writeManifest(manifest, current);
+		return count.get();
+	}
+
+	@FunctionalInterface
+	private interface IOConsumer<T>
+	{
+		void accept(T t) throws IOException;
+	}
+
+	private static <T> void forEach(List<T> inputs, IOConsumer<T> consumer) throws IOException
+	{
+		try
+		{
+			inputs.parallelStream().forEach(input ->
+			{
+				try
+				{
+					consumer.accept(input);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+	}
+
+	private Map<String, ManifestEntry> readManifest(File manifest) throws IOException
+	{
+		if (manifest == null || !manifest.exists())
+		{
+			return new HashMap<>();
+		}
+
+		try (Reader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8))
+		{
+			Map<String, ManifestEntry> hashes = gson.fromJson(reader, new TypeToken<Map<String, ManifestEntry>>()
+			{
+			}.getType());
+			return hashes != null ? hashes : new HashMap<>();
+		}
+		catch (JsonParseException ex)
+		{
+			// unreadable or old format, rebuild everything
+			return new HashMap<>();
+		}
+	}
+
+	private void writeManifest(File manifest, Map<String, ManifestEntry> hashes) throws IOException
+	{
+		if (manifest == null)
+		{
+			return;
+		}
+
+		File tmp = new File(manifest.getPath() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8))
+		{
+			gson.toJson(hashes, writer);
+		}
+		Files.move(tmp.toPath(), manifest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+}
@@ -35,37 +35,61 @@ import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
 public class Assembler
 {
+	/**
+	 * A lexer and parser, which are reset for each script instead of being created again
+	 */
+	private static class Parser
+	{
+		private final LexerErrorListener errorListener = new LexerErrorListener();
+		private final rs2asmLexer lexer = new rs2asmLexer(null);
+		private final rs2asmParser parser = new rs2asmParser(null);
+
+		Parser()
+		{
+			lexer.addErrorListener(errorListener);
+		}
+	}
+
 	private final Instructions instructions;
+	private final ThreadLocal<Parser> parsers = ThreadLocal.withInitial(Parser::new);
 
+	/**
+	 * @param instructions instruction table, which must not be modified while the assembler is in use
+	 */
 	public Assembler(Instructions instructions)
 	{
 		this.instructions = instructions;
 	}
 
+	/**
+	 * Assemble a script. This is thread safe, each thread reuses its own lexer and parser.
+	 */
 	public ScriptDefinition assemble(InputStream in) throws IOException
 	{
-		// Get our lexer
-		rs2asmLexer lexer = new rs2asmLexer(new ANTLRInputStream(in));
+		Parser p = parsers.get();
+		p.errorListener.reset();
 
-		LexerErrorListener errorListener = new LexerErrorListener();
-		lexer.addErrorListener(errorListener);
+		// Get our lexer
+		rs2asmLexer lexer = p.lexer;
+		lexer.setInputStream(new ANTLRInputStream(in));
 
 		// Get a list of matched tokens
 		CommonTokenStream tokens = new CommonTokenStream(lexer);
 
 		// Pass the tokens to the parser
-		rs2asmParser parser = new rs2asmParser(tokens);
+		rs2asmParser parser = p.parser;
+		parser.setTokenStream(tokens);
 
 		// Specify our entry point
 		ProgContext progContext = parser.prog();
 
-		if (errorListener.getErrors() > 0)
+		if (p.errorListener.getErrors() > 0)
 		{
 			throw new RuntimeException("syntax error");
 		}
 
 		// Walk it and attach our listener
-		ParseTreeWalker walker = new ParseTreeWalker();
+		ParseTreeWalker walker = ParseTreeWalker.DEFAULT;
 
 		// walk through first and resolve labels
 		LabelVisitor labelVisitor = new LabelVisitor();
@@ -43,4 +43,9 @@ public class LexerErrorListener extends BaseErrorListener
 		return errors;
 	}
 
+	public void reset()
+	{
+		errors = 0;
+	}
+
 }
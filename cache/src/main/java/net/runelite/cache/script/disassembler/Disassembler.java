@@ -38,13 +38,22 @@ public class Disassembler
 {
 	private static final Logger logger = LoggerFactory.getLogger(Disassembler.class);
 
-	private final Instructions instructions = new Instructions();
+	private final Instructions instructions;
 
 	public Disassembler()
 	{
+		instructions = new Instructions();
 		instructions.init();
 	}
 
+	/**
+	 * @param instructions instruction table, which must not be modified while the disassembler is in use
+	 */
+	public Disassembler(Instructions instructions)
+	{
+		this.instructions = instructions;
+	}
+
 	private boolean isJump(int opcode)
 	{
 		switch (opcode)
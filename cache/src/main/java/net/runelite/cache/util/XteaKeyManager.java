@@ -24,44 +24,276 @@
  */
 package net.runelite.cache.util;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.xtea.XteaClient;
 import net.runelite.http.api.xtea.XteaKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Region xtea keys. Keys can be fetched from the xtea service and persisted
+ * to a snapshot file for a cache revision, so tools can load them without
+ * network access.
+ * <p>
+ * The snapshot is a header of magic, version, revision and key count,
+ * followed by the sorted region ids and then 4 keys per region, all as
+ * big endian ints.
+ */
 public class XteaKeyManager
 {
 	private static final Logger logger = LoggerFactory.getLogger(XteaKeyManager.class);
 
-	private final Map<Integer, int[]> keys = new HashMap<>();
+	private static final int SNAPSHOT_MAGIC = 0x58544541; // XTEA
+	private static final int SNAPSHOT_VERSION = 1;
+	private static final int SNAPSHOT_HEADER_SIZE = 16;
+	private static final int KEY_LENGTH = 4;
+
+	/**
+	 * region ids in ascending order
+	 */
+	private int[] regions = new int[0];
+	/**
+	 * keys of regions[i] at i * KEY_LENGTH
+	 */
+	private int[] keys = new int[0];
 
+	/**
+	 * Fetch all keys from the xtea service
+	 */
 	public void loadKeys()
 	{
-		XteaClient xteaClient = new XteaClient(RuneLiteAPI.CLIENT);
+		List<XteaKey> xteaKeys = fetchKeys();
+		if (xteaKeys != null)
+		{
+			merge(xteaKeys);
+		}
+		logger.info("Loaded {} keys", regions.length);
+	}
 
+	/**
+	 * Load keys from a snapshot, and optionally fetch new keys from the xtea
+	 * service. The service only has the keys of its current revision, so they
+	 * are only merged if that is the requested revision. The snapshot is
+	 * rewritten if the fetch found new or changed keys.
+	 *
+	 * @param snapshot snapshot file
+	 * @param revision cache revision the keys are for
+	 * @param refresh whether to fetch keys from the xtea service
+	 */
+	public void loadKeys(File snapshot, int revision, boolean refresh)
+	{
+		boolean loaded;
 		try
 		{
-			for (XteaKey key : xteaClient.get())
+			loaded = loadSnapshot(snapshot, revision);
+		}
+		catch (IOException ex)
+		{
+			logger.warn("unable to load xtea key snapshot {}", snapshot, ex);
+			loaded = false;
+		}
+
+		List<XteaKey> xteaKeys = refresh ? fetchKeys() : null;
+		if (xteaKeys != null && refresh(xteaKeys, revision))
+		{
+			try
+			{
+				saveSnapshot(snapshot, revision);
+			}
+			catch (IOException ex)
 			{
-				keys.put(key.getRegion(), key.getKeys());
+				logger.warn("unable to save xtea key snapshot {}", snapshot, ex);
 			}
 		}
+		else if (!loaded)
+		{
+			logger.warn("No xtea key snapshot for revision {} in {}", revision, snapshot);
+		}
+
+		logger.info("Loaded {} keys", regions.length);
+	}
+
+	/**
+	 * @return the keys, or null if they couldn't be fetched
+	 */
+	private List<XteaKey> fetchKeys()
+	{
+		XteaClient xteaClient = new XteaClient(RuneLiteAPI.CLIENT);
+
+		try
+		{
+			return xteaClient.get();
+		}
 		catch (IOException ex)
 		{
 			// happens on release when it is not deployed yet
 			logger.debug("unable to load xtea keys", ex);
-			return;
+			return null;
 		}
+	}
 
-		logger.info("Loaded {} keys", keys.size());
+	/**
+	 * Merge keys fetched from the xtea service if its current revision, the
+	 * newest revision of its keys, is the given revision
+	 *
+	 * @return true if any keys were added or changed
+	 */
+	boolean refresh(Collection<XteaKey> xteaKeys, int revision)
+	{
+		int serviceRevision = 0;
+		for (XteaKey key : xteaKeys)
+		{
+			serviceRevision = Math.max(serviceRevision, key.getRevision());
+		}
+
+		if (serviceRevision != revision)
+		{
+			logger.warn("The xtea service has keys for revision {}, not refreshing the keys for revision {}", serviceRevision, revision);
+			return false;
+		}
+
+		return merge(xteaKeys);
+	}
+
+	/**
+	 * Add keys, replacing the existing keys of their regions
+	 *
+	 * @return true if any keys were added or changed
+	 */
+	boolean merge(Collection<XteaKey> xteaKeys)
+	{
+		Map<Integer, int[]> merged = new TreeMap<>();
+		for (int i = 0; i < regions.length; ++i)
+		{
+			merged.put(regions[i], Arrays.copyOfRange(keys, i * KEY_LENGTH, (i + 1) * KEY_LENGTH));
+		}
+
+		boolean changed = false;
+		for (XteaKey key : xteaKeys)
+		{
+			if (key.getKeys() == null || key.getKeys().length != KEY_LENGTH)
+			{
+				logger.debug("Ignoring malformed key for region {}", key.getRegion());
+				continue;
+			}
+
+			int[] old = merged.put(key.getRegion(), key.getKeys());
+			changed |= !Arrays.equals(old, key.getKeys());
+		}
+
+		if (!changed)
+		{
+			return false;
+		}
+
+		int[] newRegions = new int[merged.size()];
+		int[] newKeys = new int[merged.size() * KEY_LENGTH];
+		int i = 0;
+		for (Map.Entry<Integer, int[]> entry : merged.entrySet())
+		{
+			newRegions[i] = entry.getKey();
+			System.arraycopy(entry.getValue(), 0, newKeys, i * KEY_LENGTH, KEY_LENGTH);
+			++i;
+		}
+		regions = newRegions;
+		keys = newKeys;
+		return true;
+	}
+
+	/**
+	 * Replace the keys with the keys from a snapshot
+	 *
+	 * @param file snapshot file
+	 * @param revision cache revision the keys are for
+	 * @return false if there is no snapshot, or it is for a different revision
+	 */
+	public boolean loadSnapshot(File file, int revision) throws IOException
+	{
+		if (!file.exists())
+		{
+			return false;
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			if (channel.size() < SNAPSHOT_HEADER_SIZE)
+			{
+				throw new IOException("xtea key snapshot is truncated");
+			}
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			IntBuffer ints = buffer.asIntBuffer();
+			if (ints.get() != SNAPSHOT_MAGIC || ints.get() != SNAPSHOT_VERSION)
+			{
+				throw new IOException("not an xtea key snapshot");
+			}
+
+			int snapshotRevision = ints.get();
+			if (snapshotRevision != revision)
+			{
+				logger.debug("xtea key snapshot is for revision {}, not {}", snapshotRevision, revision);
+				return false;
+			}
+
+			int count = ints.get();
+			if (count < 0 || ints.remaining() != count * (1 + KEY_LENGTH))
+			{
+				throw new IOException("xtea key snapshot is truncated");
+			}
+
+			int[] newRegions = new int[count];
+			int[] newKeys = new int[count * KEY_LENGTH];
+			ints.get(newRegions);
+			ints.get(newKeys);
+			regions = newRegions;
+			keys = newKeys;
+		}
+		return true;
+	}
+
+	/**
+	 * Write the keys to a snapshot file
+	 *
+	 * @param file snapshot file
+	 * @param revision cache revision the keys are for
+	 */
+	public void saveSnapshot(File file, int revision) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE + (regions.length + keys.length) * 4);
+		buffer.putInt(SNAPSHOT_MAGIC);
+		buffer.putInt(SNAPSHOT_VERSION);
+		buffer.putInt(revision);
+		buffer.putInt(regions.length);
+		buffer.asIntBuffer()
+			.put(regions)
+			.put(keys);
+
+		File tmp = new File(file.getPath() + ".tmp");
+		Files.write(tmp.toPath(), buffer.array());
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 	}
 
 	public int[] getKeys(int region)
 	{
-		return keys.get(region);
+		int idx = Arrays.binarySearch(regions, region);
+		if (idx < 0)
+		{
+			return null;
+		}
+		return Arrays.copyOfRange(keys, idx * KEY_LENGTH, (idx + 1) * KEY_LENGTH);
 	}
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class DefinitionTableTest
+{
+	/**
+	 * Build archive data in the same layout as ArchiveFiles#saveContents, with
+	 * each file split into the given number of chunks
+	 */
+	private static byte[] archive(byte[][] files, int chunks)
+	{
+		ByteBuffer buf = ByteBuffer.allocate(4096);
+		int[][] sizes = new int[chunks][files.length];
+		for (int chunk = 0; chunk < chunks; ++chunk)
+		{
+			for (int i = 0; i < files.length; ++i)
+			{
+				int start = files[i].length * chunk / chunks;
+				int end = files[i].length * (chunk + 1) / chunks;
+				buf.put(files[i], start, end - start);
+				sizes[chunk][i] = end - start;
+			}
+		}
+		for (int chunk = 0; chunk < chunks; ++chunk)
+		{
+			int last = 0;
+			for (int i = 0; i < files.length; ++i)
+			{
+				buf.putInt(sizes[chunk][i] - last);
+				last = sizes[chunk][i];
+			}
+		}
+		buf.put((byte) chunks);
+		return Arrays.copyOf(buf.array(), buf.position());
+	}
+
+	private static final byte[][] FILES = {
+		{1, 2, 3},
+		{},
+		{4, 5, 6, 7, 8},
+		{9},
+	};
+	private static final int[] IDS = {0, 2, 5, 6};
+
+	@Test
+	public void testSingleChunk()
+	{
+		DefinitionTable<byte[]> table = new DefinitionTable<>((id, b) -> b, archive(FILES, 1), IDS);
+		assertEquals(4, table.size());
+		assertArrayEquals(FILES[0], table.get(0));
+		assertArrayEquals(FILES[1], table.get(2));
+		assertArrayEquals(FILES[2], table.get(5));
+		assertArrayEquals(FILES[3], table.get(6));
+		assertNull(table.get(1));
+		assertNull(table.get(7));
+		assertNull(table.get(-1));
+		assertFalse(table.contains(3));
+		assertTrue(table.contains(5));
+	}
+
+	@Test
+	public void testMultipleChunks()
+	{
+		byte[] data = archive(FILES, 2);
+		DefinitionTable<byte[]> table = new DefinitionTable<>((id, b) -> b, data, IDS);
+
+		ArchiveFiles files = new ArchiveFiles();
+		for (int id : IDS)
+		{
+			files.addFile(new FSFile(id));
+		}
+		files.loadContents(data);
+
+		for (int i = 0; i < IDS.length; ++i)
+		{
+			assertArrayEquals(FILES[i], table.get(IDS[i]));
+			assertArrayEquals(files.getFiles().get(i).getContents(), table.get(IDS[i]));
+		}
+	}
+
+	@Test
+	public void testSingleFile()
+	{
+		byte[] data = {1, 2, 3};
+		DefinitionTable<byte[]> table = new DefinitionTable<>((id, b) -> b, data, new int[]{42});
+		assertArrayEquals(data, table.get(42));
+	}
+
+	@Test
+	public void testLazyCached()
+	{
+		AtomicInteger loads = new AtomicInteger();
+		DefinitionTable<int[]> table = new DefinitionTable<>((id, b) ->
+		{
+			loads.incrementAndGet();
+			return new int[]{id, b.length};
+		}, archive(FILES, 1), IDS);
+
+		assertEquals(0, loads.get());
+		int[] def = table.get(5);
+		assertArrayEquals(new int[]{5, 5}, def);
+		assertEquals(1, loads.get());
+		assertSame(def, table.get(5));
+		assertEquals(1, loads.get());
+
+		assertEquals(4, table.getAll().size());
+		assertSame(def, table.getAll().get(2));
+		assertEquals(4, loads.get());
+		assertEquals(6, table.getAll().get(3)[0]);
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		DefinitionTable<byte[]> table = DefinitionTable.empty();
+		assertEquals(0, table.size());
+		assertNull(table.get(0));
+		assertTrue(table.getAll().isEmpty());
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.region.Region;
+import net.runelite.cache.util.Djb2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RegionTileCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	private static Archive addArchive(Index index, int id, String name, int crc)
+	{
+		Archive archive = index.addArchive(id);
+		archive.setNameHash(Djb2.hash(name));
+		archive.setCrc(crc);
+		return archive;
+	}
+
+	@Test
+	public void testTiles() throws IOException
+	{
+		File tiles = folder.newFolder();
+		try (Store store = new Store(folder.newFolder()))
+		{
+			Index maps = store.addIndex(IndexType.MAPS.getNumber());
+			addArchive(maps, 0, "m50_50", 1);
+			Archive neighbour = addArchive(maps, 1, "m51_50", 2);
+			Archive far = addArchive(maps, 2, "m52_50", 3);
+
+			Region region = new Region((50 << 8) | 50);
+			BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+
+			RegionTileCache cache = new RegionTileCache(tiles, store, 1L);
+			long inputs = cache.regionInputs(region, 1, true);
+			assertNull(cache.getTile(region.getRegionID(), inputs));
+			cache.putTile(region.getRegionID(), inputs, image);
+			assertEquals(42, cache.setting("color", 42));
+			cache.save();
+
+			cache = new RegionTileCache(tiles, store, 1L);
+			assertEquals(inputs, cache.regionInputs(region, 1, true));
+			assertNotNull(cache.getTile(region.getRegionID(), inputs));
+			assertEquals(42, cache.setting("color", 7));
+
+			// archives outside of the radius don't affect the tile
+			far.setCrc(4);
+			cache = new RegionTileCache(tiles, store, 1L);
+			assertEquals(inputs, cache.regionInputs(region, 1, true));
+
+			long own = cache.regionInputs(region, 0, true);
+			neighbour.setCrc(5);
+			cache = new RegionTileCache(tiles, store, 1L);
+			long changed = cache.regionInputs(region, 1, true);
+			assertNotEquals(inputs, changed);
+			assertNull(cache.getTile(region.getRegionID(), changed));
+			assertEquals(own, cache.regionInputs(region, 0, true));
+
+			// changing the shared inputs invalidates every tile
+			cache = new RegionTileCache(tiles, store, 2L);
+			assertNull(cache.getTile(region.getRegionID(), changed));
+			assertEquals(7, cache.setting("color", 7));
+
+			cache = new RegionTileCache(tiles, store, 1L);
+			cache.retain(Collections.emptySet());
+			assertFalse(new File(tiles, region.getRegionID() + ".png").exists());
+		}
+	}
+}
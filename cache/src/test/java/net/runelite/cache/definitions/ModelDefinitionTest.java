@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions;
+
+import net.runelite.cache.models.FaceNormal;
+import net.runelite.cache.models.VertexNormal;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class ModelDefinitionTest
+{
+	/**
+	 * A square in the z = 0 plane, made of two triangles
+	 */
+	private static ModelDefinition square()
+	{
+		ModelDefinition def = new ModelDefinition();
+		def.vertexCount = 4;
+		def.vertexPositionsX = new int[]{0, 100, 0, 100};
+		def.vertexPositionsY = new int[]{0, 0, 100, 100};
+		def.vertexPositionsZ = new int[]{0, 0, 0, 0};
+		def.faceCount = 2;
+		def.faceVertexIndices1 = new int[]{0, 1};
+		def.faceVertexIndices2 = new int[]{1, 3};
+		def.faceVertexIndices3 = new int[]{2, 2};
+		return def;
+	}
+
+	@Test
+	public void testVertexNormals()
+	{
+		ModelDefinition def = square();
+		def.computeNormals();
+
+		assertArrayEquals(new int[]{0, 0, 0, 0}, def.vertexNormalsX);
+		assertArrayEquals(new int[]{0, 0, 0, 0}, def.vertexNormalsY);
+		assertArrayEquals(new int[]{256, 512, 512, 256}, def.vertexNormalsZ);
+		assertArrayEquals(new int[]{1, 2, 2, 1}, def.vertexNormalsMagnitude);
+		assertNull(def.faceNormalsX);
+		assertNull(def.getFaceNormals());
+
+		VertexNormal[] normals = def.getVertexNormals();
+		assertEquals(4, normals.length);
+		assertEquals(512, normals[1].z);
+		assertEquals(2, normals[1].magnitude);
+	}
+
+	@Test
+	public void testFaceNormals()
+	{
+		ModelDefinition def = square();
+		def.faceRenderTypes = new byte[]{0, 1};
+		def.computeNormals();
+
+		assertArrayEquals(new int[]{256, 256, 256, 0}, def.vertexNormalsZ);
+		assertArrayEquals(new int[]{1, 1, 1, 0}, def.vertexNormalsMagnitude);
+		assertArrayEquals(new int[]{0, 256}, def.faceNormalsZ);
+
+		FaceNormal[] normals = def.getFaceNormals();
+		assertNull(normals[0]);
+		assertEquals(256, normals[1].z);
+
+		def.move(1, 1, 1);
+		assertNull(def.vertexNormalsX);
+		assertNull(def.faceNormalsX);
+	}
+
+	@Test
+	public void testTextureCoordinates()
+	{
+		ModelDefinition def = square();
+		def.faceTextures = new short[]{1, 2};
+		def.computeTextureUVCoordinates();
+
+		assertArrayEquals(new float[]{0, 1, 0, 0, 1, 0}, def.faceTextureU, 0f);
+		assertArrayEquals(new float[]{1, 1, 0, 1, 1, 0}, def.faceTextureV, 0f);
+
+		float[][] u = def.getFaceTextureUCoordinates();
+		assertArrayEquals(new float[]{0, 1, 0}, u[1], 0f);
+		float[][] v = def.getFaceTextureVCoordinates();
+		assertArrayEquals(new float[]{1, 1, 0}, v[0], 0f);
+
+		def = square();
+		def.faceTextures = new short[]{-1, 2};
+		def.computeTextureUVCoordinates();
+
+		u = def.getFaceTextureUCoordinates();
+		assertNull(u[0]);
+		assertArrayEquals(new float[]{0, 1, 0}, u[1], 0f);
+		v = def.getFaceTextureVCoordinates();
+		assertNull(v[0]);
+		assertArrayEquals(new float[]{1, 1, 0}, v[1], 0f);
+	}
+}
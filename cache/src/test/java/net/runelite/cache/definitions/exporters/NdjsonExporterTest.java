@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.exporters;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.cache.definitions.ItemDefinition;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class NdjsonExporterTest
+{
+	@Test
+	public void testExport() throws IOException
+	{
+		List<ItemDefinition> items = new ArrayList<>();
+		for (int i = 0; i < 2500; ++i)
+		{
+			ItemDefinition item = new ItemDefinition(i);
+			item.name = "Item\n" + i;
+			items.add(item);
+		}
+
+		StringWriter writer = new StringWriter();
+		new NdjsonExporter().export(items, writer);
+
+		String[] lines = writer.toString().split("\n", -1);
+		assertEquals(items.size() + 1, lines.length);
+		assertEquals("", lines[items.size()]);
+
+		Gson gson = new Gson();
+		for (int i = 0; i < items.size(); ++i)
+		{
+			ItemDefinition item = gson.fromJson(lines[i], ItemDefinition.class);
+			assertEquals(i, item.id);
+			assertEquals("Item\n" + i, item.name);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.diff;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.savers.ItemSaver;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoreDiffTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	private static void addArchive(Store store, Index index, int archiveId, int[] fileIds, byte[][] contents) throws IOException
+	{
+		Archive archive = index.addArchive(archiveId);
+		FileData[] fileData = new FileData[fileIds.length];
+		ArchiveFiles files = new ArchiveFiles();
+		for (int i = 0; i < fileIds.length; ++i)
+		{
+			fileData[i] = new FileData();
+			fileData[i].setId(fileIds[i]);
+
+			FSFile file = new FSFile(fileIds[i]);
+			file.setContents(contents[i]);
+			files.addFile(file);
+		}
+		archive.setFileData(fileData);
+
+		Container container = new Container(archive.getCompression(), -1);
+		container.compress(files.saveContents(), null);
+		store.getStorage().saveArchive(archive, container.data);
+	}
+
+	private static byte[] item(int id, String name, int cost)
+	{
+		ItemDefinition item = new ItemDefinition(id);
+		item.name = name;
+		item.cost = cost;
+		return new ItemSaver().save(item);
+	}
+
+	@Test
+	public void testDiff() throws IOException
+	{
+		try (Store from = new Store(folder.newFolder());
+			Store to = new Store(folder.newFolder()))
+		{
+			Index fromBinary = from.addIndex(IndexType.FRAMES.getNumber());
+			addArchive(from, fromBinary, 0, new int[]{0}, new byte[][]{{1, 2, 3}});
+			addArchive(from, fromBinary, 1, new int[]{0}, new byte[][]{{4, 5, 6}});
+			Index fromConfigs = from.addIndex(IndexType.CONFIGS.getNumber());
+			addArchive(from, fromConfigs, ConfigType.ITEM.getId(), new int[]{1, 2}, new byte[][]{
+				item(1, "Foo", 5),
+				item(2, "Bar", 1),
+			});
+
+			Index toBinary = to.addIndex(IndexType.FRAMES.getNumber());
+			addArchive(to, toBinary, 0, new int[]{0}, new byte[][]{{1, 2, 3}});
+			addArchive(to, toBinary, 2, new int[]{0}, new byte[][]{{7, 8, 9}});
+			Index toConfigs = to.addIndex(IndexType.CONFIGS.getNumber());
+			addArchive(to, toConfigs, ConfigType.ITEM.getId(), new int[]{1, 2, 3}, new byte[][]{
+				item(1, "Foo", 10),
+				item(2, "Bar", 1),
+				item(3, "Baz", 1),
+			});
+
+			List<ArchiveDiff> diffs = new StoreDiff(from, to).diff();
+
+			assertEquals(Arrays.asList(
+				new ArchiveDiff(IndexType.FRAMES.getNumber(), 1, DiffType.REMOVED, Collections.emptyList()),
+				new ArchiveDiff(IndexType.FRAMES.getNumber(), 2, DiffType.ADDED, Collections.emptyList()),
+				new ArchiveDiff(IndexType.CONFIGS.getNumber(), ConfigType.ITEM.getId(), DiffType.CHANGED, Arrays.asList(
+					new FileDiff(1, DiffType.CHANGED, Collections.singletonList("cost")),
+					new FileDiff(3, DiffType.ADDED, Collections.emptyList())
+				))
+			), diffs);
+		}
+	}
+}
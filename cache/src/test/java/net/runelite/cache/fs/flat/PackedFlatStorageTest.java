@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.File;
+import java.nio.file.Files;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.util.Crc32;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PackedFlatStorageTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testConvert() throws Exception
+	{
+		File text = folder.newFolder();
+		File packed = folder.newFolder();
+		File text2 = folder.newFolder();
+
+		FlatStorage flatStorage = new FlatStorage(text);
+		try (Store store = new Store(flatStorage))
+		{
+			Index index = store.addIndex(2);
+			index.setRevision(7);
+			index.setNamed(false);
+
+			for (int i = 0; i < 3; ++i)
+			{
+				Archive archive = index.addArchive(10 - i);
+				archive.setNameHash(i * 31);
+				archive.setHash(new byte[]{(byte) i, 1, 2});
+
+				FileData[] fileData = new FileData[i + 1];
+				for (int j = 0; j < fileData.length; ++j)
+				{
+					fileData[j] = new FileData();
+					fileData[j].setId(j);
+					fileData[j].setNameHash(j * 7);
+				}
+				archive.setFileData(fileData);
+
+				Container container = new Container(archive.getCompression(), -1);
+				container.compress(("archive " + i).getBytes(), null);
+				flatStorage.saveArchive(archive, container.data);
+
+				Crc32 crc = new Crc32();
+				crc.update(container.data, 0, container.data.length);
+				archive.setCrc(crc.getHash());
+			}
+
+			// an archive without contents
+			index.addArchive(20).setFileData(new FileData[0]);
+
+			store.save();
+		}
+
+		PackedFlatStorage.convert(new FlatStorage(text), new PackedFlatStorage(packed));
+		assertNotNull(packed.list((dir, name) -> name.endsWith(PackedFlatStorage.EXTENSION)));
+
+		PackedFlatStorage packedStorage = new PackedFlatStorage(packed);
+		try (Store store = new Store(packedStorage))
+		{
+			store.load();
+			Index index = store.findIndex(2);
+			assertEquals(7, index.getRevision());
+			assertFalse(index.isNamed());
+			assertEquals(4, index.getArchives().size());
+
+			for (int i = 0; i < 3; ++i)
+			{
+				Archive archive = index.getArchive(10 - i);
+				assertEquals(i * 31, archive.getNameHash());
+				assertArrayEquals(new byte[]{(byte) i, 1, 2}, archive.getHash());
+				assertEquals(i + 1, archive.getFileData().length);
+				assertEquals(i * 7, archive.getFileData()[i].getNameHash());
+
+				byte[] contents = archive.decompress(packedStorage.loadArchive(archive));
+				assertArrayEquals(("archive " + i).getBytes(), contents);
+			}
+
+			assertNull(packedStorage.loadArchive(index.getArchive(20)));
+		}
+
+		PackedFlatStorage.convert(new PackedFlatStorage(packed), new FlatStorage(text2));
+		assertArrayEquals(Files.readAllBytes(new File(text, "2" + FlatStorage.EXTENSION).toPath()),
+			Files.readAllBytes(new File(text2, "2" + FlatStorage.EXTENSION).toPath()));
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ItemSpriteRendererTest
+{
+	private static final int MISSING_ITEM = 99;
+
+	private final ItemProvider itemProvider = itemId ->
+	{
+		ItemDefinition item = new ItemDefinition(itemId);
+		item.inventoryModel = itemId == MISSING_ITEM ? -1 : itemId;
+		item.xan2d = itemId * 100 % 2048;
+		item.yan2d = itemId * 300 % 2048;
+		return item;
+	};
+
+	// a tetrahedron, with a color per model id
+	private final ModelProvider modelProvider = modelId ->
+	{
+		if (modelId < 0)
+		{
+			return null;
+		}
+
+		ModelDefinition model = new ModelDefinition();
+		model.id = modelId;
+		model.vertexCount = 4;
+		model.vertexPositionsX = new int[]{-100, 100, 0, 0};
+		model.vertexPositionsY = new int[]{0, 0, 0, -150};
+		model.vertexPositionsZ = new int[]{-100, -100, 100, 0};
+		model.faceCount = 4;
+		model.faceVertexIndices1 = new int[]{0, 0, 1, 2};
+		model.faceVertexIndices2 = new int[]{1, 3, 3, 3};
+		model.faceVertexIndices3 = new int[]{2, 1, 2, 0};
+		short color = (short) (modelId * 4000 + 100);
+		model.faceColors = new short[]{color, color, color, color};
+		return model;
+	};
+
+	@Test
+	public void testCreateSprite() throws Exception
+	{
+		ItemSpriteRenderer renderer = new ItemSpriteRenderer(itemProvider, modelProvider, textureProvider());
+
+		BufferedImage sprite = renderer.createSprite(1, 1, 1, 0x3153, false);
+		assertNotNull(sprite);
+		assertEquals(36, sprite.getWidth());
+		assertEquals(32, sprite.getHeight());
+
+		int drawn = 0;
+		for (int pixel : sprite.getRGB(0, 0, 36, 32, null, 0, 36))
+		{
+			if (pixel != 0)
+			{
+				++drawn;
+			}
+		}
+		assertTrue(drawn > 0);
+
+		// rendering again with the same renderer gives the same sprite
+		assertArrayEquals(pixels(sprite), pixels(renderer.createSprite(1, 1, 1, 0x3153, false)));
+
+		assertNull(renderer.createSprite(MISSING_ITEM, 1, 0, 0, false));
+	}
+
+	@Test
+	public void testNotedItem() throws Exception
+	{
+		ItemDefinition template = itemProvider.provide(2);
+		ItemDefinition unnoted = itemProvider.provide(3);
+		ItemDefinition noted = itemProvider.provide(4);
+		noted.notedTemplate = template.id;
+		noted.notedID = unnoted.id;
+		ItemProvider sharedProvider = itemId -> itemId == noted.id ? noted : itemId == template.id ? template : unnoted;
+
+		ItemSpriteRenderer renderer = new ItemSpriteRenderer(sharedProvider, modelProvider, textureProvider());
+		assertNotNull(renderer.createSprite(noted.id, 1, 1, 0x3153, false));
+
+		// the shared definition is not changed by applying the note template
+		assertEquals(4, noted.inventoryModel);
+		assertEquals(400, noted.xan2d);
+		assertEquals(0, noted.stackable);
+	}
+
+	@Test
+	public void testCreateSprites() throws Exception
+	{
+		List<ItemSpriteRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 40; ++i)
+		{
+			requests.add(new ItemSpriteRequest(i % 8, 1, i % 3, i % 2 == 0 ? 0 : 0x3153, false));
+		}
+		requests.add(new ItemSpriteRequest(MISSING_ITEM, 1, 0, 0, false));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<BufferedImage> sprites = ItemSpriteFactory.createSprites(itemProvider, modelProvider, (spriteId, frameId) -> null,
+				ItemSpriteRendererTest::textures, requests, executor, 4);
+
+			assertEquals(requests.size(), sprites.size());
+			for (int i = 0; i < requests.size(); ++i)
+			{
+				ItemSpriteRequest request = requests.get(i);
+				BufferedImage expected = ItemSpriteFactory.createSprite(itemProvider, modelProvider, (spriteId, frameId) -> null,
+					ItemSpriteRendererTest::textures, request.getItemId(), request.getQuantity(), request.getBorder(),
+					request.getShadowColor(), request.isNoted());
+
+				if (expected == null)
+				{
+					assertNull(sprites.get(i));
+				}
+				else
+				{
+					assertArrayEquals(pixels(expected), pixels(sprites.get(i)));
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	private static RSTextureProvider textureProvider()
+	{
+		return new RSTextureProvider(ItemSpriteRendererTest::textures, (spriteId, frameId) -> null);
+	}
+
+	private static TextureDefinition[] textures()
+	{
+		return new TextureDefinition[0];
+	}
+
+	private static int[] pixels(BufferedImage image)
+	{
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.util.List;
+import net.runelite.cache.definitions.LocationsDefinition;
+import net.runelite.cache.definitions.MapDefinition;
+import net.runelite.cache.definitions.MapDefinition.Tile;
+import net.runelite.cache.definitions.loaders.LocationsLoader;
+import net.runelite.cache.definitions.savers.LocationSaver;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class RegionTest
+{
+	@Test
+	public void testLoadTerrain()
+	{
+		MapDefinition map = new MapDefinition();
+		Tile[][][] tiles = map.getTiles();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					Tile tile = tiles[z][x][y] = new Tile();
+					tile.height = 255;
+					tile.overlayId = (byte) (x + y);
+					tile.overlayPath = (byte) (y % 12);
+					tile.overlayRotation = (byte) (x & 3);
+					tile.underlayId = (byte) 200;
+					tile.settings = (byte) z;
+				}
+			}
+		}
+
+		Region region = new Region(50, 50);
+		region.loadTerrain(map);
+
+		assertEquals(-255 * 8, region.getTileHeight(0, 10, 20));
+		assertEquals(-255 * 8 * 4, region.getTileHeight(3, 63, 63));
+		assertEquals(30, region.getOverlayId(1, 10, 20));
+		assertEquals(8, region.getOverlayPath(2, 10, 20));
+		assertEquals(11, region.getOverlayPath(2, 10, 11));
+		assertEquals(2, region.getOverlayRotation(2, 10, 20));
+		assertEquals(200, region.getUnderlayId(3, 5, 5));
+		assertEquals(3, region.getTileSetting(3, 5, 5));
+	}
+
+	@Test
+	public void testLocations()
+	{
+		LocationsDefinition locs = new LocationsDefinition();
+		List<Location> locations = locs.getLocations();
+		locations.add(new Location(42, 10, 1, new Position(5, 6, 0)));
+		locations.add(new Location(7, 0, 3, new Position(63, 0, 1)));
+		locations.add(new Location(42, 22, 2, new Position(8, 63, 3)));
+		locations.add(new Location(100, 4, 0, new Position(0, 0, 2)));
+		byte[] data = new LocationSaver().save(locs);
+
+		Region region = new Region(50, 50);
+		new LocationsLoader().load(data, region::addLocation);
+
+		assertEquals(4, region.getLocationCount());
+		assertEquals(7, region.getLocationId(0));
+		assertEquals(63, region.getLocationLocalX(0));
+		assertEquals(1, region.getLocationZ(0));
+		assertEquals(3, region.getLocationOrientation(0));
+
+		int idx = region.findLocation(42);
+		assertEquals(1, idx);
+		assertEquals(10, region.getLocationType(idx));
+		assertEquals(42, region.getLocationId(idx + 1));
+		assertEquals(22, region.getLocationType(idx + 1));
+		assertEquals(63, region.getLocationLocalY(idx + 1));
+		assertEquals(3, region.getLocationZ(idx + 1));
+		assertEquals(-1, region.findLocation(8));
+
+		Location location = region.getLocations().get(3);
+		assertEquals(new Location(100, 4, 0, new Position(50 * 64, 50 * 64, 2)), location);
+
+		// loading from a definition gives the same table
+		Region region2 = new Region(50, 50);
+		region2.loadLocations(new LocationsLoader().load(50, 50, data));
+		assertEquals(region.getLocations(), region2.getLocations());
+	}
+}
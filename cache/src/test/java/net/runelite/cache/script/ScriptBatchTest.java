@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.script;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.definitions.ScriptDefinition;
+import net.runelite.cache.script.disassembler.Disassembler;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScriptBatchTest
+{
+	private static final String[] SCRIPTS = {
+		"91.rs2asm",
+		"681.rs2asm",
+		"Unicode.rs2asm"
+	};
+
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	private Instructions instructions;
+	private File scripts;
+	private File manifest;
+
+	@Before
+	public void before() throws Exception
+	{
+		instructions = new Instructions();
+		instructions.init();
+
+		scripts = folder.newFolder();
+		manifest = new File(folder.getRoot(), "manifest.json");
+
+		for (String script : SCRIPTS)
+		{
+			try (InputStream in = ScriptBatchTest.class.getResourceAsStream("assembler/" + script))
+			{
+				assertNotNull(in);
+				Files.copy(in, new File(scripts, script).toPath());
+			}
+		}
+	}
+
+	@Test
+	public void testAssemble() throws Exception
+	{
+		ScriptBatch batch = new ScriptBatch(instructions);
+		Output output = new Output();
+
+		int count = batch.assemble(scripts, manifest, output);
+		assertEquals(SCRIPTS.length, count);
+		assertTrue(manifest.exists());
+
+		Disassembler disassembler = new Disassembler(instructions);
+		for (String script : SCRIPTS)
+		{
+			String original = new String(Files.readAllBytes(new File(scripts, script).toPath())).replaceAll("\r\n", "\n");
+			assertEquals(original, disassembler.disassemble(output.assembled.get(script)));
+		}
+
+		// nothing changed
+		count = batch.assemble(scripts, manifest, output);
+		assertEquals(0, count);
+
+		// changing the hash file of a script reassembles it
+		Files.write(new File(scripts, "91.hash").toPath(), "abc".getBytes(StandardCharsets.UTF_8));
+		output.assembled.clear();
+		count = batch.assemble(scripts, manifest, output);
+		assertEquals(1, count);
+		assertTrue(output.assembled.containsKey("91.rs2asm"));
+
+		// losing the output reassembles everything, even though the manifest is unchanged
+		output.assembled.clear();
+		output.ids.clear();
+		count = batch.assemble(scripts, manifest, output);
+		assertEquals(SCRIPTS.length, count);
+	}
+
+	private static class Output implements ScriptBatch.AssembleCallback
+	{
+		private final Map<String, ScriptDefinition> assembled = new ConcurrentHashMap<>();
+		private final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void accept(File source, ScriptDefinition script)
+		{
+			assembled.put(source.getName(), script);
+			ids.add(script.getId());
+		}
+
+		@Override
+		public boolean isAssembled(int scriptId)
+		{
+			return ids.contains(scriptId);
+		}
+	}
+}
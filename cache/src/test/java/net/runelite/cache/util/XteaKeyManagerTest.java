@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import net.runelite.http.api.xtea.XteaKey;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class XteaKeyManagerTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static XteaKey key(int region, int... keys)
+	{
+		XteaKey key = new XteaKey();
+		key.setRegion(region);
+		key.setKeys(keys);
+		return key;
+	}
+
+	private static XteaKey serviceKey(int revision, int region, int... keys)
+	{
+		XteaKey key = key(region, keys);
+		key.setRevision(revision);
+		return key;
+	}
+
+	@Test
+	public void testMerge()
+	{
+		XteaKeyManager keyManager = new XteaKeyManager();
+		assertTrue(keyManager.merge(Arrays.asList(key(12850, 1, 2, 3, 4), key(10000, 5, 6, 7, 8))));
+		assertFalse(keyManager.merge(Arrays.asList(key(12850, 1, 2, 3, 4))));
+		assertTrue(keyManager.merge(Arrays.asList(key(12850, 9, 9, 9, 9))));
+
+		assertArrayEquals(new int[]{9, 9, 9, 9}, keyManager.getKeys(12850));
+		assertArrayEquals(new int[]{5, 6, 7, 8}, keyManager.getKeys(10000));
+		assertNull(keyManager.getKeys(10001));
+	}
+
+	@Test
+	public void testRefresh()
+	{
+		XteaKeyManager keyManager = new XteaKeyManager();
+		assertFalse(keyManager.refresh(Arrays.asList(serviceKey(189, 12850, 1, 2, 3, 4), serviceKey(190, 10000, 5, 6, 7, 8)), 189));
+		assertNull(keyManager.getKeys(12850));
+
+		assertTrue(keyManager.refresh(Arrays.asList(serviceKey(189, 12850, 1, 2, 3, 4), serviceKey(190, 10000, 5, 6, 7, 8)), 190));
+		assertArrayEquals(new int[]{1, 2, 3, 4}, keyManager.getKeys(12850));
+	}
+
+	@Test
+	public void testSnapshot() throws IOException
+	{
+		File snapshot = new File(folder.getRoot(), "xtea.dat");
+
+		XteaKeyManager keyManager = new XteaKeyManager();
+		assertFalse(keyManager.loadSnapshot(snapshot, 190));
+
+		keyManager.merge(Arrays.asList(key(12850, 1, 2, 3, 4), key(10000, 5, 6, 7, 8)));
+		keyManager.saveSnapshot(snapshot, 190);
+
+		XteaKeyManager loaded = new XteaKeyManager();
+		assertFalse(loaded.loadSnapshot(snapshot, 191));
+		assertNull(loaded.getKeys(12850));
+
+		assertTrue(loaded.loadSnapshot(snapshot, 190));
+		assertArrayEquals(new int[]{1, 2, 3, 4}, loaded.getKeys(12850));
+		assertArrayEquals(new int[]{5, 6, 7, 8}, loaded.getKeys(10000));
+
+		loaded = new XteaKeyManager();
+		loaded.loadKeys(snapshot, 190, false);
+		assertArrayEquals(new int[]{1, 2, 3, 4}, loaded.getKeys(12850));
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedSnapshot() throws IOException
+	{
+		File snapshot = new File(folder.getRoot(), "xtea.dat");
+
+		XteaKeyManager keyManager = new XteaKeyManager();
+		keyManager.merge(Arrays.asList(key(12850, 1, 2, 3, 4)));
+		keyManager.saveSnapshot(snapshot, 190);
+
+		byte[] data = Files.readAllBytes(snapshot.toPath());
+		Files.write(snapshot.toPath(), Arrays.copyOf(data, data.length - 4));
+
+		new XteaKeyManager().loadSnapshot(snapshot, 190);
+	}
+}
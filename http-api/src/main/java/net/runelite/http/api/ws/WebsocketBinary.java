@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.api.ws;
+
+import java.util.UUID;
+import okio.Buffer;
+
+/**
+ * Primitives of the binary websocket protocol. A binary frame is the varint id of the
+ * message's {@link WebsocketMessageCodec} followed by the encoded message.
+ */
+public class WebsocketBinary
+{
+	/**
+	 * Version of the binary protocol advertised in the handshake
+	 */
+	public static final int PROTOCOL_VERSION = 1;
+
+	public static void writeVarInt(Buffer buffer, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			buffer.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer.writeByte(value);
+	}
+
+	public static int readVarInt(Buffer buffer)
+	{
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			final int b = buffer.readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IllegalStateException("varint is too long");
+	}
+
+	/**
+	 * Write a varint which is also short for small negative values
+	 */
+	public static void writeSignedVarInt(Buffer buffer, int value)
+	{
+		writeVarInt(buffer, (value << 1) ^ (value >> 31));
+	}
+
+	public static int readSignedVarInt(Buffer buffer)
+	{
+		final int value = readVarInt(buffer);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	public static void writeUuid(Buffer buffer, UUID uuid)
+	{
+		buffer.writeLong(uuid.getMostSignificantBits());
+		buffer.writeLong(uuid.getLeastSignificantBits());
+	}
+
+	public static UUID readUuid(Buffer buffer)
+	{
+		final long msb = buffer.readLong();
+		final long lsb = buffer.readLong();
+		return new UUID(msb, lsb);
+	}
+}
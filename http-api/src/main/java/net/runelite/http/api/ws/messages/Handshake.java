@@ -30,6 +30,10 @@ import net.runelite.http.api.ws.WebsocketMessage;
 public class Handshake extends WebsocketMessage
 {
 	private UUID session;
+	/**
+	 * the highest binary protocol version supported by the client
+	 */
+	private int protocol;
 
 	public UUID getSession()
 	{
@@ -40,4 +44,14 @@ public class Handshake extends WebsocketMessage
 	{
 		this.session = session;
 	}
+
+	public int getProtocol()
+	{
+		return protocol;
+	}
+
+	public void setProtocol(int protocol)
+	{
+		this.protocol = protocol;
+	}
 }
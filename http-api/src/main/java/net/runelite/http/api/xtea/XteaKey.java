@@ -28,6 +28,10 @@ public class XteaKey
 {
 	private int region;
 	private int keys[];
+	/**
+	 * cache revision the key was last submitted for, set by the xtea service
+	 */
+	private int revision;
 
 	public int getRegion()
 	{
@@ -48,4 +52,14 @@ public class XteaKey
 	{
 		this.keys = keys;
 	}
+
+	public int getRevision()
+	{
+		return revision;
+	}
+
+	public void setRevision(int revision)
+	{
+		this.revision = revision;
+	}
 }
@@ -81,6 +81,7 @@ public class XteaController
 			xe.getKey3(),
 			xe.getKey4()
 		});
+		xteaKey.setRevision(xe.getRev());
 		return xteaKey;
 	}
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import static net.runelite.api.Perspective.LOCAL_COORD_BITS;
+import static net.runelite.api.Perspective.LOCAL_TILE_SIZE;
+import static net.runelite.api.Perspective.SCENE_SIZE;
+
+/**
+ * The camera and scene heights of the client at one point in time. Projecting with a snapshot
+ * reads the camera from the client once instead of once per point, and the batch methods
+ * project arrays of local coordinates into caller provided arrays without allocating. The math is
+ * shared with the single point methods of {@link Perspective}.
+ * <p>
+ * A snapshot should be taken at most once per frame, the camera can move between frames.
+ */
+public class CameraSnapshot
+{
+	/**
+	 * Canvas coordinate of points which could not be projected
+	 */
+	public static final int OFFSCREEN = Integer.MIN_VALUE;
+
+	private final int cameraX;
+	private final int cameraY;
+	private final int cameraZ;
+	private final int cameraPitch;
+	private final int cameraYaw;
+	private final int scale;
+	private final int viewportXMiddle;
+	private final int viewportYMiddle;
+	private final int viewportXOffset;
+	private final int viewportYOffset;
+	private final int plane;
+	private final int[][][] tileHeights;
+	private final byte[][][] tileSettings;
+
+	public CameraSnapshot(@Nonnull Client client)
+	{
+		cameraX = client.getCameraX();
+		cameraY = client.getCameraY();
+		cameraZ = client.getCameraZ();
+		cameraPitch = client.getCameraPitch();
+		cameraYaw = client.getCameraYaw();
+		scale = client.getScale();
+		viewportXMiddle = client.getViewportWidth() / 2;
+		viewportYMiddle = client.getViewportHeight() / 2;
+		viewportXOffset = client.getViewportXOffset();
+		viewportYOffset = client.getViewportYOffset();
+		plane = client.getPlane();
+		tileHeights = client.getTileHeights();
+		tileSettings = client.getTileSettings();
+	}
+
+	/**
+	 * Get the plane the client was on when the snapshot was taken
+	 */
+	public int getPlane()
+	{
+		return plane;
+	}
+
+	/**
+	 * Get the plane which holds the heights of a tile, which is the plane above it if the
+	 * tile is under a bridge.
+	 *
+	 * @param sceneX scene x of the tile
+	 * @param sceneY scene y of the tile
+	 * @param plane the plane of the tile
+	 * @return the plane to read heights from
+	 */
+	public int getTilePlane(int sceneX, int sceneY, int plane)
+	{
+		return Perspective.getTilePlane(tileSettings, sceneX, sceneY, plane);
+	}
+
+	/**
+	 * Get the height of a location, in local coordinates. Interpolates the height from the adjacent tiles.
+	 * Does not account for bridges.
+	 *
+	 * @return the height, or 0 if the location is outside of the scene
+	 */
+	public int getHeight(int localX, int localY, int plane)
+	{
+		return Perspective.getHeight(tileHeights, localX, localY, plane);
+	}
+
+	/**
+	 * Get the height of a location, in local coordinates, accounting for bridges.
+	 *
+	 * @see Perspective#getTileHeight(Client, net.runelite.api.coords.LocalPoint, int)
+	 */
+	public int getTileHeight(int localX, int localY, int plane)
+	{
+		final int sceneX = localX >> LOCAL_COORD_BITS;
+		final int sceneY = localY >> LOCAL_COORD_BITS;
+		if (sceneX < 0 || sceneY < 0 || sceneX >= SCENE_SIZE || sceneY >= SCENE_SIZE)
+		{
+			return 0;
+		}
+
+		return getHeight(localX, localY, getTilePlane(sceneX, sceneY, plane));
+	}
+
+	/**
+	 * Get the heights of many locations, accounting for bridges
+	 *
+	 * @param count number of locations
+	 * @param localX local x of each location
+	 * @param localY local y of each location
+	 * @param plane plane of the locations
+	 * @param heights output heights
+	 */
+	public void getTileHeights(int count, int[] localX, int[] localY, int plane, int[] heights)
+	{
+		for (int i = 0; i < count; ++i)
+		{
+			heights[i] = getTileHeight(localX[i], localY[i], plane);
+		}
+	}
+
+	/**
+	 * Translates three-dimensional local coordinates to canvas coordinates.
+	 *
+	 * @return the canvas point, or null if the location is outside of the scene or behind the camera
+	 * @see Perspective#localToCanvas(Client, int, int, int)
+	 */
+	@Nullable
+	public Point localToCanvas(int x, int y, int z)
+	{
+		final long canvas = project(x, y, z);
+		if (canvas == Long.MIN_VALUE)
+		{
+			return null;
+		}
+		return new Point((int) (canvas >> 32), (int) canvas);
+	}
+
+	/**
+	 * Translates many three-dimensional local coordinates to canvas coordinates.
+	 * Locations outside of the scene or behind the camera are set to {@link #OFFSCREEN}.
+	 *
+	 * @param count number of locations
+	 * @param x local x of each location
+	 * @param y local y of each location
+	 * @param z height of each location
+	 * @param canvasX output canvas x
+	 * @param canvasY output canvas y
+	 * @return the number of locations which were projected
+	 */
+	public int localToCanvas(int count, int[] x, int[] y, int[] z, int[] canvasX, int[] canvasY)
+	{
+		int projected = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			final long canvas = project(x[i], y[i], z[i]);
+			if (canvas == Long.MIN_VALUE)
+			{
+				canvasX[i] = OFFSCREEN;
+				canvasY[i] = OFFSCREEN;
+			}
+			else
+			{
+				canvasX[i] = (int) (canvas >> 32);
+				canvasY[i] = (int) canvas;
+				++projected;
+			}
+		}
+		return projected;
+	}
+
+	/**
+	 * Translates many ground locations to canvas coordinates. Locations outside of the scene
+	 * or behind the camera are set to {@link #OFFSCREEN}.
+	 *
+	 * @param count number of locations
+	 * @param x local x of each location
+	 * @param y local y of each location
+	 * @param plane plane of the locations
+	 * @param zOffset distance from the ground
+	 * @param canvasX output canvas x
+	 * @param canvasY output canvas y
+	 * @return the number of locations which were projected
+	 * @see Perspective#localToCanvas(Client, net.runelite.api.coords.LocalPoint, int, int)
+	 */
+	public int groundToCanvas(int count, int[] x, int[] y, int plane, int zOffset, int[] canvasX, int[] canvasY)
+	{
+		int projected = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			final long canvas = project(x[i], y[i], getTileHeight(x[i], y[i], plane) - zOffset);
+			if (canvas == Long.MIN_VALUE)
+			{
+				canvasX[i] = OFFSCREEN;
+				canvasY[i] = OFFSCREEN;
+			}
+			else
+			{
+				canvasX[i] = (int) (canvas >> 32);
+				canvasY[i] = (int) canvas;
+				++projected;
+			}
+		}
+		return projected;
+	}
+
+	/**
+	 * Translates the corners of many square tile areas on the snapshot plane to canvas coordinates.
+	 * Each area has four corners in the output arrays, south-west, south-east, north-east and then
+	 * north-west. If any corner of an area can't be projected all four are set to {@link #OFFSCREEN}.
+	 *
+	 * @param count number of areas
+	 * @param localX local x of the center of each area
+	 * @param localY local y of the center of each area
+	 * @param size the size of the areas, in tiles
+	 * @param canvasX output canvas x, of at least 4 * count
+	 * @param canvasY output canvas y, of at least 4 * count
+	 * @return the number of areas which were projected
+	 * @see Perspective#getCanvasTileAreaPoly(Client, net.runelite.api.coords.LocalPoint, int)
+	 */
+	public int tileAreasToCanvas(int count, int[] localX, int[] localY, int size, int[] canvasX, int[] canvasY)
+	{
+		final int half = size * LOCAL_TILE_SIZE / 2;
+		int projected = 0;
+		for (int i = 0, j = 0; i < count; ++i, j += 4)
+		{
+			final int x = localX[i];
+			final int y = localY[i];
+			final int sceneX = x >> LOCAL_COORD_BITS;
+			final int sceneY = y >> LOCAL_COORD_BITS;
+
+			final long sw, se, ne, nw;
+			if (sceneX < 0 || sceneY < 0 || sceneX >= SCENE_SIZE || sceneY >= SCENE_SIZE
+				|| (sw = projectGround(x - half, y - half, sceneX, sceneY)) == Long.MIN_VALUE
+				|| (se = projectGround(x + half, y - half, sceneX, sceneY)) == Long.MIN_VALUE
+				|| (ne = projectGround(x + half, y + half, sceneX, sceneY)) == Long.MIN_VALUE
+				|| (nw = projectGround(x - half, y + half, sceneX, sceneY)) == Long.MIN_VALUE)
+			{
+				for (int k = j; k < j + 4; ++k)
+				{
+					canvasX[k] = OFFSCREEN;
+					canvasY[k] = OFFSCREEN;
+				}
+				continue;
+			}
+
+			canvasX[j] = (int) (sw >> 32);
+			canvasY[j] = (int) sw;
+			canvasX[j + 1] = (int) (se >> 32);
+			canvasY[j + 1] = (int) se;
+			canvasX[j + 2] = (int) (ne >> 32);
+			canvasY[j + 2] = (int) ne;
+			canvasX[j + 3] = (int) (nw >> 32);
+			canvasY[j + 3] = (int) nw;
+			++projected;
+		}
+		return projected;
+	}
+
+	/**
+	 * Project a corner of the tile at sceneX, sceneY on the snapshot plane
+	 */
+	private long projectGround(int x, int y, int sceneX, int sceneY)
+	{
+		return project(x, y, getHeight(x, y, getTilePlane(sceneX, sceneY, plane)));
+	}
+
+	/**
+	 * Project a location
+	 *
+	 * @return the canvas x in the high bits and the canvas y in the low bits, or Long.MIN_VALUE
+	 * if the location can't be projected
+	 */
+	private long project(int x, int y, int z)
+	{
+		final long canvas = Perspective.project(x, y, z, cameraX, cameraY, cameraZ, cameraPitch, cameraYaw, scale);
+		if (canvas == Long.MIN_VALUE)
+		{
+			return Long.MIN_VALUE;
+		}
+
+		final int canvasX = viewportXMiddle + (int) (canvas >> 32) + viewportXOffset;
+		final int canvasY = viewportYMiddle + (int) canvas + viewportYOffset;
+		return ((long) canvasX << 32) | (canvasY & 0xFFFFFFFFL);
+	}
+}
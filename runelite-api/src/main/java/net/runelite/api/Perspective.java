@@ -113,40 +113,59 @@ public class Perspective
 	 * @param z
 	 * @return a {@link Point} on screen corresponding to the position in
 	 * 3D-space
+	 * @see CameraSnapshot#localToCanvas(int, int[], int[], int[], int[], int[])
 	 */
 	public static Point localToCanvas(@Nonnull Client client, int x, int y, int z)
 	{
-		if (x >= 128 && y >= 128 && x <= 13056 && y <= 13056)
+		final long canvas = project(x, y, z, client.getCameraX(), client.getCameraY(), client.getCameraZ(),
+			client.getCameraPitch(), client.getCameraYaw(), client.getScale());
+		if (canvas == Long.MIN_VALUE)
 		{
-			x -= client.getCameraX();
-			y -= client.getCameraY();
-			z -= client.getCameraZ();
+			return null;
+		}
+
+		return new Point(
+			client.getViewportWidth() / 2 + (int) (canvas >> 32) + client.getViewportXOffset(),
+			client.getViewportHeight() / 2 + (int) canvas + client.getViewportYOffset());
+	}
+
+	/**
+	 * Projects a location relative to the camera. This is the projection shared by the single point
+	 * methods and {@link CameraSnapshot}.
+	 *
+	 * @return the canvas x offset from the middle of the viewport in the high bits and the canvas y
+	 * offset in the low bits, or Long.MIN_VALUE if the location is outside of the scene or behind
+	 * the camera
+	 */
+	static long project(int x, int y, int z, int cameraX, int cameraY, int cameraZ, int cameraPitch, int cameraYaw, int scale)
+	{
+		if (x < 128 || y < 128 || x > 13056 || y > 13056)
+		{
+			return Long.MIN_VALUE;
+		}
 
-			int cameraPitch = client.getCameraPitch();
-			int cameraYaw = client.getCameraYaw();
+		x -= cameraX;
+		y -= cameraY;
+		z -= cameraZ;
 
-			int pitchSin = SINE[cameraPitch];
-			int pitchCos = COSINE[cameraPitch];
-			int yawSin = SINE[cameraYaw];
-			int yawCos = COSINE[cameraYaw];
+		final int pitchSin = SINE[cameraPitch];
+		final int pitchCos = COSINE[cameraPitch];
+		final int yawSin = SINE[cameraYaw];
+		final int yawCos = COSINE[cameraYaw];
 
-			int var8 = yawCos * x + y * yawSin >> 16;
-			y = yawCos * y - yawSin * x >> 16;
-			x = var8;
-			var8 = pitchCos * z - y * pitchSin >> 16;
-			y = z * pitchSin + y * pitchCos >> 16;
+		final int x1 = yawCos * x + y * yawSin >> 16;
+		final int y1 = yawCos * y - yawSin * x >> 16;
+		final int y2 = pitchCos * z - y1 * pitchSin >> 16;
+		final int z1 = z * pitchSin + y1 * pitchCos >> 16;
 
-			if (y >= 50)
-			{
-				int pointX = client.getViewportWidth() / 2 + x * client.getScale() / y;
-				int pointY = client.getViewportHeight() / 2 + var8 * client.getScale() / y;
-				return new Point(
-					pointX + client.getViewportXOffset(),
-					pointY + client.getViewportYOffset());
-			}
+		if (z1 < 50)
+		{
+			return Long.MIN_VALUE;
 		}
 
-		return null;
+		final int canvasX = x1 * scale / z1;
+		final int canvasY = y2 * scale / z1;
+		return ((long) canvasX << 32) | (canvasY & 0xFFFFFFFFL);
 	}
 
 	/**
@@ -305,46 +324,44 @@ public class Perspective
 		int sceneY = point.getSceneY();
 		if (sceneX >= 0 && sceneY >= 0 && sceneX < SCENE_SIZE && sceneY < SCENE_SIZE)
 		{
-			byte[][][] tileSettings = client.getTileSettings();
-			int[][][] tileHeights = client.getTileHeights();
-
-			int z1 = plane;
-			if (plane < Constants.MAX_Z - 1 && (tileSettings[1][sceneX][sceneY] & TILE_FLAG_BRIDGE) == TILE_FLAG_BRIDGE)
-			{
-				z1 = plane + 1;
-			}
-
-			int x = point.getX() & (LOCAL_TILE_SIZE - 1);
-			int y = point.getY() & (LOCAL_TILE_SIZE - 1);
-			int var8 = x * tileHeights[z1][sceneX + 1][sceneY] + (LOCAL_TILE_SIZE - x) * tileHeights[z1][sceneX][sceneY] >> LOCAL_COORD_BITS;
-			int var9 = tileHeights[z1][sceneX][sceneY + 1] * (LOCAL_TILE_SIZE - x) + x * tileHeights[z1][sceneX + 1][sceneY + 1] >> LOCAL_COORD_BITS;
-			return (LOCAL_TILE_SIZE - y) * var8 + y * var9 >> LOCAL_COORD_BITS;
+			int tilePlane = getTilePlane(client.getTileSettings(), sceneX, sceneY, plane);
+			return getHeight(client.getTileHeights(), point.getX(), point.getY(), tilePlane);
 		}
 
 		return 0;
 	}
 
+	/**
+	 * Get the plane which holds the heights of a tile, which is the plane above it if the tile
+	 * is under a bridge.
+	 */
+	static int getTilePlane(byte[][][] tileSettings, int sceneX, int sceneY, int plane)
+	{
+		if (plane < Constants.MAX_Z - 1 && (tileSettings[1][sceneX][sceneY] & TILE_FLAG_BRIDGE) == TILE_FLAG_BRIDGE)
+		{
+			return plane + 1;
+		}
+		return plane;
+	}
+
 	/**
 	 * Get the height of a location, in local coordinates. Interpolates the height from the adjacent tiles.
 	 * Does not account for bridges.
-	 * @param client
-	 * @param localX
-	 * @param localY
-	 * @param plane
-	 * @return
+	 *
+	 * @return the height, or 0 if the location is outside of the scene
 	 */
-	private static int getHeight(@Nonnull Client client, int localX, int localY, int plane)
+	static int getHeight(int[][][] tileHeights, int localX, int localY, int plane)
 	{
 		int sceneX = localX >> LOCAL_COORD_BITS;
 		int sceneY = localY >> LOCAL_COORD_BITS;
 		if (sceneX >= 0 && sceneY >= 0 && sceneX < SCENE_SIZE && sceneY < SCENE_SIZE)
 		{
-			int[][][] tileHeights = client.getTileHeights();
+			int[][] heights = tileHeights[plane];
 
 			int x = localX & (LOCAL_TILE_SIZE - 1);
 			int y = localY & (LOCAL_TILE_SIZE - 1);
-			int var8 = x * tileHeights[plane][sceneX + 1][sceneY] + (LOCAL_TILE_SIZE - x) * tileHeights[plane][sceneX][sceneY] >> LOCAL_COORD_BITS;
-			int var9 = tileHeights[plane][sceneX][sceneY + 1] * (LOCAL_TILE_SIZE - x) + x * tileHeights[plane][sceneX + 1][sceneY + 1] >> LOCAL_COORD_BITS;
+			int var8 = x * heights[sceneX + 1][sceneY] + (LOCAL_TILE_SIZE - x) * heights[sceneX][sceneY] >> LOCAL_COORD_BITS;
+			int var9 = heights[sceneX][sceneY + 1] * (LOCAL_TILE_SIZE - x) + x * heights[sceneX + 1][sceneY + 1] >> LOCAL_COORD_BITS;
 			return (LOCAL_TILE_SIZE - y) * var8 + y * var9 >> LOCAL_COORD_BITS;
 		}
 
@@ -371,6 +388,7 @@ public class Perspective
 	 * @param localLocation the center location of the AoE
 	 * @param size the size of the area (ie. 3x3 AoE evaluates to size 3)
 	 * @return a polygon representing the tiles in the area
+	 * @see CameraSnapshot#tileAreasToCanvas(int, int[], int[], int, int[], int[])
 	 */
 	public static Polygon getCanvasTileAreaPoly(@Nonnull Client client, @Nonnull LocalPoint localLocation, int size)
 	{
@@ -398,16 +416,13 @@ public class Perspective
 			return null;
 		}
 
-		int tilePlane = plane;
-		if (plane < Constants.MAX_Z - 1 && (tileSettings[1][sceneX][sceneY] & TILE_FLAG_BRIDGE) == TILE_FLAG_BRIDGE)
-		{
-			tilePlane = plane + 1;
-		}
+		final int tilePlane = getTilePlane(tileSettings, sceneX, sceneY, plane);
+		final int[][][] tileHeights = client.getTileHeights();
 
-		final int swHeight = getHeight(client, swX, swY, tilePlane);
-		final int nwHeight = getHeight(client, nwX, nwY, tilePlane);
-		final int neHeight = getHeight(client, neX, neY, tilePlane);
-		final int seHeight = getHeight(client, seX, seY, tilePlane);
+		final int swHeight = getHeight(tileHeights, swX, swY, tilePlane);
+		final int nwHeight = getHeight(tileHeights, nwX, nwY, tilePlane);
+		final int neHeight = getHeight(tileHeights, neX, neY, tilePlane);
+		final int seHeight = getHeight(tileHeights, seX, seY, tilePlane);
 
 		Point p1 = localToCanvas(client, swX, swY, swHeight);
 		Point p2 = localToCanvas(client, nwX, nwY, nwHeight);
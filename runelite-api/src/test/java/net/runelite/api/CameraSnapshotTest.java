@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Polygon;
+import java.lang.reflect.Proxy;
+import net.runelite.api.coords.LocalPoint;
+import static net.runelite.api.CameraSnapshot.OFFSCREEN;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CameraSnapshotTest
+{
+	private Client client;
+
+	@Before
+	public void before()
+	{
+		final int[][][] tileHeights = new int[Constants.MAX_Z][Constants.SCENE_SIZE + 1][Constants.SCENE_SIZE + 1];
+		for (int x = 0; x <= Constants.SCENE_SIZE; ++x)
+		{
+			for (int y = 0; y <= Constants.SCENE_SIZE; ++y)
+			{
+				tileHeights[0][x][y] = -(x * 7 + y * 3);
+				tileHeights[1][x][y] = -500;
+			}
+		}
+
+		final byte[][][] tileSettings = new byte[Constants.MAX_Z][Constants.SCENE_SIZE][Constants.SCENE_SIZE];
+		tileSettings[1][52][52] = Constants.TILE_FLAG_BRIDGE;
+
+		// camera south of the scene center, looking north
+		client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class}, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getCameraX":
+					return 52 * 128;
+				case "getCameraY":
+					return 44 * 128;
+				case "getCameraZ":
+					return -1200;
+				case "getCameraPitch":
+					return 256;
+				case "getCameraYaw":
+					return 0;
+				case "getScale":
+					return 512;
+				case "getViewportWidth":
+					return 512;
+				case "getViewportHeight":
+					return 334;
+				case "getViewportXOffset":
+				case "getViewportYOffset":
+					return 4;
+				case "getPlane":
+					return 0;
+				case "getTileHeights":
+					return tileHeights;
+				case "getTileSettings":
+					return tileSettings;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	@Test
+	public void testLocalToCanvas()
+	{
+		final CameraSnapshot camera = new CameraSnapshot(client);
+		final int[] x = {52 * 128, 53 * 128 + 20, 52 * 128, 0};
+		final int[] y = {50 * 128, 55 * 128 + 90, 2 * 128, 50 * 128};
+		final int[] canvasX = new int[4];
+		final int[] canvasY = new int[4];
+
+		// the third point is behind the camera, and the last is outside of the scene
+		assertEquals(2, camera.groundToCanvas(4, x, y, 0, 30, canvasX, canvasY));
+
+		for (int i = 0; i < 2; ++i)
+		{
+			final Point point = Perspective.localToCanvas(client, new LocalPoint(x[i], y[i]), 0, 30);
+			assertNotNull(point);
+			assertEquals(point.getX(), canvasX[i]);
+			assertEquals(point.getY(), canvasY[i]);
+		}
+
+		assertEquals(OFFSCREEN, canvasX[2]);
+		assertEquals(OFFSCREEN, canvasY[3]);
+		assertNull(Perspective.localToCanvas(client, new LocalPoint(x[2], y[2]), 0, 30));
+	}
+
+	@Test
+	public void testTileAreasToCanvas()
+	{
+		final CameraSnapshot camera = new CameraSnapshot(client);
+		final int[] x = {50 * 128 + 64, 52 * 128 + 64};
+		final int[] y = {50 * 128 + 64, 52 * 128 + 64};
+		final int[] canvasX = new int[8];
+		final int[] canvasY = new int[8];
+
+		assertEquals(2, camera.tileAreasToCanvas(2, x, y, 1, canvasX, canvasY));
+
+		for (int i = 0; i < 2; ++i)
+		{
+			final Polygon poly = Perspective.getCanvasTilePoly(client, new LocalPoint(x[i], y[i]));
+			assertNotNull(poly);
+			assertEquals(4, poly.npoints);
+			for (int j = 0; j < 4; ++j)
+			{
+				final int[] corner = {canvasX[i * 4 + j], canvasY[i * 4 + j]};
+				assertArrayEquals(new int[]{poly.xpoints[j], poly.ypoints[j]}, corner);
+			}
+		}
+
+		// the second tile is under a bridge and uses the heights of the plane above
+		assertEquals(-500, camera.getTileHeight(x[1], y[1], 0));
+		// interpolated between the corners -500, -503, -507 and -510, rounding down
+		assertEquals(-506, camera.getTileHeight(x[0], y[0], 0));
+	}
+}
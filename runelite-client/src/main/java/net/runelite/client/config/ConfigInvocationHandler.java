@@ -24,24 +24,62 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
 
 @Slf4j
 class ConfigInvocationHandler implements InvocationHandler
 {
-	// Special object to represent null values in the cache
+	// Special object to represent null values in the slots
 	private static final Object NULL = new Object();
+	// Special object to represent a slot with no value
+	private static final Object UNSET = new Object();
+
+	/**
+	 * Cached value of a single config method. The value is reset when the key it was read
+	 * from changes, and the stamp is bumped so that a read racing with the change can't
+	 * store the stale value afterwards.
+	 */
+	private static class ValueSlot
+	{
+		private final String group;
+		private final String key;
+		private volatile Object value = UNSET;
+		private int stamp;
+
+		ValueSlot(String group, String key)
+		{
+			this.group = group;
+			this.key = key;
+		}
+
+		synchronized int stamp()
+		{
+			return stamp;
+		}
+
+		synchronized void set(int stamp, Object value)
+		{
+			if (this.stamp == stamp)
+			{
+				this.value = value == null ? NULL : value;
+			}
+		}
+
+		synchronized void reset()
+		{
+			++stamp;
+			value = UNSET;
+		}
+	}
 
 	private final ConfigManager manager;
-	private final Cache<Method, Object> cache = CacheBuilder.newBuilder()
-		.maximumSize(256)
-		.build();
+	private final Map<Method, ValueSlot> slots = new ConcurrentHashMap<>();
 
 	ConfigInvocationHandler(ConfigManager manager)
 	{
@@ -54,10 +92,14 @@ class ConfigInvocationHandler implements InvocationHandler
 		// Use cached configuration value if available
 		if (args == null)
 		{
-			Object cachedValue = cache.getIfPresent(method);
-			if (cachedValue != null)
+			ValueSlot slot = slots.get(method);
+			if (slot != null)
 			{
-				return cachedValue == NULL ? null : cachedValue;
+				Object cachedValue = slot.value;
+				if (cachedValue != UNSET)
+				{
+					return cachedValue == NULL ? null : cachedValue;
+				}
 			}
 		}
 
@@ -80,7 +122,10 @@ class ConfigInvocationHandler implements InvocationHandler
 
 		if (args == null)
 		{
-			log.trace("cache miss (size: {}, group: {}, key: {})", cache.size(), group.value(), item.keyName());
+			log.trace("cache miss (group: {}, key: {})", group.value(), item.keyName());
+
+			ValueSlot slot = slots.computeIfAbsent(method, m -> new ValueSlot(group.value(), item.keyName()));
+			int stamp = slot.stamp();
 
 			// Getting configuration item
 			String value = manager.getConfiguration(group.value(), item.keyName());
@@ -90,11 +135,11 @@ class ConfigInvocationHandler implements InvocationHandler
 				if (method.isDefault())
 				{
 					Object defaultValue = callDefaultMethod(proxy, method, null);
-					cache.put(method, defaultValue == null ? NULL : defaultValue);
+					slot.set(stamp, defaultValue);
 					return defaultValue;
 				}
 
-				cache.put(method, NULL);
+				slot.set(stamp, null);
 				return null;
 			}
 
@@ -104,7 +149,7 @@ class ConfigInvocationHandler implements InvocationHandler
 			try
 			{
 				Object objectValue = ConfigManager.stringToObject(value, returnType);
-				cache.put(method, objectValue == null ? NULL : objectValue);
+				slot.set(stamp, objectValue);
 				return objectValue;
 			}
 			catch (Exception e)
@@ -174,6 +219,21 @@ class ConfigInvocationHandler implements InvocationHandler
 	void invalidate()
 	{
 		log.trace("cache invalidate");
-		cache.invalidateAll();
+		slots.values().forEach(ValueSlot::reset);
+	}
+
+	/**
+	 * Invalidate the cached values of the methods reading a single config key
+	 */
+	void invalidate(String group, String key)
+	{
+		log.trace("cache invalidate (group: {}, key: {})", group, key);
+		for (ValueSlot slot : slots.values())
+		{
+			if (slot.key.equals(key) && slot.group.equals(group))
+			{
+				slot.reset();
+			}
+		}
 	}
 }
@@ -95,7 +95,7 @@ public class ConfigManager
 	private File propertiesFile;
 
 	private final ConfigInvocationHandler handler = new ConfigInvocationHandler(this);
-	private final Properties properties = new Properties();
+	private final ConfigStore configStore = new ConfigStore();
 	private final Map<String, String> pendingChanges = new HashMap<>();
 
 	@Inject
@@ -182,7 +182,7 @@ public class ConfigManager
 		}
 
 		handler.invalidate();
-		properties.clear();
+		configStore.clear();
 
 		for (ConfigEntry entry : configuration.getConfig())
 		{
@@ -197,7 +197,7 @@ public class ConfigManager
 			final String groupName = split[0];
 			final String key = split[1];
 			final String value = entry.getValue();
-			final String oldValue = (String) properties.setProperty(entry.getKey(), value);
+			final String oldValue = configStore.put(groupName, key, value);
 
 			ConfigChanged configChanged = new ConfigChanged();
 			configChanged.setGroup(groupName);
@@ -232,7 +232,7 @@ public class ConfigManager
 			return;
 		}
 
-		final Map<String, String> copy = (Map) ImmutableMap.copyOf(this.properties);
+		final Map<String, String> copy = configStore.toMap();
 		copy.forEach((groupAndKey, value) ->
 		{
 			if (!properties.containsKey(groupAndKey))
@@ -291,8 +291,9 @@ public class ConfigManager
 	private synchronized void loadFromFile()
 	{
 		handler.invalidate();
-		properties.clear();
+		configStore.clear();
 
+		final Properties properties = new Properties();
 		try (FileInputStream in = new FileInputStream(propertiesFile))
 		{
 			properties.load(new InputStreamReader(in, Charset.forName("UTF-8")));
@@ -315,12 +316,12 @@ public class ConfigManager
 				if (split.length != 2)
 				{
 					log.debug("Properties key malformed!: {}", groupAndKey);
-					properties.remove(groupAndKey);
 					return;
 				}
 
 				final String groupName = split[0];
 				final String key = split[1];
+				configStore.put(groupName, key, value);
 
 				ConfigChanged configChanged = new ConfigChanged();
 				configChanged.setGroup(groupName);
@@ -347,7 +348,7 @@ public class ConfigManager
 		try (FileOutputStream out = new FileOutputStream(tempFile))
 		{
 			out.getChannel().lock();
-			properties.store(new OutputStreamWriter(out, StandardCharsets.UTF_8), "RuneLite configuration");
+			configStore.toProperties().store(new OutputStreamWriter(out, StandardCharsets.UTF_8), "RuneLite configuration");
 			// FileOutputStream.close() closes the associated channel, which frees the lock
 		}
 
@@ -379,12 +380,12 @@ public class ConfigManager
 
 	public List<String> getConfigurationKeys(String prefix)
 	{
-		return properties.keySet().stream().filter(v -> ((String) v).startsWith(prefix)).map(String.class::cast).collect(Collectors.toList());
+		return configStore.getKeys(prefix);
 	}
 
 	public String getConfiguration(String groupName, String key)
 	{
-		return properties.getProperty(groupName + "." + key);
+		return configStore.get(groupName, key);
 	}
 
 	public <T> T getConfiguration(String groupName, String key, Class<T> clazz)
@@ -406,7 +407,7 @@ public class ConfigManager
 
 	public void setConfiguration(String groupName, String key, String value)
 	{
-		String oldValue = (String) properties.setProperty(groupName + "." + key, value);
+		String oldValue = configStore.put(groupName, key, value);
 
 		if (Objects.equals(oldValue, value))
 		{
@@ -414,7 +415,7 @@ public class ConfigManager
 		}
 
 		log.debug("Setting configuration value for {}.{} to {}", groupName, key, value);
-		handler.invalidate();
+		handler.invalidate(groupName, key);
 
 		synchronized (pendingChanges)
 		{
@@ -437,7 +438,7 @@ public class ConfigManager
 
 	public void unsetConfiguration(String groupName, String key)
 	{
-		String oldValue = (String) properties.remove(groupName + "." + key);
+		String oldValue = configStore.remove(groupName, key);
 
 		if (oldValue == null)
 		{
@@ -445,7 +446,7 @@ public class ConfigManager
 		}
 
 		log.debug("Unsetting configuration value for {}.{}", groupName, key);
-		handler.invalidate();
+		handler.invalidate(groupName, key);
 
 		synchronized (pendingChanges)
 		{
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Configuration values partitioned by group, with the keys of each group kept sorted.
+ * Lookups don't need to build the "group.key" string, and prefix queries are range scans
+ * over a single group instead of a scan over every key.
+ */
+class ConfigStore
+{
+	private final ConcurrentMap<String, ConcurrentSkipListMap<String, String>> groups = new ConcurrentHashMap<>();
+
+	String get(String groupName, String key)
+	{
+		Map<String, String> group = groups.get(groupName);
+		return group == null ? null : group.get(key);
+	}
+
+	/**
+	 * Set a value. The group and key names are interned, so the names loaded from the
+	 * properties file share the instances of the config interfaces' constants.
+	 *
+	 * @return the previous value, or null
+	 */
+	String put(String groupName, String key, String value)
+	{
+		final String[] previous = new String[1];
+		groups.compute(groupName.intern(), (name, group) ->
+		{
+			if (group == null)
+			{
+				group = new ConcurrentSkipListMap<>();
+			}
+			previous[0] = group.put(key.intern(), value);
+			return group;
+		});
+		return previous[0];
+	}
+
+	/**
+	 * Remove a value, and its group if it was the last value in it
+	 *
+	 * @return the removed value, or null
+	 */
+	String remove(String groupName, String key)
+	{
+		final String[] removed = new String[1];
+		groups.computeIfPresent(groupName, (name, group) ->
+		{
+			removed[0] = group.remove(key);
+			return group.isEmpty() ? null : group;
+		});
+		return removed[0];
+	}
+
+	void clear()
+	{
+		groups.clear();
+	}
+
+	/**
+	 * Get the full "group.key" names of all keys starting with the given prefix
+	 */
+	List<String> getKeys(String prefix)
+	{
+		final List<String> keys = new ArrayList<>();
+		final int dot = prefix.indexOf('.');
+
+		if (dot == -1)
+		{
+			// the prefix only matches group names
+			for (Map.Entry<String, ConcurrentSkipListMap<String, String>> group : groups.entrySet())
+			{
+				if (group.getKey().startsWith(prefix))
+				{
+					for (String key : group.getValue().keySet())
+					{
+						keys.add(group.getKey() + "." + key);
+					}
+				}
+			}
+			return keys;
+		}
+
+		final String groupName = prefix.substring(0, dot);
+		final String keyPrefix = prefix.substring(dot + 1);
+		final NavigableMap<String, String> group = groups.get(groupName);
+		if (group == null)
+		{
+			return keys;
+		}
+
+		for (String key : group.tailMap(keyPrefix, true).keySet())
+		{
+			if (!key.startsWith(keyPrefix))
+			{
+				break;
+			}
+
+			keys.add(groupName + "." + key);
+		}
+		return keys;
+	}
+
+	/**
+	 * Copy all values into a new map keyed by "group.key"
+	 */
+	Map<String, String> toMap()
+	{
+		final Map<String, String> map = new TreeMap<>();
+		groups.forEach((groupName, group) ->
+			group.forEach((key, value) -> map.put(groupName + "." + key, value)));
+		return map;
+	}
+
+	Properties toProperties()
+	{
+		final Properties properties = new Properties();
+		properties.putAll(toMap());
+		return properties;
+	}
+}
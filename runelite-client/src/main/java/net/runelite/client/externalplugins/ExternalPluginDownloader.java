@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.externalplugins;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.util.CountingInputStream;
+import net.runelite.client.util.VerificationException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Downloads plugin jars from the plugin hub into a content addressed cache. Jars are named by their
+ * hash and are only moved into place once the hash has been verified, so a cached jar never has to be
+ * hashed again. Interrupted downloads are kept as a part file and are resumed with a range request.
+ */
+@Slf4j
+class ExternalPluginDownloader
+{
+	private final OkHttpClient okHttpClient;
+	private final HttpUrl pluginHubBase;
+	private final File pluginsDir;
+
+	ExternalPluginDownloader(OkHttpClient okHttpClient, HttpUrl pluginHubBase, File pluginsDir)
+	{
+		this.okHttpClient = okHttpClient;
+		this.pluginHubBase = pluginHubBase;
+		this.pluginsDir = pluginsDir;
+	}
+
+	File getJarFile(ExternalPluginManifest manifest)
+	{
+		return new File(pluginsDir, manifest.getHash() + ".jar");
+	}
+
+	File getPartFile(ExternalPluginManifest manifest)
+	{
+		return new File(pluginsDir, manifest.getHash() + ".jar.part");
+	}
+
+	boolean isCached(ExternalPluginManifest manifest)
+	{
+		return getJarFile(manifest).exists();
+	}
+
+	/**
+	 * Download and verify the jar of a plugin, resuming a previous partial download if there is one
+	 *
+	 * @param progress called with the number of bytes of the jar downloaded so far
+	 */
+	void download(ExternalPluginManifest manifest, IntConsumer progress) throws IOException, VerificationException
+	{
+		final File part = getPartFile(manifest);
+		long offset = part.length();
+		if (offset >= manifest.getSize())
+		{
+			offset = 0;
+		}
+
+		final HttpUrl url = pluginHubBase.newBuilder()
+			.addPathSegment(manifest.getInternalName())
+			.addPathSegment(manifest.getCommit() + ".jar")
+			.build();
+		final Request.Builder request = new Request.Builder().url(url);
+		if (offset > 0)
+		{
+			request.header("Range", "bytes=" + offset + "-");
+		}
+
+		try (Response res = okHttpClient.newCall(request.build()).execute())
+		{
+			final String contentRange = res.header("Content-Range");
+			final boolean resume = offset > 0 && res.code() == 206
+				&& contentRange != null && contentRange.startsWith("bytes " + offset + "-");
+			if (!resume && res.code() != 200)
+			{
+				throw new IOException("Non-OK response code: " + res.code());
+			}
+
+			final Hasher hasher = Hashing.sha256().newHasher();
+			if (resume)
+			{
+				log.debug("Resuming download of {} at {} bytes", manifest.getInternalName(), offset);
+				Files.asByteSource(part).copyTo(Funnels.asOutputStream(hasher));
+			}
+			else
+			{
+				offset = 0;
+			}
+
+			final int start = (int) offset;
+			try (InputStream in = new CountingInputStream(res.body().byteStream(), i -> progress.accept(start + i));
+				OutputStream out = new FileOutputStream(part, resume))
+			{
+				final byte[] buf = new byte[8192];
+				int n;
+				while ((n = in.read(buf)) != -1)
+				{
+					out.write(buf, 0, n);
+					hasher.putBytes(buf, 0, n);
+				}
+			}
+
+			if (!hasher.hash().toString().equals(manifest.getHash()))
+			{
+				part.delete();
+				throw new VerificationException("Plugin " + manifest.getInternalName() + " didn't match its hash");
+			}
+		}
+
+		Files.move(part, getJarFile(manifest));
+	}
+}
@@ -28,9 +28,6 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
-import com.google.common.hash.Hashing;
-import com.google.common.hash.HashingInputStream;
-import com.google.common.io.Files;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -41,7 +38,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -61,19 +64,16 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginInstantiationException;
 import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.ui.SplashScreen;
-import net.runelite.client.util.CountingInputStream;
 import net.runelite.client.util.Text;
 import net.runelite.client.util.VerificationException;
-import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 
 @Singleton
 @Slf4j
 public class ExternalPluginManager
 {
 	private static final String PLUGIN_LIST_KEY = "externalPlugins";
+	private static final int MAX_CONCURRENT_DOWNLOADS = 4;
 	private static Class<? extends Plugin>[] builtinExternals = null;
 
 	@Inject
@@ -146,6 +146,7 @@ public class ExternalPluginManager
 		}
 
 		boolean startup = SplashScreen.isOpen();
+		ExecutorService downloadExecutor = null;
 		try
 		{
 			double splashStart = startup ? .60 : 0;
@@ -157,89 +158,90 @@ public class ExternalPluginManager
 
 			SplashScreen.stage(splashStart, null, "Downloading external plugins");
 			Set<ExternalPluginManifest> externalPlugins = new HashSet<>();
+			Set<ExternalPluginManifest> needsDownload = new HashSet<>();
 
 			RuneLite.PLUGINS_DIR.mkdirs();
+			ExternalPluginDownloader downloader = new ExternalPluginDownloader(okHttpClient,
+				RuneLiteProperties.getPluginHubBase(), RuneLite.PLUGINS_DIR);
 
 			List<ExternalPluginManifest> manifestList;
 			try
 			{
 				manifestList = externalPluginClient.downloadManifest();
-				Map<String, ExternalPluginManifest> manifests = manifestList
-					.stream().collect(ImmutableMap.toImmutableMap(ExternalPluginManifest::getInternalName, Function.identity()));
+			}
+			catch (IOException | VerificationException e)
+			{
+				log.error("Unable to download external plugins", e);
+				return;
+			}
 
-				Set<ExternalPluginManifest> needsDownload = new HashSet<>();
-				Set<File> keep = new HashSet<>();
+			Map<String, ExternalPluginManifest> manifests = manifestList
+				.stream().collect(ImmutableMap.toImmutableMap(ExternalPluginManifest::getInternalName, Function.identity()));
 
-				for (String name : installedIDs)
+			Set<File> keep = new HashSet<>();
+			for (String name : installedIDs)
+			{
+				ExternalPluginManifest manifest = manifests.get(name);
+				if (manifest != null)
 				{
-					ExternalPluginManifest manifest = manifests.get(name);
-					if (manifest != null)
-					{
-						externalPlugins.add(manifest);
+					externalPlugins.add(manifest);
+					keep.add(downloader.getJarFile(manifest));
 
-						if (!manifest.isValid())
-						{
-							needsDownload.add(manifest);
-						}
-						else
-						{
-							keep.add(manifest.getJarFile());
-						}
+					if (!downloader.isCached(manifest))
+					{
+						needsDownload.add(manifest);
+						keep.add(downloader.getPartFile(manifest));
 					}
 				}
+			}
 
-				// delete old plugins
-				File[] files = RuneLite.PLUGINS_DIR.listFiles();
-				if (files != null)
+			// delete old plugins
+			File[] files = RuneLite.PLUGINS_DIR.listFiles();
+			if (files != null)
+			{
+				for (File fi : files)
 				{
-					for (File fi : files)
+					if (!keep.contains(fi))
 					{
-						if (!keep.contains(fi))
-						{
-							fi.delete();
-						}
+						fi.delete();
 					}
 				}
+			}
 
-				int toDownload = needsDownload.stream().mapToInt(ExternalPluginManifest::getSize).sum();
-				int downloaded = 0;
+			// download the missing jars in the background, while the cached ones are loaded
+			CompletionService<ExternalPluginManifest> downloads = null;
+			if (!needsDownload.isEmpty())
+			{
+				downloadExecutor = Executors.newFixedThreadPool(Math.min(MAX_CONCURRENT_DOWNLOADS, needsDownload.size()));
+				downloads = new ExecutorCompletionService<>(downloadExecutor);
 
+				int toDownload = needsDownload.stream().mapToInt(ExternalPluginManifest::getSize).sum();
+				AtomicInteger downloaded = new AtomicInteger();
 				for (ExternalPluginManifest manifest : needsDownload)
 				{
-					HttpUrl url = RuneLiteProperties.getPluginHubBase().newBuilder()
-						.addPathSegment(manifest.getInternalName())
-						.addPathSegment(manifest.getCommit() + ".jar")
-						.build();
-
-					try (Response res = okHttpClient.newCall(new Request.Builder().url(url).build()).execute())
+					int[] last = new int[1];
+					downloads.submit(() ->
 					{
-						int fdownloaded = downloaded;
-						downloaded += manifest.getSize();
-						HashingInputStream his = new HashingInputStream(Hashing.sha256(),
-							new CountingInputStream(res.body().byteStream(), i ->
+						try
+						{
+							downloader.download(manifest, i ->
+							{
+								int done = downloaded.addAndGet(i - last[0]);
+								last[0] = i;
 								SplashScreen.stage(splashStart + (splashLength * .2), splashStart + (splashLength * .8),
 									null, "Downloading " + manifest.getDisplayName(),
-									i + fdownloaded, toDownload, true)));
-						Files.asByteSink(manifest.getJarFile()).writeFrom(his);
-						if (!his.hash().toString().equals(manifest.getHash()))
+									done, toDownload, true);
+							});
+							return manifest;
+						}
+						catch (IOException | VerificationException e)
 						{
-							throw new VerificationException("Plugin " + manifest.getInternalName() + " didn't match its hash");
+							log.error("Unable to download external plugin \"{}\"", manifest.getInternalName(), e);
+							return null;
 						}
-					}
-					catch (IOException | VerificationException e)
-					{
-						externalPlugins.remove(manifest);
-						log.error("Unable to download external plugin \"{}\"", manifest.getInternalName(), e);
-					}
+					});
 				}
 			}
-			catch (IOException | VerificationException e)
-			{
-				log.error("Unable to download external plugins", e);
-				return;
-			}
-
-			SplashScreen.stage(splashStart + (splashLength * .8), null, "Starting external plugins");
 
 			// TODO(abex): make sure the plugins get fully removed from the scheduler/eventbus/other managers (iterate and check classloader)
 			Set<ExternalPluginManifest> add = new HashSet<>();
@@ -277,80 +279,38 @@ public class ExternalPluginManager
 				pluginManager.remove(p);
 			}
 
+			SplashScreen.stage(splashStart + (splashLength * .8), null, "Starting external plugins");
+
 			for (ExternalPluginManifest manifest : add)
 			{
-				// I think this can't happen, but just in case
-				if (!manifest.isValid())
+				if (!needsDownload.contains(manifest))
 				{
-					log.warn("Invalid plugin for validated manifest: {}", manifest);
-					continue;
+					loadPlugin(downloader, manifest, startup);
 				}
+			}
 
-				log.info("Loading external plugin \"{}\" version \"{}\" commit \"{}\"", manifest.getInternalName(), manifest.getVersion(), manifest.getCommit());
-
-				List<Plugin> newPlugins = null;
+			// load the rest as their downloads complete
+			for (int i = 0; i < needsDownload.size(); ++i)
+			{
+				ExternalPluginManifest manifest;
 				try
 				{
-					ClassLoader cl = new ExternalPluginClassLoader(manifest, new URL[]{manifest.getJarFile().toURI().toURL()});
-					List<Class<?>> clazzes = new ArrayList<>();
-					for (String className : manifest.getPlugins())
-					{
-						clazzes.add(cl.loadClass(className));
-					}
-
-					List<Plugin> newPlugins2 = newPlugins = pluginManager.loadPlugins(clazzes, null);
-					if (!startup)
-					{
-						pluginManager.loadDefaultPluginConfiguration(newPlugins);
-
-						SwingUtilities.invokeAndWait(() ->
-						{
-							try
-							{
-								for (Plugin p : newPlugins2)
-								{
-									pluginManager.startPlugin(p);
-								}
-							}
-							catch (PluginInstantiationException e)
-							{
-								throw new RuntimeException(e);
-							}
-						});
-					}
+					manifest = downloads.take().get();
 				}
-				catch (ThreadDeath e)
+				catch (InterruptedException e)
 				{
-					throw e;
+					Thread.currentThread().interrupt();
+					break;
 				}
-				catch (Throwable e)
+				catch (ExecutionException e)
 				{
-					log.warn("Unable to start or load external plugin \"{}\"", manifest.getInternalName(), e);
-					if (newPlugins != null)
-					{
-						for (Plugin p : newPlugins)
-						{
-							try
-							{
-								SwingUtilities.invokeAndWait(() ->
-								{
-									try
-									{
-										pluginManager.stopPlugin(p);
-									}
-									catch (Exception e2)
-									{
-										throw new RuntimeException(e2);
-									}
-								});
-							}
-							catch (InterruptedException | InvocationTargetException e2)
-							{
-								log.info("Unable to fully stop plugin \"{}\"", manifest.getInternalName(), e2);
-							}
-							pluginManager.remove(p);
-						}
-					}
+					log.error("Unable to download external plugin", e.getCause());
+					continue;
+				}
+
+				if (manifest != null && add.contains(manifest))
+				{
+					loadPlugin(downloader, manifest, startup);
 				}
 			}
 
@@ -361,6 +321,11 @@ public class ExternalPluginManager
 		}
 		finally
 		{
+			if (downloadExecutor != null)
+			{
+				downloadExecutor.shutdownNow();
+			}
+
 			if (!startup)
 			{
 				SplashScreen.stop();
@@ -368,6 +333,83 @@ public class ExternalPluginManager
 		}
 	}
 
+	private void loadPlugin(ExternalPluginDownloader downloader, ExternalPluginManifest manifest, boolean startup)
+	{
+		// I think this can't happen, but just in case
+		if (!downloader.isCached(manifest))
+		{
+			log.warn("Invalid plugin for validated manifest: {}", manifest);
+			return;
+		}
+
+		log.info("Loading external plugin \"{}\" version \"{}\" commit \"{}\"", manifest.getInternalName(), manifest.getVersion(), manifest.getCommit());
+
+		List<Plugin> newPlugins = null;
+		try
+		{
+			ClassLoader cl = new ExternalPluginClassLoader(manifest, new URL[]{downloader.getJarFile(manifest).toURI().toURL()});
+			List<Class<?>> clazzes = new ArrayList<>();
+			for (String className : manifest.getPlugins())
+			{
+				clazzes.add(cl.loadClass(className));
+			}
+
+			List<Plugin> newPlugins2 = newPlugins = pluginManager.loadPlugins(clazzes, null);
+			if (!startup)
+			{
+				pluginManager.loadDefaultPluginConfiguration(newPlugins);
+
+				SwingUtilities.invokeAndWait(() ->
+				{
+					try
+					{
+						for (Plugin p : newPlugins2)
+						{
+							pluginManager.startPlugin(p);
+						}
+					}
+					catch (PluginInstantiationException e)
+					{
+						throw new RuntimeException(e);
+					}
+				});
+			}
+		}
+		catch (ThreadDeath e)
+		{
+			throw e;
+		}
+		catch (Throwable e)
+		{
+			log.warn("Unable to start or load external plugin \"{}\"", manifest.getInternalName(), e);
+			if (newPlugins != null)
+			{
+				for (Plugin p : newPlugins)
+				{
+					try
+					{
+						SwingUtilities.invokeAndWait(() ->
+						{
+							try
+							{
+								pluginManager.stopPlugin(p);
+							}
+							catch (Exception e2)
+							{
+								throw new RuntimeException(e2);
+							}
+						});
+					}
+					catch (InterruptedException | InvocationTargetException e2)
+					{
+						log.info("Unable to fully stop plugin \"{}\"", manifest.getInternalName(), e2);
+					}
+					pluginManager.remove(p);
+				}
+			}
+		}
+	}
+
 	public List<String> getInstalledExternalPlugins()
 	{
 		String externalPluginsStr = configManager.getConfiguration(RuneLiteConfig.GROUP_NAME, PLUGIN_LIST_KEY);
@@ -24,15 +24,10 @@
  */
 package net.runelite.client.externalplugins;
 
-import com.google.common.hash.Hashing;
-import com.google.common.io.Files;
-import java.io.File;
-import java.io.IOException;
 import java.net.URL;
 import javax.annotation.Nullable;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
-import net.runelite.client.RuneLite;
 
 @Data
 public class ExternalPluginManifest
@@ -60,30 +55,4 @@ public class ExternalPluginManifest
 	{
 		return hasIcon;
 	}
-
-	File getJarFile()
-	{
-		return new File(RuneLite.PLUGINS_DIR, internalName + commit + ".jar");
-	}
-
-	boolean isValid()
-	{
-		File file = getJarFile();
-
-		try
-		{
-			if (file.exists())
-			{
-				String hash = Files.asByteSource(file).hash(Hashing.sha256()).toString();
-				if (this.hash.equals(hash))
-				{
-					return true;
-				}
-			}
-		}
-		catch (IOException e)
-		{
-		}
-		return false;
-	}
 }
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-disk store of rasterized item icons. Icons are appended to a single pack file in a
+ * directory per game cache content id, so a cache update starts with an empty store and the
+ * icons of older caches are deleted. Each record is the icon key, its width and height, and
+ * the deflated ARGB pixels.
+ * <p>
+ * The store directory is shared by every client, so a pack file is locked while it is open.
+ * A client which can't lock it runs without the store, and only unlocked stores are deleted.
+ */
+@Slf4j
+class ItemIconStore
+{
+	private static final String PACK_FILE = "icons.dat";
+	private static final int HEADER_SIZE = Long.BYTES + Short.BYTES * 2 + Integer.BYTES;
+	private static final Pattern STORE_DIRECTORY = Pattern.compile("[0-9a-f]+");
+
+	private final File directory;
+	/**
+	 * icon key -> offset of its record in the pack file
+	 */
+	private final Map<Long, Long> offsets = new HashMap<>();
+	private RandomAccessFile pack;
+	private FileLock lock;
+	private String contentId;
+
+	ItemIconStore(File directory)
+	{
+		this.directory = directory;
+	}
+
+	/**
+	 * Open the store for the given game cache contents, indexing the icons already in it. Does
+	 * nothing if the store is already open.
+	 *
+	 * @param contentId identifies the cache contents the icons are rasterized from
+	 */
+	synchronized void open(long contentId)
+	{
+		final String name = String.format("%016x", contentId);
+		if (name.equals(this.contentId))
+		{
+			return;
+		}
+
+		close();
+		this.contentId = name;
+
+		final File storeDirectory = new File(directory, name);
+		deleteOtherStores(storeDirectory);
+
+		if (!storeDirectory.exists() && !storeDirectory.mkdirs())
+		{
+			log.warn("unable to create item icon cache directory {}", storeDirectory);
+			return;
+		}
+
+		try
+		{
+			pack = new RandomAccessFile(new File(storeDirectory, PACK_FILE), "rw");
+			lock = tryLock(pack.getChannel());
+			if (lock == null)
+			{
+				log.debug("Item icon cache {} is in use by another client", name);
+				close();
+				this.contentId = name;
+				return;
+			}
+
+			index();
+			log.debug("Opened item icon cache {} with {} icons", name, offsets.size());
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to open item icon cache", ex);
+			close();
+			// don't retry until the cache contents change
+			this.contentId = name;
+		}
+	}
+
+	private void index() throws IOException
+	{
+		final long length = pack.length();
+		long offset = 0;
+		while (offset + HEADER_SIZE <= length)
+		{
+			pack.seek(offset);
+			final long key = pack.readLong();
+			pack.skipBytes(Short.BYTES * 2);
+			final int size = pack.readInt();
+			final long next = offset + HEADER_SIZE + size;
+			if (size < 0 || next > length)
+			{
+				break;
+			}
+
+			offsets.put(key, offset);
+			offset = next;
+		}
+
+		if (offset != length)
+		{
+			// partially written record from an earlier session
+			log.debug("Truncating item icon cache from {} to {} bytes", length, offset);
+			pack.setLength(offset);
+		}
+	}
+
+	/**
+	 * Lock a pack file
+	 *
+	 * @return the lock, or null if another client or store holds it
+	 */
+	private static FileLock tryLock(FileChannel channel) throws IOException
+	{
+		try
+		{
+			return channel.tryLock();
+		}
+		catch (OverlappingFileLockException ex)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Delete the pack files of the other stores which aren't in use. Only store directories
+	 * are touched, and they are only removed once empty.
+	 */
+	private void deleteOtherStores(File storeDirectory)
+	{
+		final File[] files = directory.listFiles(file -> file.isDirectory() && STORE_DIRECTORY.matcher(file.getName()).matches());
+		if (files == null)
+		{
+			return;
+		}
+
+		for (File file : files)
+		{
+			if (file.equals(storeDirectory))
+			{
+				continue;
+			}
+
+			final File packFile = new File(file, PACK_FILE);
+			if (packFile.exists())
+			{
+				try (RandomAccessFile other = new RandomAccessFile(packFile, "rw");
+					FileLock otherLock = tryLock(other.getChannel()))
+				{
+					if (otherLock == null)
+					{
+						// in use by another client
+						continue;
+					}
+
+					packFile.delete();
+				}
+				catch (IOException ex)
+				{
+					log.debug("unable to delete item icon cache {}", file, ex);
+					continue;
+				}
+			}
+
+			file.delete();
+		}
+	}
+
+	synchronized boolean contains(long key)
+	{
+		return offsets.containsKey(key);
+	}
+
+	/**
+	 * Read an icon into an image of the same size
+	 *
+	 * @return true if the icon was read
+	 */
+	synchronized boolean read(long key, BufferedImage image)
+	{
+		final Long offset = offsets.get(key);
+		if (offset == null || pack == null)
+		{
+			return false;
+		}
+
+		try
+		{
+			pack.seek(offset + Long.BYTES);
+			final int width = pack.readUnsignedShort();
+			final int height = pack.readUnsignedShort();
+			final byte[] data = new byte[pack.readInt()];
+			pack.readFully(data);
+
+			if (width != image.getWidth() || height != image.getHeight())
+			{
+				return false;
+			}
+
+			final byte[] pixelBytes = new byte[width * height * Integer.BYTES];
+			final Inflater inflater = new Inflater();
+			try
+			{
+				inflater.setInput(data);
+				if (inflater.inflate(pixelBytes) != pixelBytes.length)
+				{
+					throw new DataFormatException("short icon data");
+				}
+			}
+			finally
+			{
+				inflater.end();
+			}
+
+			final int[] pixels = new int[width * height];
+			ByteBuffer.wrap(pixelBytes).asIntBuffer().get(pixels);
+			image.setRGB(0, 0, width, height, pixels, 0, width);
+			return true;
+		}
+		catch (IOException | DataFormatException ex)
+		{
+			log.debug("unable to read item icon {}", key, ex);
+			offsets.remove(key);
+			return false;
+		}
+	}
+
+	/**
+	 * Append an icon to the store, unless it is already stored
+	 */
+	synchronized void write(long key, BufferedImage image)
+	{
+		if (pack == null || offsets.containsKey(key))
+		{
+			return;
+		}
+
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+		final ByteBuffer pixelBytes = ByteBuffer.allocate(pixels.length * Integer.BYTES);
+		pixelBytes.asIntBuffer().put(pixels);
+
+		final Deflater deflater = new Deflater();
+		final byte[] buffer = new byte[pixelBytes.capacity() + 64];
+		final int size;
+		try
+		{
+			deflater.setInput(pixelBytes.array());
+			deflater.finish();
+			size = deflater.deflate(buffer);
+			if (!deflater.finished())
+			{
+				return;
+			}
+		}
+		finally
+		{
+			deflater.end();
+		}
+
+		try
+		{
+			final long offset = pack.length();
+			pack.seek(offset);
+			pack.writeLong(key);
+			pack.writeShort(width);
+			pack.writeShort(height);
+			pack.writeInt(size);
+			pack.write(buffer, 0, size);
+			offsets.put(key, offset);
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to write item icon {}", key, ex);
+		}
+	}
+
+	synchronized void close()
+	{
+		offsets.clear();
+		contentId = null;
+		if (pack != null)
+		{
+			try
+			{
+				pack.close();
+			}
+			catch (IOException ex)
+			{
+				log.debug("unable to close item icon cache", ex);
+			}
+			// closing the pack releases its lock
+			pack = null;
+			lock = null;
+		}
+	}
+}
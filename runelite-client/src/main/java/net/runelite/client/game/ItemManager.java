@@ -28,10 +28,14 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -48,12 +52,14 @@ import net.runelite.api.Client;
 import net.runelite.api.Constants;
 import static net.runelite.api.Constants.CLIENT_DEFAULT_ZOOM;
 import net.runelite.api.GameState;
+import net.runelite.api.IndexDataBase;
 import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemID;
 import static net.runelite.api.ItemID.*;
 import net.runelite.api.SpritePixels;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.PostItemComposition;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.util.AsyncBufferedImage;
@@ -72,6 +78,14 @@ public class ItemManager
 		private final int itemId;
 		private final int itemQuantity;
 		private final boolean stackable;
+
+		/**
+		 * Pack the key into the key of the on-disk icon store
+		 */
+		long pack()
+		{
+			return ((long) itemId << 33) | (stackable ? 1L << 32 : 0L) | (itemQuantity & 0xFFFFFFFFL);
+		}
 	}
 
 	@Value
@@ -82,15 +96,39 @@ public class ItemManager
 		private final Color outlineColor;
 	}
 
+	/**
+	 * Number of item names read per client tick while building the item name index
+	 */
+	private static final int ITEM_NAME_BATCH = 2048;
+
+	/**
+	 * Maximum size of the in-memory icon caches, in bytes of ARGB pixels
+	 */
+	private static final long MAX_IMAGE_CACHE_WEIGHT = 16L * 1024 * 1024;
+
+	/**
+	 * Archive of the item definitions in the config index
+	 */
+	private static final int ITEM_CONFIG_ARCHIVE = 10;
+
 	private final Client client;
 	private final ClientThread clientThread;
 	private final ItemClient itemClient;
+	private final ScheduledExecutorService scheduledExecutorService;
 
 	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	private volatile ItemSearchIndex itemPriceIndex = new ItemSearchIndex(new int[0], new String[0]);
+	private volatile ItemSearchIndex itemNameIndex;
+	/**
+	 * Item count the name index was last built for, only accessed on the client thread
+	 */
+	private int itemNameIndexItemCount = -1;
+	private boolean itemNameIndexBuilding;
 	private Map<Integer, ItemStats> itemStats = Collections.emptyMap();
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<Integer, ItemComposition> itemCompositions;
 	private final LoadingCache<OutlineKey, BufferedImage> itemOutlines;
+	private final ItemIconStore itemIconStore = new ItemIconStore(new File(RuneLite.CACHE_DIR, "items"));
 
 	// Worn items with weight reducing property have a different worn and inventory ItemID
 	private static final ImmutableMap<Integer, Integer> WORN_ITEMS = ImmutableMap.<Integer, Integer>builder().
@@ -168,19 +206,21 @@ public class ItemManager
 		this.client = client;
 		this.clientThread = clientThread;
 		this.itemClient = new ItemClient(okHttpClient);
+		this.scheduledExecutorService = scheduledExecutorService;
 
 		scheduledExecutorService.scheduleWithFixedDelay(this::loadPrices, 0, 30, TimeUnit.MINUTES);
 		scheduledExecutorService.submit(this::loadStats);
 
 		itemImages = CacheBuilder.newBuilder()
-			.maximumSize(128L)
+			.maximumWeight(MAX_IMAGE_CACHE_WEIGHT)
+			.weigher(ItemManager::imageWeight)
 			.expireAfterAccess(1, TimeUnit.HOURS)
 			.build(new CacheLoader<ImageKey, AsyncBufferedImage>()
 			{
 				@Override
 				public AsyncBufferedImage load(ImageKey key) throws Exception
 				{
-					return loadImage(key.itemId, key.itemQuantity, key.stackable);
+					return loadImage(key);
 				}
 			});
 
@@ -197,7 +237,8 @@ public class ItemManager
 			});
 
 		itemOutlines = CacheBuilder.newBuilder()
-			.maximumSize(128L)
+			.maximumWeight(MAX_IMAGE_CACHE_WEIGHT)
+			.weigher(ItemManager::imageWeight)
 			.expireAfterAccess(1, TimeUnit.HOURS)
 			.build(new CacheLoader<OutlineKey, BufferedImage>()
 			{
@@ -217,11 +258,17 @@ public class ItemManager
 			if (prices != null)
 			{
 				ImmutableMap.Builder<Integer, ItemPrice> map = ImmutableMap.builderWithExpectedSize(prices.length);
-				for (ItemPrice price : prices)
+				int[] ids = new int[prices.length];
+				String[] names = new String[prices.length];
+				for (int i = 0; i < prices.length; ++i)
 				{
+					ItemPrice price = prices[i];
 					map.put(price.getId(), price);
+					ids[i] = price.getId();
+					names[i] = price.getName();
 				}
 				itemPrices = map.build();
+				itemPriceIndex = new ItemSearchIndex(ids, names);
 			}
 
 			log.debug("Loaded {} prices", itemPrices.size());
@@ -355,17 +402,18 @@ public class ItemManager
 	 * Search for tradeable items based on item name
 	 *
 	 * @param itemName item name
-	 * @return
+	 * @return matching items, best match first
 	 */
 	public List<ItemPrice> search(String itemName)
 	{
-		itemName = itemName.toLowerCase();
+		final Map<Integer, ItemPrice> prices = itemPrices;
+		final int[] ids = itemPriceIndex.search(itemName, Integer.MAX_VALUE);
 
-		List<ItemPrice> result = new ArrayList<>();
-		for (ItemPrice itemPrice : itemPrices.values())
+		List<ItemPrice> result = new ArrayList<>(ids.length);
+		for (int id : ids)
 		{
-			final String name = itemPrice.getName();
-			if (name.toLowerCase().contains(itemName))
+			ItemPrice itemPrice = prices.get(id);
+			if (itemPrice != null)
 			{
 				result.add(itemPrice);
 			}
@@ -373,6 +421,89 @@ public class ItemManager
 		return result;
 	}
 
+	/**
+	 * Search the names of all items known to the client, including untradeable items.
+	 * The index is built in the background the first time this is called, and rebuilt
+	 * when the number of items changes.
+	 *
+	 * @param itemName item name
+	 * @param limit maximum number of results
+	 * @return canonical item ids, best match first, or null if the index has not been built yet
+	 */
+	@Nullable
+	public int[] searchItemNames(String itemName, int limit)
+	{
+		assert client.isClientThread() : "searchItemNames must be called on client thread";
+
+		final int itemCount = client.getItemCount();
+		if (itemCount != itemNameIndexItemCount && !itemNameIndexBuilding)
+		{
+			buildItemNameIndex(itemCount);
+		}
+
+		// a stale index is still used while its replacement is built
+		final ItemSearchIndex index = itemNameIndex;
+		return index != null ? index.search(itemName, limit) : null;
+	}
+
+	/**
+	 * Read the item names in batches over several client ticks, so the client thread is not
+	 * stalled reading every item composition at once, and then build the index off it.
+	 */
+	private void buildItemNameIndex(int itemCount)
+	{
+		itemNameIndexBuilding = true;
+
+		final int[] ids = new int[itemCount];
+		final String[] names = new String[itemCount];
+		final int[] progress = new int[2]; // next item id, names read
+		clientThread.invokeLater(() ->
+		{
+			if (client.getItemCount() != itemCount)
+			{
+				// the items changed while reading them, start over on the next search
+				itemNameIndexBuilding = false;
+				return true;
+			}
+
+			final int end = Math.min(progress[0] + ITEM_NAME_BATCH, itemCount);
+			int count = progress[1];
+			for (int i = progress[0]; i < end; ++i)
+			{
+				final ItemComposition itemComposition = client.getItemDefinition(i);
+				// The client assigns "null" to item names of items it doesn't know about
+				if (itemComposition == null || itemComposition.getNote() != -1 || itemComposition.getPlaceholderTemplateId() != -1
+					|| WORN_ITEMS.containsKey(i) || itemComposition.getName().equals("null"))
+				{
+					continue;
+				}
+
+				ids[count] = i;
+				names[count] = itemComposition.getName();
+				++count;
+			}
+			progress[0] = end;
+			progress[1] = count;
+
+			if (end < itemCount)
+			{
+				return false;
+			}
+
+			itemNameIndexItemCount = itemCount;
+			itemNameIndexBuilding = false;
+
+			final int[] indexIds = Arrays.copyOf(ids, count);
+			final String[] indexNames = Arrays.copyOf(names, count);
+			scheduledExecutorService.execute(() ->
+			{
+				itemNameIndex = new ItemSearchIndex(indexIds, indexNames);
+				log.debug("Built item name index of {} items", indexIds.length);
+			});
+			return true;
+		});
+	}
+
 	/**
 	 * Look up an item's composition
 	 *
@@ -406,32 +537,106 @@ public class ItemManager
 		return WORN_ITEMS.getOrDefault(itemID, itemID);
 	}
 
+	private static int imageWeight(Object key, BufferedImage image)
+	{
+		return image.getWidth() * image.getHeight() * Integer.BYTES;
+	}
+
 	/**
-	 * Loads item sprite from game, makes transparent, and generates image
-	 *
-	 * @param itemId
-	 * @return
+	 * Loads item sprite from the icon store, or from the game if it isn't stored.
+	 * Off of the client thread the icon store is checked first, so that panels don't
+	 * need to wait on the client thread for icons which have been rasterized before.
 	 */
-	private AsyncBufferedImage loadImage(int itemId, int quantity, boolean stackable)
+	private AsyncBufferedImage loadImage(ImageKey key)
 	{
 		AsyncBufferedImage img = new AsyncBufferedImage(Constants.ITEM_SPRITE_WIDTH, Constants.ITEM_SPRITE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		if (client.isClientThread())
+		{
+			rasterizeImage(key, img);
+			return img;
+		}
+
+		scheduledExecutorService.execute(() ->
+		{
+			if (openIconStore() && itemIconStore.read(key.pack(), img))
+			{
+				img.loaded();
+				return;
+			}
+
+			rasterizeImage(key, img);
+		});
+		return img;
+	}
+
+	/**
+	 * Creates item sprite from game, makes transparent, and generates image
+	 */
+	private void rasterizeImage(ImageKey key, AsyncBufferedImage img)
+	{
 		clientThread.invoke(() ->
 		{
 			if (client.getGameState().ordinal() < GameState.LOGIN_SCREEN.ordinal())
 			{
 				return false;
 			}
-			SpritePixels sprite = client.createItemSprite(itemId, quantity, 1, SpritePixels.DEFAULT_SHADOW_COLOR,
-				stackable ? 1 : 0, false, CLIENT_DEFAULT_ZOOM);
+			SpritePixels sprite = client.createItemSprite(key.itemId, key.itemQuantity, 1, SpritePixels.DEFAULT_SHADOW_COLOR,
+				key.stackable ? 1 : 0, false, CLIENT_DEFAULT_ZOOM);
 			if (sprite == null)
 			{
 				return false;
 			}
 			sprite.toBufferedImage(img);
 			img.loaded();
+			scheduledExecutorService.execute(() ->
+			{
+				if (openIconStore())
+				{
+					itemIconStore.write(key.pack(), img);
+				}
+			});
 			return true;
 		});
-		return img;
+	}
+
+	/**
+	 * Opens the icon store for the current game cache. The store is keyed by the client revision
+	 * and the item definition file ids, so cache updates which add items invalidate it even if
+	 * the revision doesn't change.
+	 *
+	 * @return true if the store could be opened
+	 */
+	private boolean openIconStore()
+	{
+		if (client.getGameState().ordinal() < GameState.LOGIN_SCREEN.ordinal())
+		{
+			return false;
+		}
+
+		try
+		{
+			final IndexDataBase configs = client.getIndexConfig();
+			final int[] fileIds = configs == null ? null : configs.getFileIds(ITEM_CONFIG_ARCHIVE);
+			if (fileIds == null)
+			{
+				return false;
+			}
+
+			final Hasher hasher = Hashing.murmur3_128().newHasher();
+			hasher.putInt(client.getRevision());
+			for (int fileId : fileIds)
+			{
+				hasher.putInt(fileId);
+			}
+
+			itemIconStore.open(hasher.hash().asLong());
+			return true;
+		}
+		catch (RuntimeException | LinkageError ex)
+		{
+			log.debug("unable to open item icon cache", ex);
+			return false;
+		}
 	}
 
 	/**
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable case-insensitive substring index of item names, built from trigrams of the names.
+ * Results are ranked with exact matches first, then names starting with the search, then names
+ * with a word starting with the search, then any other names containing it. Shorter names are
+ * ranked first within each of those.
+ */
+public class ItemSearchIndex
+{
+	private static final int[] EMPTY = new int[0];
+
+	private final int[] ids;
+	private final String[] names;
+	/**
+	 * trigram -> sorted indexes into ids/names of the names containing it
+	 */
+	private final Map<Long, int[]> trigrams;
+
+	/**
+	 * Build an index. The arrays are not copied and must not be modified afterwards.
+	 *
+	 * @param ids item ids
+	 * @param names item names, in the same order as ids
+	 */
+	public ItemSearchIndex(int[] ids, String[] names)
+	{
+		if (ids.length != names.length)
+		{
+			throw new IllegalArgumentException("ids and names must be the same length");
+		}
+
+		this.ids = ids;
+		this.names = new String[names.length];
+
+		final Map<Long, int[]> postings = new HashMap<>();
+		final Map<Long, Integer> sizes = new HashMap<>();
+		for (int i = 0; i < names.length; ++i)
+		{
+			final String name = names[i].toLowerCase();
+			this.names[i] = name;
+
+			for (int j = 0; j + 3 <= name.length(); ++j)
+			{
+				final long trigram = trigram(name, j);
+				int[] list = postings.get(trigram);
+				int size = sizes.getOrDefault(trigram, 0);
+				if (list == null)
+				{
+					list = new int[4];
+					postings.put(trigram, list);
+				}
+				else if (size > 0 && list[size - 1] == i)
+				{
+					// trigram repeated within this name
+					continue;
+				}
+				else if (size == list.length)
+				{
+					list = Arrays.copyOf(list, size * 2);
+					postings.put(trigram, list);
+				}
+
+				list[size] = i;
+				sizes.put(trigram, size + 1);
+			}
+		}
+
+		postings.replaceAll((trigram, list) -> Arrays.copyOf(list, sizes.get(trigram)));
+		this.trigrams = postings;
+	}
+
+	public int size()
+	{
+		return ids.length;
+	}
+
+	/**
+	 * Search for item names containing the search string
+	 *
+	 * @param search search string, case insensitive
+	 * @param limit maximum number of results
+	 * @return matching item ids, best match first
+	 */
+	public int[] search(String search, int limit)
+	{
+		search = search.toLowerCase();
+		if (search.isEmpty() || limit <= 0)
+		{
+			return EMPTY;
+		}
+
+		final int[] candidates = candidates(search);
+		if (candidates == null)
+		{
+			return EMPTY;
+		}
+
+		// sort by rank, then by name length, then by position in the index
+		long[] matches = new long[Math.min(candidates.length, 64)];
+		int count = 0;
+		for (int i : candidates)
+		{
+			final int rank = rank(names[i], search);
+			if (rank < 0)
+			{
+				continue;
+			}
+
+			if (count == matches.length)
+			{
+				matches = Arrays.copyOf(matches, count * 2);
+			}
+			final long length = Math.min(names[i].length(), 0xFFFF);
+			matches[count++] = ((long) rank << 48) | (length << 32) | i;
+		}
+
+		Arrays.sort(matches, 0, count);
+
+		final int[] result = new int[Math.min(count, limit)];
+		for (int i = 0; i < result.length; ++i)
+		{
+			result[i] = ids[(int) matches[i]];
+		}
+		return result;
+	}
+
+	/**
+	 * Get the indexes of the names which may contain the search
+	 *
+	 * @return candidate indexes, or null if nothing can match
+	 */
+	private int[] candidates(String search)
+	{
+		if (search.length() < 3)
+		{
+			// too short to use the trigrams, every name is a candidate
+			final int[] all = new int[names.length];
+			for (int i = 0; i < all.length; ++i)
+			{
+				all[i] = i;
+			}
+			return all;
+		}
+
+		int[] result = null;
+		for (int j = 0; j + 3 <= search.length(); ++j)
+		{
+			final int[] list = trigrams.get(trigram(search, j));
+			if (list == null)
+			{
+				return null;
+			}
+
+			result = result == null ? list : intersect(result, list);
+			if (result.length == 0)
+			{
+				return null;
+			}
+		}
+		return result;
+	}
+
+	private static int[] intersect(int[] a, int[] b)
+	{
+		final int[] out = new int[Math.min(a.length, b.length)];
+		int i = 0, j = 0, k = 0;
+		while (i < a.length && j < b.length)
+		{
+			if (a[i] < b[j])
+			{
+				++i;
+			}
+			else if (a[i] > b[j])
+			{
+				++j;
+			}
+			else
+			{
+				out[k++] = a[i];
+				++i;
+				++j;
+			}
+		}
+		return k == out.length ? out : Arrays.copyOf(out, k);
+	}
+
+	/**
+	 * Rank how well a name matches the search
+	 *
+	 * @return the rank, lower is better, or -1 if the name does not contain the search
+	 */
+	private static int rank(String name, String search)
+	{
+		final int idx = name.indexOf(search);
+		if (idx == -1)
+		{
+			return -1;
+		}
+
+		if (idx == 0)
+		{
+			return name.length() == search.length() ? 0 : 1;
+		}
+
+		for (int i = idx; i != -1; i = name.indexOf(search, i + 1))
+		{
+			if (!Character.isLetterOrDigit(name.charAt(i - 1)))
+			{
+				return 2;
+			}
+		}
+		return 3;
+	}
+
+	private static long trigram(String s, int offset)
+	{
+		return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+	}
+}
@@ -304,29 +304,51 @@ public class ChatboxItemSearch extends ChatboxTextInput
 		}
 
 		Set<ItemIcon> itemIcons = new HashSet<>();
+		int[] ids = itemManager.searchItemNames(search, Integer.MAX_VALUE);
+		if (ids != null)
+		{
+			// the index only contains canonical items with names, and is already ranked
+			for (int i = 0; i < ids.length && results.size() < MAX_RESULTS; i++)
+			{
+				addResult(itemIcons, itemManager.getItemComposition(ids[i]));
+			}
+			return;
+		}
+
+		// the name index is still being built
 		for (int i = 0; i < client.getItemCount() && results.size() < MAX_RESULTS; i++)
 		{
 			ItemComposition itemComposition = itemManager.getItemComposition(itemManager.canonicalize(i));
 			String name = itemComposition.getName().toLowerCase();
 
 			// The client assigns "null" to item names of items it doesn't know about
-			// and the item might already be in the results from canonicalize
-			if (!name.equals("null") && name.contains(search) && !results.containsKey(itemComposition.getId()))
+			if (!name.equals("null") && name.contains(search))
 			{
-				// Check if the results already contain the same item image
-				ItemIcon itemIcon = new ItemIcon(itemComposition.getInventoryModel(),
-					itemComposition.getColorToReplaceWith(), itemComposition.getTextureToReplaceWith());
-				if (itemIcons.contains(itemIcon))
-				{
-					continue;
-				}
-
-				itemIcons.add(itemIcon);
-				results.put(itemComposition.getId(), itemComposition);
+				addResult(itemIcons, itemComposition);
 			}
 		}
 	}
 
+	private void addResult(Set<ItemIcon> itemIcons, ItemComposition itemComposition)
+	{
+		// The item might already be in the results from canonicalize
+		if (results.containsKey(itemComposition.getId()))
+		{
+			return;
+		}
+
+		// Check if the results already contain the same item image
+		ItemIcon itemIcon = new ItemIcon(itemComposition.getInventoryModel(),
+			itemComposition.getColorToReplaceWith(), itemComposition.getTextureToReplaceWith());
+		if (itemIcons.contains(itemIcon))
+		{
+			return;
+		}
+
+		itemIcons.add(itemIcon);
+		results.put(itemComposition.getId(), itemComposition);
+	}
+
 	public ChatboxItemSearch onItemSelected(Consumer<Integer> onItemSelected)
 	{
 		this.onItemSelected = onItemSelected;
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which writes an index of the core plugins at build time, so
+ * that {@link PluginManager} does not have to scan and load every class in the plugin
+ * package at startup just to find the ones annotated with {@link PluginDescriptor}.
+ * <p>
+ * An incremental compile only passes the changed classes to the processor, so the
+ * entries of the previous index whose classes are still plugins are kept.
+ * <p>
+ * This class is compiled in its own pass (see the client pom) and must only reference
+ * the plugin annotations by name.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_DESCRIPTOR)
+public class PluginIndexProcessor extends AbstractProcessor
+{
+	/**
+	 * Location of the generated index on the classpath
+	 */
+	static final String INDEX = "net/runelite/client/plugins/plugins.json";
+
+	static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN_DEPENDENCY = "net.runelite.client.plugins.PluginDependency";
+	private static final String PLUGIN_DEPENDENCIES = "net.runelite.client.plugins.PluginDependencies";
+
+	private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+	/**
+	 * class name -> index entry, sorted so the index is reproducible
+	 */
+	private final Map<String, JsonObject> plugins = new TreeMap<>();
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv)
+	{
+		super.init(processingEnv);
+		readPreviousIndex();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		if (roundEnv.processingOver())
+		{
+			writeIndex();
+			return false;
+		}
+
+		for (TypeElement annotation : annotations)
+		{
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+			{
+				if (element.getKind() != ElementKind.CLASS)
+				{
+					processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@PluginDescriptor is only valid on classes", element);
+					continue;
+				}
+
+				JsonObject entry = buildEntry((TypeElement) element);
+				plugins.put(entry.get("className").getAsString(), entry);
+			}
+		}
+
+		// other processors (lombok) still need to see the annotations
+		return false;
+	}
+
+	private JsonObject buildEntry(TypeElement type)
+	{
+		JsonObject entry = new JsonObject();
+		entry.addProperty("className", processingEnv.getElementUtils().getBinaryName(type).toString());
+
+		JsonArray dependencies = new JsonArray();
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			String annotationName = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			switch (annotationName)
+			{
+				case PLUGIN_DESCRIPTOR:
+					for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+						: processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet())
+					{
+						// only the attributes the plugin manager filters on before loading the class
+						String key = value.getKey().getSimpleName().toString();
+						Object v = value.getValue().getValue();
+						switch (key)
+						{
+							case "name":
+								entry.addProperty(key, (String) v);
+								break;
+							case "developerPlugin":
+							case "loadWhenOutdated":
+								entry.addProperty(key, (Boolean) v);
+								break;
+						}
+					}
+					break;
+				case PLUGIN_DEPENDENCY:
+					dependencies.add(dependencyName(mirror));
+					break;
+				case PLUGIN_DEPENDENCIES:
+					for (AnnotationValue value : mirror.getElementValues().values())
+					{
+						for (AnnotationValue dependency : (List<? extends AnnotationValue>) value.getValue())
+						{
+							dependencies.add(dependencyName((AnnotationMirror) dependency.getValue()));
+						}
+					}
+					break;
+			}
+		}
+		entry.add("dependencies", dependencies);
+		return entry;
+	}
+
+	private String dependencyName(AnnotationMirror pluginDependency)
+	{
+		for (AnnotationValue value : pluginDependency.getElementValues().values())
+		{
+			TypeMirror typeMirror = (TypeMirror) value.getValue();
+			TypeElement element = (TypeElement) ((DeclaredType) typeMirror).asElement();
+			return processingEnv.getElementUtils().getBinaryName(element).toString();
+		}
+		throw new IllegalStateException("@PluginDependency without value");
+	}
+
+	private void readPreviousIndex()
+	{
+		JsonElement previous;
+		try
+		{
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+			try (Reader reader = file.openReader(true))
+			{
+				previous = new JsonParser().parse(reader);
+			}
+		}
+		catch (IOException | JsonParseException | IllegalArgumentException ex)
+		{
+			// first build
+			return;
+		}
+
+		if (!previous.isJsonArray())
+		{
+			return;
+		}
+
+		for (JsonElement element : previous.getAsJsonArray())
+		{
+			JsonObject entry = element.getAsJsonObject();
+			String className = entry.get("className").getAsString();
+			TypeElement type = processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+			if (type != null && isPlugin(type))
+			{
+				plugins.put(className, entry);
+			}
+		}
+	}
+
+	private static boolean isPlugin(TypeElement type)
+	{
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(PLUGIN_DESCRIPTOR))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeIndex()
+	{
+		JsonArray index = new JsonArray();
+		plugins.values().forEach(index::add);
+
+		try
+		{
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+			try (Writer writer = file.openWriter())
+			{
+				gson.toJson(index, writer);
+			}
+		}
+		catch (IOException ex)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write plugin index: " + ex);
+		}
+	}
+}
@@ -32,12 +32,16 @@ import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -45,15 +49,26 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -87,6 +102,11 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 
+	/**
+	 * Maximum number of threads plugins are instantiated on
+	 */
+	private static final int MAX_LOADER_THREADS = 4;
+
 	private final boolean developerMode;
 	private final boolean safeMode;
 	private final EventBus eventBus;
@@ -239,24 +259,28 @@ public class PluginManager
 		int loaded = 0;
 		for (Plugin plugin : scannedPlugins)
 		{
-			try
+			// Only plugins which are going to be started need a trip through the EDT
+			if (isPluginEnabled(plugin))
 			{
-				SwingUtilities.invokeAndWait(() ->
+				try
 				{
-					try
-					{
-						startPlugin(plugin);
-					}
-					catch (PluginInstantiationException ex)
+					SwingUtilities.invokeAndWait(() ->
 					{
-						log.warn("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
-						plugins.remove(plugin);
-					}
-				});
-			}
-			catch (InterruptedException | InvocationTargetException e)
-			{
-				throw new RuntimeException(e);
+						try
+						{
+							startPlugin(plugin);
+						}
+						catch (PluginInstantiationException ex)
+						{
+							log.warn("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
+							plugins.remove(plugin);
+						}
+					});
+				}
+				catch (InterruptedException | InvocationTargetException e)
+				{
+					throw new RuntimeException(e);
+				}
 			}
 
 			loaded++;
@@ -267,17 +291,42 @@ public class PluginManager
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading Plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
 
+		final BiConsumer<Integer, Integer> onPluginLoaded = (loaded, total) ->
+			SplashScreen.stage(.60, .70, null, "Loading Plugins", loaded, total, false);
+
+		final Map<Class<?>, List<Class<?>>> index = loadPluginIndex();
+		if (index != null)
+		{
+			loadPlugins(new ArrayList<>(index.keySet()), index::get, onPluginLoaded);
+			return;
+		}
+
+		log.warn("Plugin index is missing or inconsistent, falling back to scanning the classpath");
+
+		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
 		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
 			.map(ClassInfo::load)
 			.collect(Collectors.toList());
-
-		loadPlugins(plugins, (loaded, total) ->
-			SplashScreen.stage(.60, .70, null, "Loading Plugins", loaded, total, false));
+		loadPlugins(plugins, onPluginLoaded);
 	}
 
 	public List<Plugin> loadPlugins(List<Class<?>> plugins, BiConsumer<Integer, Integer> onPluginLoaded) throws PluginInstantiationException
+	{
+		return loadPlugins(plugins, clazz -> Arrays.stream(clazz.getAnnotationsByType(PluginDependency.class))
+			.map(PluginDependency::value)
+			.collect(Collectors.toList()), onPluginLoaded);
+	}
+
+	/**
+	 * Instantiate plugins in dependency order
+	 *
+	 * @param plugins plugin classes
+	 * @param dependencies the plugins each plugin depends on
+	 * @param onPluginLoaded progress callback, called on this thread
+	 */
+	private List<Plugin> loadPlugins(List<Class<?>> plugins, Function<Class<?>, List<? extends Class<?>>> dependencies,
+		BiConsumer<Integer, Integer> onPluginLoaded) throws PluginInstantiationException
 	{
 		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
 			.directed()
@@ -327,13 +376,11 @@ public class PluginManager
 		// Build plugin graph
 		for (Class<? extends Plugin> pluginClazz : graph.nodes())
 		{
-			PluginDependency[] pluginDependencies = pluginClazz.getAnnotationsByType(PluginDependency.class);
-
-			for (PluginDependency pluginDependency : pluginDependencies)
+			for (Class<?> dependency : dependencies.apply(pluginClazz))
 			{
-				if (graph.nodes().contains(pluginDependency.value()))
+				if (graph.nodes().contains(dependency))
 				{
-					graph.putEdge(pluginClazz, pluginDependency.value());
+					graph.putEdge(pluginClazz, (Class<? extends Plugin>) dependency);
 				}
 			}
 		}
@@ -346,30 +393,140 @@ public class PluginManager
 		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
 		sortedPlugins = Lists.reverse(sortedPlugins);
 
+		final int total = sortedPlugins.size();
 		int loaded = 0;
 		List<Plugin> newPlugins = new ArrayList<>();
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+
+		// Plugins within a level do not depend on each other, so they are instantiated concurrently.
+		// Plugin injectors are created on the loader threads, which need the client class loader.
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ExecutorService loader = Executors.newFixedThreadPool(
+			Math.max(1, Math.min(MAX_LOADER_THREADS, Runtime.getRuntime().availableProcessors())), r ->
+			{
+				Thread thread = new Thread(r, "Plugin loader " + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setContextClassLoader(classLoader);
+				return thread;
+			});
+		try
 		{
-			Plugin plugin;
-			try
+			for (List<Class<? extends Plugin>> level : dependencyLevels(graph, sortedPlugins))
 			{
-				plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
-				newPlugins.add(plugin);
-				this.plugins.add(plugin);
+				List<Future<Plugin>> futures = new ArrayList<>(level.size());
+				for (Class<? extends Plugin> pluginClazz : level)
+				{
+					futures.add(loader.submit(() -> instantiate(this.plugins, (Class<Plugin>) pluginClazz)));
+				}
+
+				// Results are collected in level order to keep the plugin list deterministic
+				for (Future<Plugin> future : futures)
+				{
+					try
+					{
+						Plugin plugin = future.get();
+						newPlugins.add(plugin);
+						this.plugins.add(plugin);
+					}
+					catch (ExecutionException ex)
+					{
+						log.warn("Error instantiating plugin!", ex.getCause());
+					}
+					catch (InterruptedException ex)
+					{
+						Thread.currentThread().interrupt();
+						throw new PluginInstantiationException(ex);
+					}
+
+					loaded++;
+					if (onPluginLoaded != null)
+					{
+						onPluginLoaded.accept(loaded, total);
+					}
+				}
+			}
+		}
+		finally
+		{
+			loader.shutdownNow();
+		}
+
+		return newPlugins;
+	}
+
+	/**
+	 * Read the plugin index generated by {@link PluginIndexProcessor} and load the plugin classes
+	 * listed in it, skipping plugins which would not be loaded anyway. The index is only used if
+	 * it is consistent with the classes, since a partial build can leave it out of date.
+	 *
+	 * @return the plugin classes and their dependencies, or null if the index is missing or inconsistent
+	 */
+	private Map<Class<?>, List<Class<?>>> loadPluginIndex() throws IOException
+	{
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final List<PluginIndexEntry> entries;
+		try (InputStream in = classLoader.getResourceAsStream(PluginIndexProcessor.INDEX))
+		{
+			if (in == null)
+			{
+				return null;
 			}
-			catch (PluginInstantiationException ex)
+
+			entries = new Gson().fromJson(new InputStreamReader(in, StandardCharsets.UTF_8),
+				new TypeToken<List<PluginIndexEntry>>()
+				{
+				}.getType());
+		}
+
+		if (entries == null || entries.isEmpty())
+		{
+			log.warn("Plugin index is empty");
+			return null;
+		}
+
+		final Set<String> indexed = entries.stream()
+			.map(PluginIndexEntry::getClassName)
+			.collect(Collectors.toSet());
+		final Map<Class<?>, List<Class<?>>> plugins = new LinkedHashMap<>();
+		for (PluginIndexEntry entry : entries)
+		{
+			if ((!entry.isLoadWhenOutdated() && isOutdated)
+				|| (entry.isDeveloperPlugin() && !developerMode))
 			{
-				log.warn("Error instantiating plugin!", ex);
+				continue;
 			}
 
-			loaded++;
-			if (onPluginLoaded != null)
+			try
 			{
-				onPluginLoaded.accept(loaded, sortedPlugins.size());
+				final Class<?> clazz = classLoader.loadClass(entry.getClassName());
+				final PluginDescriptor descriptor = clazz.getAnnotation(PluginDescriptor.class);
+				if (descriptor == null || clazz.getSuperclass() != Plugin.class || !descriptor.name().equals(entry.getName()))
+				{
+					log.warn("Plugin {} in the plugin index does not match its class", entry.getClassName());
+					return null;
+				}
+
+				final List<Class<?>> dependencies = new ArrayList<>();
+				for (String dependency : entry.getDependencies())
+				{
+					if (!indexed.contains(dependency))
+					{
+						log.warn("Dependency {} of plugin {} is not in the plugin index", dependency, entry.getClassName());
+						return null;
+					}
+					dependencies.add(classLoader.loadClass(dependency));
+				}
+				plugins.put(clazz, dependencies);
+			}
+			catch (ClassNotFoundException ex)
+			{
+				log.warn("Plugin {} in the plugin index could not be loaded", entry.getClassName(), ex);
+				return null;
 			}
 		}
 
-		return newPlugins;
+		log.debug("Loaded {} plugin classes from the plugin index", plugins.size());
+		return plugins;
 	}
 
 	public boolean startPlugin(Plugin plugin) throws PluginInstantiationException
@@ -608,6 +765,37 @@ public class PluginManager
 		}
 	}
 
+	/**
+	 * Split topologically sorted plugins into levels, where every plugin only depends on plugins
+	 * in earlier levels.
+	 *
+	 * @param graph plugin dependency graph, with edges from a plugin to its dependencies
+	 * @param sortedPlugins plugins sorted so that dependencies come first
+	 * @return the plugins grouped by level
+	 */
+	private static List<List<Class<? extends Plugin>>> dependencyLevels(Graph<Class<? extends Plugin>> graph,
+		List<Class<? extends Plugin>> sortedPlugins)
+	{
+		Map<Class<? extends Plugin>, Integer> depth = new HashMap<>();
+		List<List<Class<? extends Plugin>>> levels = new ArrayList<>();
+		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		{
+			int level = 0;
+			for (Class<? extends Plugin> dependency : graph.successors(pluginClazz))
+			{
+				level = Math.max(level, depth.get(dependency) + 1);
+			}
+			depth.put(pluginClazz, level);
+
+			if (level == levels.size())
+			{
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(pluginClazz);
+		}
+		return levels;
+	}
+
 	/**
 	 * Topologically sort a graph. Uses Kahn's algorithm.
 	 *
@@ -182,6 +182,8 @@ public class BankTagsPlugin extends Plugin implements MouseWheelListener
 	public void startUp()
 	{
 		cleanConfig();
+		// tags may have changed while the plugin was stopped
+		tagManager.invalidateTagIndex();
 		mouseManager.registerMouseWheelListener(this);
 		clientThread.invokeLater(tabInterface::init);
 		spriteManager.addSpriteOverrides(TabSprites.values());
@@ -437,6 +439,8 @@ public class BankTagsPlugin extends Plugin implements MouseWheelListener
 	@Subscribe
 	public void onConfigChanged(ConfigChanged configChanged)
 	{
+		tagManager.onConfigChanged(configChanged);
+
 		if (configChanged.getGroup().equals(CONFIG_GROUP) && configChanged.getKey().equals("useTabs"))
 		{
 			if (config.tabs())
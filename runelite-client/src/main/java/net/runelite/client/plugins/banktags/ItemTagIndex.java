@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.banktags;
+
+import com.google.common.base.Strings;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import net.runelite.client.util.Text;
+
+/**
+ * Inverted index of bank tags to the config item ids tagged with them. Item ids are the ids
+ * used in the item_ config keys, so variation tags are stored as negative ids.
+ */
+class ItemTagIndex
+{
+	/**
+	 * Item ids of a single tag. Positive ids and negated (variation) ids are kept in separate bitsets.
+	 */
+	private static class ItemSet
+	{
+		private final BitSet items = new BitSet();
+		private final BitSet variations = new BitSet();
+
+		void add(int itemId)
+		{
+			if (itemId >= 0)
+			{
+				items.set(itemId);
+			}
+			else
+			{
+				variations.set(-itemId);
+			}
+		}
+
+		void remove(int itemId)
+		{
+			if (itemId >= 0)
+			{
+				items.clear(itemId);
+			}
+			else
+			{
+				variations.clear(-itemId);
+			}
+		}
+
+		boolean isEmpty()
+		{
+			return items.isEmpty() && variations.isEmpty();
+		}
+
+		void forEach(IntConsumer consumer)
+		{
+			for (int i = items.nextSetBit(0); i >= 0; i = items.nextSetBit(i + 1))
+			{
+				consumer.accept(i);
+			}
+			for (int i = variations.nextSetBit(0); i >= 0; i = variations.nextSetBit(i + 1))
+			{
+				consumer.accept(-i);
+			}
+		}
+	}
+
+	private final Map<String, ItemSet> tagItems = new HashMap<>();
+	private final Map<Integer, Collection<String>> itemTags = new HashMap<>();
+
+	/**
+	 * Replace the tags of an item
+	 *
+	 * @param itemId config item id
+	 * @param tagString the new tag csv, or null if the item no longer has tags
+	 */
+	synchronized void update(int itemId, String tagString)
+	{
+		Collection<String> oldTags = itemTags.remove(itemId);
+		if (oldTags != null)
+		{
+			for (String tag : oldTags)
+			{
+				ItemSet items = tagItems.get(tag);
+				if (items != null)
+				{
+					items.remove(itemId);
+					if (items.isEmpty())
+					{
+						tagItems.remove(tag);
+					}
+				}
+			}
+		}
+
+		if (Strings.isNullOrEmpty(tagString))
+		{
+			return;
+		}
+
+		Collection<String> tags = new LinkedHashSet<>(Text.fromCSV(tagString.toLowerCase()));
+		itemTags.put(itemId, tags);
+		for (String tag : tags)
+		{
+			tagItems.computeIfAbsent(tag, k -> new ItemSet()).add(itemId);
+		}
+	}
+
+	/**
+	 * Run the consumer for every config item id which has the tag
+	 */
+	synchronized void forEachItem(String tag, IntConsumer consumer)
+	{
+		ItemSet items = tagItems.get(tag);
+		if (items != null)
+		{
+			items.forEach(consumer);
+		}
+	}
+
+	synchronized void clear()
+	{
+		tagItems.clear();
+		itemTags.clear();
+	}
+}
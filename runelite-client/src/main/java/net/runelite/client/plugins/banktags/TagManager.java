@@ -26,14 +26,16 @@
 package net.runelite.client.plugins.banktags;
 
 import com.google.common.base.Strings;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.ItemID;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemVariationMapping;
 import static net.runelite.client.plugins.banktags.BankTagsPlugin.CONFIG_GROUP;
@@ -54,6 +56,17 @@ public class TagManager
 	private final ConfigManager configManager;
 	private final ItemManager itemManager;
 	private final ClueScrollService clueScrollService;
+	/**
+	 * Index of the configured tags, guarded by its own lock. It is read from the client
+	 * thread and the EDT, and updated from whichever thread changes the config.
+	 */
+	private final ItemTagIndex tagIndex = new ItemTagIndex();
+	private boolean tagIndexBuilt;
+
+	/**
+	 * The last search and its standardized form, as a pair so they are always read together
+	 */
+	private volatile String[] lastSearch = {null, null};
 
 	@Inject
 	private TagManager(
@@ -96,6 +109,8 @@ public class TagManager
 		{
 			configManager.setConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId, tags);
 		}
+
+		updateTagIndex(itemId, tags);
 	}
 
 	public void addTags(int itemId, final Collection<String> t, boolean variation)
@@ -128,28 +143,144 @@ public class TagManager
 			return true;
 		}
 
+		// the bank filters every item with the same search, so only standardize it once
+		String[] last = lastSearch;
+		if (!search.equals(last[0]))
+		{
+			last = new String[]{search, Text.standardize(search)};
+			lastSearch = last;
+		}
+
+		final String standardizedSearch = last[1];
 		Collection<String> tags = getTags(itemId, false);
 		tags.addAll(getTags(itemId, true));
-		return tags.stream().anyMatch(tag -> tag.startsWith(Text.standardize(search)));
+		return tags.stream().anyMatch(tag -> tag.startsWith(standardizedSearch));
 	}
 
 	public List<Integer> getItemsForTag(String tag)
 	{
-		final String prefix = CONFIG_GROUP + "." + ITEM_KEY_PREFIX;
-		return configManager.getConfigurationKeys(prefix).stream()
-			.map(item -> Integer.parseInt(item.replace(prefix, "")))
-			.filter(item -> getTags(item, false).contains(tag) || getTags(item, true).contains(tag))
-			.collect(Collectors.toList());
+		final List<Integer> indexed = new ArrayList<>();
+		synchronized (tagIndex)
+		{
+			if (!tagIndexBuilt)
+			{
+				buildTagIndex();
+			}
+
+			tagIndex.forEachItem(tag, indexed::add);
+		}
+
+		final Set<Integer> items = new LinkedHashSet<>();
+		for (int itemId : indexed)
+		{
+			// Keys can disappear without a config change event when the profile changes,
+			// so make sure the item is still tagged
+			if (!hasTag(itemId, tag))
+			{
+				continue;
+			}
+
+			items.add(itemId);
+
+			// An item is also returned if it is only tagged through its variation, and vice versa
+			if (itemId < 0)
+			{
+				for (int variation : ItemVariationMapping.getVariations(-itemId))
+				{
+					addIfTagged(items, variation);
+					addIfTagged(items, -variation);
+				}
+			}
+			else
+			{
+				addIfTagged(items, -itemId);
+			}
+		}
+		return new ArrayList<>(items);
 	}
 
 	public void removeTag(String tag)
 	{
+		getItemsForTag(Text.standardize(tag)).forEach(id -> removeTag(id, tag));
+	}
+
+	/**
+	 * Update the tag index after an item tag was changed outside of the tag manager
+	 */
+	void onConfigChanged(ConfigChanged configChanged)
+	{
+		if (!configChanged.getGroup().equals(CONFIG_GROUP) || !configChanged.getKey().startsWith(ITEM_KEY_PREFIX))
+		{
+			return;
+		}
+
+		try
+		{
+			int itemId = Integer.parseInt(configChanged.getKey().substring(ITEM_KEY_PREFIX.length()));
+			updateTagIndex(itemId, configChanged.getNewValue());
+		}
+		catch (NumberFormatException ex)
+		{
+			// not an item tag
+		}
+	}
+
+	/**
+	 * Drop the tag index, it is rebuilt from config on next use
+	 */
+	void invalidateTagIndex()
+	{
+		synchronized (tagIndex)
+		{
+			tagIndexBuilt = false;
+			tagIndex.clear();
+		}
+	}
+
+	private void buildTagIndex()
+	{
+		tagIndex.clear();
+
 		final String prefix = CONFIG_GROUP + "." + ITEM_KEY_PREFIX;
-		configManager.getConfigurationKeys(prefix).forEach(item ->
+		for (String key : configManager.getConfigurationKeys(prefix))
 		{
-			int id = Integer.parseInt(item.replace(prefix, ""));
-			removeTag(id, tag);
-		});
+			try
+			{
+				int itemId = Integer.parseInt(key.substring(prefix.length()));
+				tagIndex.update(itemId, configManager.getConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId));
+			}
+			catch (NumberFormatException ex)
+			{
+				// not an item tag
+			}
+		}
+
+		tagIndexBuilt = true;
+	}
+
+	private void updateTagIndex(int itemId, String tags)
+	{
+		synchronized (tagIndex)
+		{
+			if (tagIndexBuilt)
+			{
+				tagIndex.update(itemId, tags);
+			}
+		}
+	}
+
+	private boolean hasTag(int itemId, String tag)
+	{
+		final String tags = configManager.getConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId);
+		return tags != null && Text.fromCSV(tags.toLowerCase()).contains(tag);
+	}
+
+	private void addIfTagged(Set<Integer> items, int itemId)
+	{
+		if (configManager.getConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId) != null)
+		{
+			items.add(itemId);
+		}
 	}
 
 	public void removeTag(int itemId, String tag)
@@ -165,6 +165,18 @@ public class HotColdClue extends ClueScroll implements LocationClueScroll, Locat
 		// strange device has been tested, show possible locations for final dig spot
 		else
 		{
+			final HotColdLocation bestCheckLocation = hotColdSolver.getBestCheckLocation();
+			if (location == null && bestCheckLocation != null && hotColdSolver.getPossibleLocations().size() > 1)
+			{
+				panelComponent.getChildren().add(LineComponent.builder()
+					.left("Check next:")
+					.build());
+				panelComponent.getChildren().add(LineComponent.builder()
+					.left(bestCheckLocation.getArea())
+					.leftColor(TITLED_CONTENT_COLOR)
+					.build());
+			}
+
 			panelComponent.getChildren().add(LineComponent.builder()
 				.left("Possible locations:")
 				.build());
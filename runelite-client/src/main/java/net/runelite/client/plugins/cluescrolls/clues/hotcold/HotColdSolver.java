@@ -27,6 +27,10 @@ package net.runelite.client.plugins.cluescrolls.clues.hotcold;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -41,17 +45,87 @@ import net.runelite.api.coords.WorldPoint;
  * reach the most warm value to discover the solution point. Hot-cold puzzles in Old School RuneScape are implemented
  * with specific set of solution points, so this solver will filter from a provided set of possible solutions as new
  * signals of temperatures and temperature changes are provided.
+ * <p>
+ * The dig areas of the locations are held in a grid of 64x64 tile cells, so a temperature reading only has to look at
+ * the cells within its range, and the remaining locations are tracked in a bitset.
  */
-@Getter
 public class HotColdSolver
 {
+	private static final int CELL_SHIFT = 6;
+
+	@Getter
 	private final Set<HotColdLocation> possibleLocations;
+	@Getter
 	@Nullable
 	private WorldPoint lastWorldPoint;
 
+	/**
+	 * The initial locations, in enum order
+	 */
+	private final HotColdLocation[] locations;
+	/**
+	 * Dig area bounds of each location, with the max bounds exclusive, as in {@link HotColdLocation#getRect()}
+	 */
+	private final int[] minX;
+	private final int[] minY;
+	private final int[] maxX;
+	private final int[] maxY;
+	/**
+	 * cell -> indexes of the locations whose dig areas overlap it
+	 */
+	private final Map<Integer, int[]> cells = new HashMap<>();
+	/**
+	 * Max distances of the temperatures the device can read, ascending
+	 */
+	private final int[] temperatureBands;
+
+	private final BitSet live;
+	private final BitSet inRange;
+
+	private boolean bestCheckLocationValid;
+	private HotColdLocation bestCheckLocation;
+
 	public HotColdSolver(Set<HotColdLocation> possibleLocations)
 	{
 		this.possibleLocations = possibleLocations;
+
+		locations = possibleLocations.toArray(new HotColdLocation[0]);
+		Arrays.sort(locations);
+
+		final int count = locations.length;
+		minX = new int[count];
+		minY = new int[count];
+		maxX = new int[count];
+		maxY = new int[count];
+		live = new BitSet(count);
+		inRange = new BitSet(count);
+		live.set(0, count);
+
+		final Map<Integer, BitSet> cellLocations = new HashMap<>();
+		for (int i = 0; i < count; ++i)
+		{
+			final Rectangle rect = locations[i].getRect();
+			minX[i] = rect.x;
+			minY[i] = rect.y;
+			maxX[i] = rect.x + rect.width;
+			maxY[i] = rect.y + rect.height;
+
+			for (int cx = minX[i] >> CELL_SHIFT; cx <= (maxX[i] - 1) >> CELL_SHIFT; ++cx)
+			{
+				for (int cy = minY[i] >> CELL_SHIFT; cy <= (maxY[i] - 1) >> CELL_SHIFT; ++cy)
+				{
+					cellLocations.computeIfAbsent(cell(cx, cy), k -> new BitSet()).set(i);
+				}
+			}
+		}
+		cellLocations.forEach((cell, indexes) -> cells.put(cell, indexes.stream().toArray()));
+
+		final boolean beginner = count > 0 && locations[0].isBeginnerClue();
+		temperatureBands = (beginner ? HotColdTemperature.BEGINNER_HOT_COLD_TEMPERATURES : HotColdTemperature.MASTER_HOT_COLD_TEMPERATURES)
+			.stream()
+			.mapToInt(HotColdTemperature::getMaxDistance)
+			.sorted()
+			.toArray();
 	}
 
 	/**
@@ -69,86 +143,205 @@ public class HotColdSolver
 	{
 		// when the strange device reads a temperature, that means that the center of the final dig location
 		// is a range of squares away from the player's current location (Chebyshev AKA Chess-board distance)
-		int maxSquaresAway = temperature.getMaxDistance();
-		int minSquaresAway = temperature.getMinDistance();
-
-		// maxDistanceArea encompasses all of the points that are within the max possible distance from the player
-		final Rectangle maxDistanceArea = new Rectangle(
-			worldPoint.getX() - maxSquaresAway,
-			worldPoint.getY() - maxSquaresAway,
-			2 * maxSquaresAway + 1,
-			2 * maxSquaresAway + 1);
-		// minDistanceArea encompasses all of the points that are within the min possible distance from the player
-		final Rectangle minDistanceArea = new Rectangle(
-			worldPoint.getX() - minSquaresAway,
-			worldPoint.getY() - minSquaresAway,
-			2 * minSquaresAway + 1,
-			2 * minSquaresAway + 1);
-
-		// eliminate from consideration dig spots that lie entirely within the min range or entirely outside of the max range
-		possibleLocations.removeIf(entry -> minDistanceArea.contains(entry.getRect()) || !maxDistanceArea.intersects(entry.getRect()));
-
-		// if a previous world point has been recorded, we can consider the warmer/colder result from the strange device
-		if (lastWorldPoint != null && temperatureChange != null)
+		final int x = worldPoint.getX();
+		final int y = worldPoint.getY();
+		final int maxSquaresAway = temperature.getMaxDistance();
+		final int minSquaresAway = temperature.getMinDistance();
+
+		// eliminate from consideration dig spots that lie entirely outside of the max range
+		queryRange(x - maxSquaresAway, y - maxSquaresAway, x + maxSquaresAway + 1, y + maxSquaresAway + 1);
+		live.and(inRange);
+
+		final WorldPoint lastWorldPoint = this.lastWorldPoint;
+		for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1))
+		{
+			// eliminate dig spots that lie entirely within the min range
+			boolean eliminate = minX[i] >= x - minSquaresAway && maxX[i] <= x + minSquaresAway + 1
+				&& minY[i] >= y - minSquaresAway && maxY[i] <= y + minSquaresAway + 1;
+
+			// if a previous world point has been recorded, we can consider the warmer/colder result from the strange device
+			if (!eliminate && lastWorldPoint != null && temperatureChange != null)
+			{
+				final int lastX = lastWorldPoint.getX();
+				final int lastY = lastWorldPoint.getY();
+				switch (temperatureChange)
+				{
+					case COLDER:
+						// eliminate spots that are absolutely warmer
+						eliminate = isFirstPointCloserRect(x, y, lastX, lastY, i);
+						break;
+					case WARMER:
+						// eliminate spots that are absolutely colder
+						eliminate = isFirstPointCloserRect(lastX, lastY, x, y, i);
+						break;
+					case SAME:
+						// eliminate spots which are absolutely colder or warmer (as they would not yield a SAME temperature change)
+						eliminate = isFirstPointCloserRect(x, y, lastX, lastY, i)
+							|| isFirstPointCloserRect(lastX, lastY, x, y, i);
+				}
+			}
+
+			if (eliminate)
+			{
+				live.clear(i);
+			}
+		}
+
+		// keep the location set in step with the live locations
+		for (int i = 0; i < locations.length; ++i)
 		{
-			switch (temperatureChange)
+			if (!live.get(i))
 			{
-				case COLDER:
-					// eliminate spots that are absolutely warmer
-					possibleLocations.removeIf(entry -> isFirstPointCloserRect(worldPoint, lastWorldPoint, entry.getRect()));
-					break;
-				case WARMER:
-					// eliminate spots that are absolutely colder
-					possibleLocations.removeIf(entry -> isFirstPointCloserRect(lastWorldPoint, worldPoint, entry.getRect()));
-					break;
-				case SAME:
-					// eliminate spots which are absolutely colder or warmer (as they would not yield a SAME temperature change)
-					possibleLocations.removeIf(entry ->
-						isFirstPointCloserRect(worldPoint, lastWorldPoint, entry.getRect())
-						|| isFirstPointCloserRect(lastWorldPoint, worldPoint, entry.getRect()));
+				possibleLocations.remove(locations[i]);
 			}
 		}
 
-		lastWorldPoint = worldPoint;
+		bestCheckLocationValid = false;
+		this.lastWorldPoint = worldPoint;
 		return getPossibleLocations();
 	}
 
 	/**
-	 * Determines whether the first point passed is closer to each corner of the given rectangle than the second point.
+	 * Get the possible location which is the best place to take the next reading from. This is the location which
+	 * minimizes the expected number of possible locations left after the reading, assuming each is equally likely to
+	 * be the solution. The result is cached until the next signal, so this is cheap to call every frame.
 	 *
-	 * @param firstPoint  First point to test. Return result will be relating to this point's location.
-	 * @param secondPoint Second point to test
-	 * @param rect        Rectangle, whose corner points will be compared to the first and second points passed
-	 * @return {@code true} if {@code firstPoint} is closer to each of {@code rect}'s four corner points than
-	 *         {@code secondPoint}, {@code false} otherwise.
-	 * @see WorldPoint#distanceTo2D
+	 * @return the best location to check next, or {@code null} if there are no possible locations
 	 */
-	@VisibleForTesting
-	static boolean isFirstPointCloserRect(final WorldPoint firstPoint, final WorldPoint secondPoint, final Rectangle rect)
+	@Nullable
+	public HotColdLocation getBestCheckLocation()
+	{
+		if (!bestCheckLocationValid)
+		{
+			bestCheckLocation = findBestCheckLocation();
+			bestCheckLocationValid = true;
+		}
+		return bestCheckLocation;
+	}
+
+	private HotColdLocation findBestCheckLocation()
 	{
-		final WorldPoint nePoint = new WorldPoint((rect.x + rect.width), (rect.y + rect.height), 0);
+		// readings further than the coldest temperature all fall in the last band
+		final int[] bandCounts = new int[temperatureBands.length + 1];
+		HotColdLocation best = null;
+		long bestScore = Long.MAX_VALUE;
 
-		if (!isFirstPointCloser(firstPoint, secondPoint, nePoint))
+		for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1))
 		{
-			return false;
+			final WorldPoint from = locations[i].getWorldPoint();
+			Arrays.fill(bandCounts, 0);
+
+			for (int j = live.nextSetBit(0); j >= 0; j = live.nextSetBit(j + 1))
+			{
+				final int distance = from.distanceTo2D(locations[j].getWorldPoint());
+				int band = 0;
+				while (band < temperatureBands.length && distance > temperatureBands[band])
+				{
+					++band;
+				}
+				++bandCounts[band];
+			}
+
+			// the number of locations left after a reading, summed over the locations it could be
+			long score = 0;
+			for (int c : bandCounts)
+			{
+				score += (long) c * c;
+			}
+
+			if (score < bestScore)
+			{
+				bestScore = score;
+				best = locations[i];
+			}
 		}
 
-		final WorldPoint sePoint = new WorldPoint((rect.x + rect.width), rect.y, 0);
+		return best;
+	}
+
+	/**
+	 * Set {@link #inRange} to the locations whose dig areas intersect the given area
+	 */
+	private void queryRange(int x1, int y1, int x2, int y2)
+	{
+		inRange.clear();
 
-		if (!isFirstPointCloser(firstPoint, secondPoint, sePoint))
+		final int cx1 = x1 >> CELL_SHIFT, cx2 = (x2 - 1) >> CELL_SHIFT;
+		final int cy1 = y1 >> CELL_SHIFT, cy2 = (y2 - 1) >> CELL_SHIFT;
+		if ((long) (cx2 - cx1 + 1) * (cy2 - cy1 + 1) > cells.size())
 		{
-			return false;
+			// the area covers more cells than are occupied, so check the occupied cells instead
+			cells.forEach((cell, indexes) ->
+			{
+				final int cx = cell >> 16, cy = cell & 0xFFFF;
+				if (cx >= cx1 && cx <= cx2 && cy >= cy1 && cy <= cy2)
+				{
+					addInRange(indexes, x1, y1, x2, y2);
+				}
+			});
+			return;
 		}
 
-		final WorldPoint nwPoint = new WorldPoint(rect.x, (rect.y + rect.height), 0);
+		for (int cx = cx1; cx <= cx2; ++cx)
+		{
+			for (int cy = cy1; cy <= cy2; ++cy)
+			{
+				final int[] indexes = cells.get(cell(cx, cy));
+				if (indexes != null)
+				{
+					addInRange(indexes, x1, y1, x2, y2);
+				}
+			}
+		}
+	}
 
-		if (!isFirstPointCloser(firstPoint, secondPoint, nwPoint))
+	private void addInRange(int[] indexes, int x1, int y1, int x2, int y2)
+	{
+		for (int i : indexes)
 		{
-			return false;
+			if (minX[i] < x2 && x1 < maxX[i] && minY[i] < y2 && y1 < maxY[i])
+			{
+				inRange.set(i);
+			}
 		}
+	}
 
-		final WorldPoint swPoint = new WorldPoint(rect.x, rect.y, 0);
-		return (isFirstPointCloser(firstPoint, secondPoint, swPoint));
+	private static int cell(int cx, int cy)
+	{
+		return cx << 16 | (cy & 0xFFFF);
+	}
+
+	/**
+	 * Determines whether the first point is closer to each corner of a location's dig area than the second point.
+	 */
+	private boolean isFirstPointCloserRect(int firstX, int firstY, int secondX, int secondY, int location)
+	{
+		return isFirstPointCloserRect(firstX, firstY, secondX, secondY, minX[location], minY[location], maxX[location], maxY[location]);
+	}
+
+	/**
+	 * Determines whether the first point passed is closer to each corner of the given rectangle than the second point.
+	 *
+	 * @param firstPoint  First point to test. Return result will be relating to this point's location.
+	 * @param secondPoint Second point to test
+	 * @param rect        Rectangle, whose corner points will be compared to the first and second points passed
+	 * @return {@code true} if {@code firstPoint} is closer to each of {@code rect}'s four corner points than
+	 *         {@code secondPoint}, {@code false} otherwise.
+	 * @see WorldPoint#distanceTo2D
+	 */
+	@VisibleForTesting
+	static boolean isFirstPointCloserRect(final WorldPoint firstPoint, final WorldPoint secondPoint, final Rectangle rect)
+	{
+		return isFirstPointCloserRect(firstPoint.getX(), firstPoint.getY(), secondPoint.getX(), secondPoint.getY(),
+			rect.x, rect.y, rect.x + rect.width, rect.y + rect.height);
+	}
+
+	private static boolean isFirstPointCloserRect(int firstX, int firstY, int secondX, int secondY, int x1, int y1, int x2, int y2)
+	{
+		return isFirstPointCloser(firstX, firstY, secondX, secondY, x2, y2)
+			&& isFirstPointCloser(firstX, firstY, secondX, secondY, x2, y1)
+			&& isFirstPointCloser(firstX, firstY, secondX, secondY, x1, y2)
+			&& isFirstPointCloser(firstX, firstY, secondX, secondY, x1, y1);
 	}
 
 	/**
@@ -166,4 +359,9 @@ public class HotColdSolver
 	{
 		return firstPoint.distanceTo2D(worldPoint) < secondPoint.distanceTo2D(worldPoint);
 	}
+
+	private static boolean isFirstPointCloser(int firstX, int firstY, int secondX, int secondY, int x, int y)
+	{
+		return Math.max(Math.abs(firstX - x), Math.abs(firstY - y)) < Math.max(Math.abs(secondX - x), Math.abs(secondY - y));
+	}
 }
@@ -52,15 +52,47 @@ class GpuIntBuffer
 		buffer.clear();
 	}
 
+	/**
+	 * Append the values of an array
+	 */
+	void put(int[] values)
+	{
+		buffer.put(values);
+	}
+
+	/**
+	 * Copy values which were previously written, starting at an absolute index, into an array
+	 */
+	void get(int index, int[] dst)
+	{
+		IntBuffer src = buffer.duplicate();
+		src.position(index);
+		src.get(dst);
+	}
+
+	int position()
+	{
+		return buffer.position();
+	}
+
 	void ensureCapacity(int size)
 	{
-		while (buffer.remaining() < size)
+		if (buffer.remaining() >= size)
 		{
-			IntBuffer newB = allocateDirect(buffer.capacity() * 2);
-			buffer.flip();
-			newB.put(buffer);
-			buffer = newB;
+			return;
 		}
+
+		// grow straight to the required size so the contents are copied only once
+		int capacity = buffer.capacity();
+		while (capacity - buffer.position() < size)
+		{
+			capacity *= 2;
+		}
+
+		IntBuffer newB = allocateDirect(capacity);
+		buffer.flip();
+		newB.put(buffer);
+		buffer = newB;
 	}
 
 	IntBuffer getBuffer()
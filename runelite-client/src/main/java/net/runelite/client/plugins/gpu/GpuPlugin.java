@@ -488,6 +488,8 @@ public class GpuPlugin extends Plugin implements DrawCallbacks
 			modelBuffer = null;
 			modelBufferUnordered = null;
 
+			sceneUploader.clearCache();
+
 			// force main buffer provider rebuild to turn off alpha channel
 			client.resizeCanvas();
 		});
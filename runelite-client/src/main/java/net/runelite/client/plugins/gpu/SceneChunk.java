@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.gpu;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The packed vertex and uv data of one chunk of the scene, as written by the {@link SceneUploader}.
+ * Each element of the chunk (a tile paint, tile model or model) has a signature describing its
+ * shape, which is compared against the scene being uploaded before the data is reused, and the
+ * number of vertices it wrote.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter(AccessLevel.PACKAGE)
+class SceneChunk
+{
+	private final long[] signatures;
+	/**
+	 * vertex count of each element, or -1 for a model which was already uploaded by another chunk
+	 */
+	private final int[] lengths;
+	private final int[] vertices;
+	private final float[] uvs;
+
+	/**
+	 * Check if this chunk was built from elements with the given signatures
+	 */
+	boolean matches(long[] signatures, int count)
+	{
+		if (count != this.signatures.length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < count; ++i)
+		{
+			if (signatures[i] != this.signatures[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Approximate size of this chunk, in bytes
+	 */
+	int weight()
+	{
+		return signatures.length * Long.BYTES + lengths.length * Integer.BYTES
+			+ vertices.length * Integer.BYTES + uvs.length * Float.BYTES;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.gpu;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * Least recently used cache of {@link SceneChunk}s, bounded by their total size
+ */
+class SceneChunkCache
+{
+	@Value
+	static class Key
+	{
+		int revision;
+		int plane;
+		/**
+		 * world chunk coordinates, or a hash of the surrounding template chunks in instances
+		 */
+		long location;
+		/**
+		 * hash of the xtea keys of the map regions the chunk is built from
+		 */
+		long map;
+	}
+
+	private final Map<Key, SceneChunk> chunks = new LinkedHashMap<>(256, 0.75f, true);
+	private final int maxWeight;
+	private int weight;
+
+	SceneChunkCache(int maxWeight)
+	{
+		this.maxWeight = maxWeight;
+	}
+
+	SceneChunk get(Key key)
+	{
+		return chunks.get(key);
+	}
+
+	void put(Key key, SceneChunk chunk)
+	{
+		SceneChunk old = chunks.put(key, chunk);
+		if (old != null)
+		{
+			weight -= old.weight();
+		}
+		weight += chunk.weight();
+
+		Iterator<SceneChunk> it = chunks.values().iterator();
+		while (weight > maxWeight && it.hasNext())
+		{
+			weight -= it.next().weight();
+			it.remove();
+		}
+	}
+
+	void clear()
+	{
+		chunks.clear();
+		weight = 0;
+	}
+
+	int size()
+	{
+		return chunks.size();
+	}
+}
@@ -24,6 +24,9 @@
  */
 package net.runelite.client.plugins.gpu;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.Client;
@@ -39,6 +42,7 @@ import net.runelite.api.Scene;
 import net.runelite.api.SceneTileModel;
 import net.runelite.api.SceneTilePaint;
 import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
 import net.runelite.api.WallObject;
 
 @Singleton
@@ -47,25 +51,50 @@ class SceneUploader
 	@Inject
 	private Client client;
 
+	private static final int CHUNK_SIZE = 8;
+	private static final int SCENE_CHUNKS = Constants.SCENE_SIZE / CHUNK_SIZE;
+	private static final int MAX_CACHE_WEIGHT = 32 * 1024 * 1024;
+
+	private static final int KIND_PAINT = 0;
+	private static final int KIND_TILE_MODEL = 1;
+	private static final int KIND_MODEL = 2;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
 	int sceneId = (int) (System.currentTimeMillis() / 1000L);
 	private int offset;
 	private int uvoffset;
 
+	private final SceneChunkCache chunkCache = new SceneChunkCache(MAX_CACHE_WEIGHT);
+	/**
+	 * elements of the chunk being uploaded, the tile for paints and tile models and otherwise the model
+	 */
+	private final List<Object> elements = new ArrayList<>();
+	/**
+	 * hash of the xtea keys of all loaded map regions, while in an instance
+	 */
+	private long instanceMapHash;
+	private long[] signatures = new long[64];
+	private int[] lengths = new int[64];
+
 	void upload(Scene scene, GpuIntBuffer vertexbuffer, GpuFloatBuffer uvBuffer)
 	{
 		++sceneId;
+		instanceMapHash = client.isInInstancedRegion() ? hashMapKeys(FNV_OFFSET, -1) : 0;
 		offset = 0;
 		uvoffset = 0;
 		vertexbuffer.clear();
 		uvBuffer.clear();
 
+		final Tile[][][] tiles = scene.getTiles();
 		for (int z = 0; z < Constants.MAX_Z; ++z)
 		{
 			for (int x = 0; x < Constants.SCENE_SIZE; ++x)
 			{
 				for (int y = 0; y < Constants.SCENE_SIZE; ++y)
 				{
-					Tile tile = scene.getTiles()[z][x][y];
+					Tile tile = tiles[z][x][y];
 					if (tile != null)
 					{
 						reset(tile);
@@ -76,18 +105,128 @@ class SceneUploader
 
 		for (int z = 0; z < Constants.MAX_Z; ++z)
 		{
-			for (int x = 0; x < Constants.SCENE_SIZE; ++x)
+			for (int cx = 0; cx < SCENE_CHUNKS; ++cx)
 			{
-				for (int y = 0; y < Constants.SCENE_SIZE; ++y)
+				for (int cy = 0; cy < SCENE_CHUNKS; ++cy)
 				{
-					Tile tile = scene.getTiles()[z][x][y];
-					if (tile != null)
+					elements.clear();
+					for (int x = cx * CHUNK_SIZE; x < (cx + 1) * CHUNK_SIZE; ++x)
+					{
+						for (int y = cy * CHUNK_SIZE; y < (cy + 1) * CHUNK_SIZE; ++y)
+						{
+							Tile tile = tiles[z][x][y];
+							if (tile != null)
+							{
+								addElements(tile);
+							}
+						}
+					}
+
+					if (elements.isEmpty())
+					{
+						continue;
+					}
+
+					// the lighting of the chunks on the edge of the scene depends on what is loaded around them
+					final boolean cacheable = cx > 0 && cy > 0 && cx < SCENE_CHUNKS - 1 && cy < SCENE_CHUNKS - 1;
+					final SceneChunkCache.Key key = cacheable ? chunkKey(z, cx, cy) : null;
+					final SceneChunk chunk = key != null ? chunkCache.get(key) : null;
+					if (chunk != null && chunk.matches(signatures, elements.size()))
+					{
+						uploadCached(chunk, vertexbuffer, uvBuffer);
+						continue;
+					}
+
+					final int vertexStart = vertexbuffer.position();
+					final int uvStart = uvBuffer.position();
+					uploadElements(vertexbuffer, uvBuffer);
+
+					if (key != null)
+					{
+						final int count = elements.size();
+						final int[] vertices = new int[vertexbuffer.position() - vertexStart];
+						final float[] uvs = new float[uvBuffer.position() - uvStart];
+						vertexbuffer.get(vertexStart, vertices);
+						uvBuffer.get(uvStart, uvs);
+						chunkCache.put(key, new SceneChunk(Arrays.copyOf(signatures, count), Arrays.copyOf(lengths, count), vertices, uvs));
+					}
+				}
+			}
+		}
+	}
+
+	void clearCache()
+	{
+		chunkCache.clear();
+	}
+
+	/**
+	 * Get the cache key of a chunk. Besides its location, the key includes the xtea keys of the map
+	 * regions it is built from, which change when the contents of the regions are updated.
+	 */
+	private SceneChunkCache.Key chunkKey(int plane, int chunkX, int chunkY)
+	{
+		long location;
+		long map;
+		if (client.isInInstancedRegion())
+		{
+			// the chunk is built from its template, and bridges and lighting also depend on its neighbours
+			final int[][][] templates = client.getInstanceTemplateChunks();
+			long hash = FNV_OFFSET;
+			for (int z = 0; z < Constants.MAX_Z; ++z)
+			{
+				for (int x = chunkX - 1; x <= chunkX + 1; ++x)
+				{
+					for (int y = chunkY - 1; y <= chunkY + 1; ++y)
 					{
-						upload(tile, vertexbuffer, uvBuffer);
+						hash = (hash ^ templates[z][x][y]) * FNV_PRIME;
 					}
 				}
 			}
+			location = hash | Long.MIN_VALUE;
+			map = instanceMapHash;
+		}
+		else
+		{
+			final int worldChunkX = (client.getBaseX() >> 3) + chunkX;
+			final int worldChunkY = (client.getBaseY() >> 3) + chunkY;
+			location = (long) worldChunkX << 32 | worldChunkY;
+			map = hashMapKeys(FNV_OFFSET, (worldChunkX >> 3) << 8 | (worldChunkY >> 3));
+		}
+		return new SceneChunkCache.Key(client.getRevision(), plane, location, map);
+	}
+
+	/**
+	 * Hash the xtea keys of a loaded map region
+	 *
+	 * @param regionId the region, or -1 for every loaded region
+	 */
+	private long hashMapKeys(long hash, int regionId)
+	{
+		final int[] regions = client.getMapRegions();
+		final int[][] xteaKeys = client.getXteaKeys();
+		if (regions == null || xteaKeys == null)
+		{
+			return hash;
+		}
+
+		for (int i = 0; i < regions.length && i < xteaKeys.length; ++i)
+		{
+			if (regionId != -1 && regions[i] != regionId)
+			{
+				continue;
+			}
+
+			hash = (hash ^ regions[i]) * FNV_PRIME;
+			if (xteaKeys[i] != null)
+			{
+				for (int key : xteaKeys[i])
+				{
+					hash = (hash ^ key) * FNV_PRIME;
+				}
+			}
 		}
+		return hash;
 	}
 
 	private void reset(Tile tile)
@@ -155,120 +294,272 @@ class SceneUploader
 		}
 	}
 
-	private void upload(Tile tile, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	/**
+	 * Add the paint, tile model and models of a tile to the elements of the current chunk
+	 */
+	private void addElements(Tile tile)
 	{
 		Tile bridge = tile.getBridge();
 		if (bridge != null)
 		{
-			upload(bridge, vertexBuffer, uvBuffer);
+			addElements(bridge);
 		}
 
 		SceneTilePaint sceneTilePaint = tile.getSceneTilePaint();
 		if (sceneTilePaint != null)
 		{
-			sceneTilePaint.setBufferOffset(offset);
-			if (sceneTilePaint.getTexture() != -1)
-			{
-				sceneTilePaint.setUvBufferOffset(uvoffset);
-			}
-			else
-			{
-				sceneTilePaint.setUvBufferOffset(-1);
-			}
-			Point tilePoint = tile.getSceneLocation();
-			int len = upload(sceneTilePaint,
-				tile.getRenderLevel(), tilePoint.getX(), tilePoint.getY(),
-				vertexBuffer, uvBuffer,
-				0, 0, false);
-			sceneTilePaint.setBufferLen(len);
-			offset += len;
-			if (sceneTilePaint.getTexture() != -1)
-			{
-				uvoffset += len;
-			}
+			addElement(tile, signature(KIND_PAINT, 0, sceneTilePaint.getTexture() != -1, paintHash(tile, sceneTilePaint)));
 		}
 
 		SceneTileModel sceneTileModel = tile.getSceneTileModel();
 		if (sceneTileModel != null)
 		{
-			sceneTileModel.setBufferOffset(offset);
-			if (sceneTileModel.getTriangleTextureId() != null)
-			{
-				sceneTileModel.setUvBufferOffset(uvoffset);
-			}
-			else
-			{
-				sceneTileModel.setUvBufferOffset(-1);
-			}
-			Point tilePoint = tile.getSceneLocation();
-			int len = upload(sceneTileModel,
-				tilePoint.getX(), tilePoint.getY(),
-				vertexBuffer, uvBuffer,
-				0, 0, false);
-			sceneTileModel.setBufferLen(len);
-			offset += len;
-			if (sceneTileModel.getTriangleTextureId() != null)
-			{
-				uvoffset += len;
-			}
+			addElement(tile, signature(KIND_TILE_MODEL, sceneTileModel.getFaceX().length, sceneTileModel.getTriangleTextureId() != null,
+				tileModelHash(sceneTileModel)));
 		}
 
 		WallObject wallObject = tile.getWallObject();
 		if (wallObject != null)
 		{
-			Renderable renderable1 = wallObject.getRenderable1();
-			if (renderable1 instanceof Model)
-			{
-				uploadModel((Model) renderable1, vertexBuffer, uvBuffer);
-			}
-
-			Renderable renderable2 = wallObject.getRenderable2();
-			if (renderable2 instanceof Model)
-			{
-				uploadModel((Model) renderable2, vertexBuffer, uvBuffer);
-			}
+			addModel(wallObject.getRenderable1(), wallObject);
+			addModel(wallObject.getRenderable2(), wallObject);
 		}
 
 		GroundObject groundObject = tile.getGroundObject();
 		if (groundObject != null)
 		{
-			Renderable renderable = groundObject.getRenderable();
-			if (renderable instanceof Model)
-			{
-				uploadModel((Model) renderable, vertexBuffer, uvBuffer);
-			}
+			addModel(groundObject.getRenderable(), groundObject);
 		}
 
 		DecorativeObject decorativeObject = tile.getDecorativeObject();
 		if (decorativeObject != null)
 		{
-			Renderable renderable = decorativeObject.getRenderable();
-			if (renderable instanceof Model)
+			addModel(decorativeObject.getRenderable(), decorativeObject);
+			addModel(decorativeObject.getRenderable2(), decorativeObject);
+		}
+
+		GameObject[] gameObjects = tile.getGameObjects();
+		for (GameObject gameObject : gameObjects)
+		{
+			if (gameObject != null)
 			{
-				uploadModel((Model) renderable, vertexBuffer, uvBuffer);
+				addModel(gameObject.getRenderable(), gameObject);
 			}
+		}
+	}
+
+	private void addModel(Renderable renderable, TileObject tileObject)
+	{
+		if (renderable instanceof Model)
+		{
+			Model model = (Model) renderable;
+			long hash = tileObject.getHash();
+			hash = hash * 31 + Arrays.hashCode(model.getFaceColors1());
+			hash = hash * 31 + Arrays.hashCode(model.getFaceColors2());
+			hash = hash * 31 + Arrays.hashCode(model.getFaceColors3());
+			addElement(model, signature(KIND_MODEL, model.getTrianglesCount(), model.getFaceTextures() != null, hash));
+		}
+	}
+
+	/**
+	 * Hash what a tile paint is uploaded from. The colours are lit by the surrounding locs, so they
+	 * can change without anything else in the chunk changing.
+	 */
+	private long paintHash(Tile tile, SceneTilePaint paint)
+	{
+		final int[][] heights = client.getTileHeights()[tile.getRenderLevel()];
+		final Point point = tile.getSceneLocation();
+		final int x = point.getX();
+		final int y = point.getY();
+
+		long hash = paint.getTexture();
+		hash = hash * 31 + paint.getSwColor();
+		hash = hash * 31 + paint.getSeColor();
+		hash = hash * 31 + paint.getNeColor();
+		hash = hash * 31 + paint.getNwColor();
+		hash = hash * 31 + heights[x][y];
+		hash = hash * 31 + heights[x + 1][y];
+		hash = hash * 31 + heights[x + 1][y + 1];
+		hash = hash * 31 + heights[x][y + 1];
+		return hash;
+	}
+
+	/**
+	 * Hash what a tile model is uploaded from
+	 */
+	private static long tileModelHash(SceneTileModel model)
+	{
+		long hash = Arrays.hashCode(model.getTriangleColorA());
+		hash = hash * 31 + Arrays.hashCode(model.getTriangleColorB());
+		hash = hash * 31 + Arrays.hashCode(model.getTriangleColorC());
+		hash = hash * 31 + Arrays.hashCode(model.getTriangleTextureId());
+		hash = hash * 31 + Arrays.hashCode(model.getFaceX());
+		hash = hash * 31 + Arrays.hashCode(model.getFaceY());
+		hash = hash * 31 + Arrays.hashCode(model.getFaceZ());
+		hash = hash * 31 + Arrays.hashCode(model.getVertexX());
+		hash = hash * 31 + Arrays.hashCode(model.getVertexY());
+		hash = hash * 31 + Arrays.hashCode(model.getVertexZ());
+		return hash;
+	}
+
+	private void addElement(Object element, long signature)
+	{
+		final int index = elements.size();
+		if (index == signatures.length)
+		{
+			signatures = Arrays.copyOf(signatures, index * 2);
+			lengths = Arrays.copyOf(lengths, index * 2);
+		}
+
+		elements.add(element);
+		signatures[index] = signature;
+	}
+
+	private static long signature(int kind, int count, boolean textured, long hash)
+	{
+		return (hash * 31 + count) << 3 | (textured ? 4 : 0) | kind;
+	}
 
-			Renderable renderable2 = decorativeObject.getRenderable2();
-			if (renderable2 instanceof Model)
+	private void uploadElements(GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	{
+		for (int i = 0; i < elements.size(); ++i)
+		{
+			final Object element = elements.get(i);
+			switch ((int) (signatures[i] & 3))
 			{
-				uploadModel((Model) renderable2, vertexBuffer, uvBuffer);
+				case KIND_PAINT:
+					lengths[i] = uploadPaint((Tile) element, vertexBuffer, uvBuffer);
+					break;
+				case KIND_TILE_MODEL:
+					lengths[i] = uploadTileModel((Tile) element, vertexBuffer, uvBuffer);
+					break;
+				default:
+					lengths[i] = uploadModel((Model) element, vertexBuffer, uvBuffer);
+					break;
 			}
 		}
+	}
 
-		GameObject[] gameObjects = tile.getGameObjects();
-		for (GameObject gameObject : gameObjects)
-		{
-			if (gameObject == null)
+	/**
+	 * Copy the data of a cached chunk into the buffers and point the elements of the current chunk at it
+	 */
+	private void uploadCached(SceneChunk chunk, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	{
+		final int[] vertices = chunk.getVertices();
+		final float[] uvs = chunk.getUvs();
+		vertexBuffer.ensureCapacity(vertices.length);
+		uvBuffer.ensureCapacity(uvs.length);
+		vertexBuffer.put(vertices);
+		uvBuffer.put(uvs);
+
+		final int[] chunkLengths = chunk.getLengths();
+		int shared = 0;
+		for (int i = 0; i < elements.size(); ++i)
+		{
+			final int len = chunkLengths[i];
+			final boolean textured = (signatures[i] & 4) != 0;
+			switch ((int) (signatures[i] & 3))
 			{
-				continue;
+				case KIND_PAINT:
+				{
+					SceneTilePaint sceneTilePaint = ((Tile) elements.get(i)).getSceneTilePaint();
+					sceneTilePaint.setBufferOffset(offset);
+					sceneTilePaint.setUvBufferOffset(textured ? uvoffset : -1);
+					sceneTilePaint.setBufferLen(len);
+					break;
+				}
+				case KIND_TILE_MODEL:
+				{
+					SceneTileModel sceneTileModel = ((Tile) elements.get(i)).getSceneTileModel();
+					sceneTileModel.setBufferOffset(offset);
+					sceneTileModel.setUvBufferOffset(textured ? uvoffset : -1);
+					sceneTileModel.setBufferLen(len);
+					break;
+				}
+				default:
+				{
+					Model model = (Model) elements.get(i);
+					if (len == -1)
+					{
+						// this model was uploaded by another chunk when this one was built
+						elements.set(shared++, model);
+						continue;
+					}
+
+					if (model.getBufferOffset() <= 0)
+					{
+						model.setBufferOffset(offset);
+						model.setUvBufferOffset(textured ? uvoffset : -1);
+						model.setSceneId(sceneId);
+					}
+					break;
+				}
 			}
 
-			Renderable renderable = gameObject.getRenderable();
-			if (renderable instanceof Model)
+			offset += len;
+			if (textured)
 			{
-				uploadModel((Model) gameObject.getRenderable(), vertexBuffer, uvBuffer);
+				uvoffset += len;
 			}
 		}
+
+		// the chunk which uploaded the shared models may not have been uploaded yet
+		for (int i = 0; i < shared; ++i)
+		{
+			uploadModel((Model) elements.get(i), vertexBuffer, uvBuffer);
+		}
+	}
+
+	private int uploadPaint(Tile tile, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	{
+		SceneTilePaint sceneTilePaint = tile.getSceneTilePaint();
+		sceneTilePaint.setBufferOffset(offset);
+		if (sceneTilePaint.getTexture() != -1)
+		{
+			sceneTilePaint.setUvBufferOffset(uvoffset);
+		}
+		else
+		{
+			sceneTilePaint.setUvBufferOffset(-1);
+		}
+		Point tilePoint = tile.getSceneLocation();
+		int len = upload(sceneTilePaint,
+			tile.getRenderLevel(), tilePoint.getX(), tilePoint.getY(),
+			vertexBuffer, uvBuffer,
+			0, 0, false);
+		sceneTilePaint.setBufferLen(len);
+		offset += len;
+		if (sceneTilePaint.getTexture() != -1)
+		{
+			uvoffset += len;
+		}
+		return len;
+	}
+
+	private int uploadTileModel(Tile tile, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	{
+		SceneTileModel sceneTileModel = tile.getSceneTileModel();
+		sceneTileModel.setBufferOffset(offset);
+		if (sceneTileModel.getTriangleTextureId() != null)
+		{
+			sceneTileModel.setUvBufferOffset(uvoffset);
+		}
+		else
+		{
+			sceneTileModel.setUvBufferOffset(-1);
+		}
+		Point tilePoint = tile.getSceneLocation();
+		int len = upload(sceneTileModel,
+			tilePoint.getX(), tilePoint.getY(),
+			vertexBuffer, uvBuffer,
+			0, 0, false);
+		sceneTileModel.setBufferLen(len);
+		offset += len;
+		if (sceneTileModel.getTriangleTextureId() != null)
+		{
+			uvoffset += len;
+		}
+		return len;
 	}
 
 	int upload(SceneTilePaint tile, int tileZ, int tileX, int tileY, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer,
@@ -422,11 +713,14 @@ class SceneUploader
 		return cnt;
 	}
 
-	private void uploadModel(Model model, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	/**
+	 * @return the number of vertices uploaded, or -1 if the model was already uploaded
+	 */
+	private int uploadModel(Model model, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
 	{
 		if (model.getBufferOffset() > 0)
 		{
-			return;
+			return -1;
 		}
 
 		model.setBufferOffset(offset);
@@ -455,6 +749,7 @@ class SceneUploader
 		{
 			uvoffset += len;
 		}
+		return len;
 	}
 
 	int pushFace(Model model, int face, boolean padUvs, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer,
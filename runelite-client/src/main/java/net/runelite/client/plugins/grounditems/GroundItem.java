@@ -44,7 +44,6 @@ class GroundItem
 	private int height;
 	private int haPrice;
 	private int gePrice;
-	private int offset;
 	private boolean tradeable;
 	@Nonnull
 	private LootType lootType;
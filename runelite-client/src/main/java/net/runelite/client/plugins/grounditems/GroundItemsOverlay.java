@@ -36,18 +36,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
 import net.runelite.api.Player;
 import net.runelite.api.Point;
 import net.runelite.api.coords.LocalPoint;
-import net.runelite.api.coords.WorldPoint;
 import static net.runelite.client.plugins.grounditems.config.ItemHighlightMode.MENU;
-import net.runelite.client.plugins.grounditems.config.PriceDisplayMode;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -55,7 +51,6 @@ import net.runelite.client.ui.overlay.OverlayUtil;
 import net.runelite.client.ui.overlay.components.BackgroundComponent;
 import net.runelite.client.ui.overlay.components.ProgressPieComponent;
 import net.runelite.client.ui.overlay.components.TextComponent;
-import net.runelite.client.util.QuantityFormatter;
 import org.apache.commons.lang3.ArrayUtils;
 
 public class GroundItemsOverlay extends Overlay
@@ -64,9 +59,6 @@ public class GroundItemsOverlay extends Overlay
 	// We must offset the text on the z-axis such that
 	// it doesn't obscure the ground items below it.
 	private static final int OFFSET_Z = 20;
-	// The game won't send anything higher than this value to the plugin -
-	// so we replace any item quantity higher with "Lots" instead.
-	private static final int MAX_QUANTITY = 65535;
 	// The 15 pixel gap between each drawn ground item.
 	private static final int STRING_GAP = 15;
 	// Size of the hidden/highlight boxes
@@ -82,11 +74,9 @@ public class GroundItemsOverlay extends Overlay
 	private final Client client;
 	private final GroundItemsPlugin plugin;
 	private final GroundItemsConfig config;
-	private final StringBuilder itemStringBuilder = new StringBuilder();
 	private final BackgroundComponent backgroundComponent = new BackgroundComponent();
 	private final TextComponent textComponent = new TextComponent();
 	private final ProgressPieComponent progressPieComponent = new ProgressPieComponent();
-	private final Map<WorldPoint, Integer> offsetMap = new HashMap<>();
 
 	@Inject
 	private GroundItemsOverlay(Client client, GroundItemsPlugin plugin, GroundItemsConfig config)
@@ -116,58 +106,42 @@ public class GroundItemsOverlay extends Overlay
 			return null;
 		}
 
-		offsetMap.clear();
 		final LocalPoint localLocation = player.getLocalLocation();
 		final Point mousePos = client.getMouseCanvasPosition();
-		Collection<GroundItem> groundItemList = plugin.getCollectedGroundItems().values();
+		List<GroundItemLabel> labels = plugin.getLabels();
 		GroundItem topGroundItem = null;
 
 		if (plugin.isHotKeyPressed())
 		{
-			// Make copy of ground items because we are going to modify them here, and the array list supports our
-			// desired behaviour here
-			groundItemList = new ArrayList<>(groundItemList);
 			final java.awt.Point awtMousePos = new java.awt.Point(mousePos.getX(), mousePos.getY());
-			GroundItem groundItem = null;
+			GroundItemLabel topLabel = null;
 
-			for (GroundItem item : groundItemList)
+			for (GroundItemLabel label : labels)
 			{
-				item.setOffset(offsetMap.compute(item.getLocation(), (k, v) -> v != null ? v + 1 : 0));
+				final GroundItem item = label.getItem();
 
-				if (groundItem != null)
-				{
-					continue;
-				}
-
-				if (plugin.getTextBoxBounds() != null
+				if ((plugin.getTextBoxBounds() != null
 					&& item.equals(plugin.getTextBoxBounds().getValue())
 					&& plugin.getTextBoxBounds().getKey().contains(awtMousePos))
-				{
-					groundItem = item;
-					continue;
-				}
-
-				if (plugin.getHiddenBoxBounds() != null
+					|| (plugin.getHiddenBoxBounds() != null
 					&& item.equals(plugin.getHiddenBoxBounds().getValue())
 					&& plugin.getHiddenBoxBounds().getKey().contains(awtMousePos))
-				{
-					groundItem = item;
-					continue;
-				}
-
-				if (plugin.getHighlightBoxBounds() != null
+					|| (plugin.getHighlightBoxBounds() != null
 					&& item.equals(plugin.getHighlightBoxBounds().getValue())
-					&& plugin.getHighlightBoxBounds().getKey().contains(awtMousePos))
+					&& plugin.getHighlightBoxBounds().getKey().contains(awtMousePos)))
 				{
-					groundItem = item;
+					topLabel = label;
+					break;
 				}
 			}
 
-			if (groundItem != null)
+			if (topLabel != null)
 			{
-				groundItemList.remove(groundItem);
-				groundItemList.add(groundItem);
-				topGroundItem = groundItem;
+				// Draw the hovered item last so it is on top
+				labels = new ArrayList<>(labels);
+				labels.remove(topLabel);
+				labels.add(topLabel);
+				topGroundItem = topLabel.getItem();
 			}
 		}
 
@@ -175,41 +149,29 @@ public class GroundItemsOverlay extends Overlay
 		plugin.setHiddenBoxBounds(null);
 		plugin.setHighlightBoxBounds(null);
 
-		final boolean onlyShowLoot = config.onlyShowLoot();
 		final boolean groundItemTimers = config.groundItemTimers();
 		final boolean outline = config.textOutline();
+		final boolean highlightTiles = config.highlightTiles();
 
-		for (GroundItem item : groundItemList)
+		for (GroundItemLabel label : labels)
 		{
-			final LocalPoint groundPoint = LocalPoint.fromWorld(client, item.getLocation());
-
-			if (groundPoint == null || localLocation.distanceTo(groundPoint) > MAX_DISTANCE
-				|| (onlyShowLoot && !item.isMine()))
+			// Do not display hidden items, or non-highlighted items if only showing highlighted items
+			if (!label.isVisible() && !plugin.isHotKeyPressed())
 			{
 				continue;
 			}
 
-			final Color highlighted = plugin.getHighlighted(new NamedQuantity(item), item.getGePrice(), item.getHaPrice());
-			final Color hidden = plugin.getHidden(new NamedQuantity(item), item.getGePrice(), item.getHaPrice(), item.isTradeable());
+			final GroundItem item = label.getItem();
+			final LocalPoint groundPoint = LocalPoint.fromWorld(client, item.getLocation());
 
-			if (highlighted == null && !plugin.isHotKeyPressed())
+			if (groundPoint == null || localLocation.distanceTo(groundPoint) > MAX_DISTANCE)
 			{
-				// Do not display hidden items
-				if (hidden != null)
-				{
-					continue;
-				}
-
-				// Do not display non-highlighted items
-				if (config.showHighlightedOnly())
-				{
-					continue;
-				}
+				continue;
 			}
 
-			final Color color = plugin.getItemColor(highlighted, hidden);
+			final Color color = label.getColor();
 
-			if (config.highlightTiles())
+			if (highlightTiles)
 			{
 				final Polygon poly = Perspective.getCanvasTilePoly(client, groundPoint);
 
@@ -224,56 +186,7 @@ public class GroundItemsOverlay extends Overlay
 				continue;
 			}
 
-			itemStringBuilder.append(item.getName());
-
-			if (item.getQuantity() > 1)
-			{
-				if (item.getQuantity() >= MAX_QUANTITY)
-				{
-					itemStringBuilder.append(" (Lots!)");
-				}
-				else
-				{
-					itemStringBuilder.append(" (")
-						.append(QuantityFormatter.quantityToStackSize(item.getQuantity()))
-						.append(")");
-				}
-			}
-
-			if (config.priceDisplayMode() == PriceDisplayMode.BOTH)
-			{
-				if (item.getGePrice() > 0)
-				{
-					itemStringBuilder.append(" (GE: ")
-						.append(QuantityFormatter.quantityToStackSize(item.getGePrice()))
-						.append(" gp)");
-				}
-
-				if (item.getHaPrice() > 0)
-				{
-					itemStringBuilder.append(" (HA: ")
-						.append(QuantityFormatter.quantityToStackSize(item.getHaPrice()))
-						.append(" gp)");
-				}
-			}
-			else if (config.priceDisplayMode() != PriceDisplayMode.OFF)
-			{
-				final int price = config.priceDisplayMode() == PriceDisplayMode.GE
-					? item.getGePrice()
-					: item.getHaPrice();
-
-				if (price > 0)
-				{
-					itemStringBuilder
-						.append(" (")
-						.append(QuantityFormatter.quantityToStackSize(price))
-						.append(" gp)");
-				}
-			}
-
-			final String itemString = itemStringBuilder.toString();
-			itemStringBuilder.setLength(0);
-
+			final String itemString = label.getText();
 			final Point textPoint = Perspective.getCanvasTextLocation(client,
 				graphics,
 				groundPoint,
@@ -286,8 +199,8 @@ public class GroundItemsOverlay extends Overlay
 			}
 
 			final int offset = plugin.isHotKeyPressed()
-				? item.getOffset()
-				: offsetMap.compute(item.getLocation(), (k, v) -> v != null ? v + 1 : 0);
+				? label.getHotKeyOffset()
+				: label.getOffset();
 
 			final int textX = textPoint.getX();
 			final int textY = textPoint.getY() - (STRING_GAP * offset);
@@ -342,10 +255,10 @@ public class GroundItemsOverlay extends Overlay
 				}
 
 				// Draw hidden box
-				drawRectangle(graphics, itemHiddenBox, topItem && mouseInHiddenBox ? Color.RED : color, hidden != null, true);
+				drawRectangle(graphics, itemHiddenBox, topItem && mouseInHiddenBox ? Color.RED : color, label.isHidden(), true);
 
 				// Draw highlight box
-				drawRectangle(graphics, itemHighlightBox, topItem && mouseInHighlightBox ? Color.GREEN : color, highlighted != null, false);
+				drawRectangle(graphics, itemHighlightBox, topItem && mouseInHighlightBox ? Color.GREEN : color, label.isHighlighted(), false);
 			}
 
 			if (groundItemTimers || plugin.isHotKeyPressed())
@@ -38,6 +38,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -86,6 +87,7 @@ import net.runelite.client.plugins.grounditems.config.MenuHighlightMode;
 import static net.runelite.client.plugins.grounditems.config.MenuHighlightMode.BOTH;
 import static net.runelite.client.plugins.grounditems.config.MenuHighlightMode.NAME;
 import static net.runelite.client.plugins.grounditems.config.MenuHighlightMode.OPTION;
+import net.runelite.client.plugins.grounditems.config.PriceDisplayMode;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.util.ColorUtil;
 import net.runelite.client.util.QuantityFormatter;
@@ -107,6 +109,9 @@ public class GroundItemsPlugin extends Plugin
 
 	// ItemID for coins
 	private static final int COINS = ItemID.COINS_995;
+	// The game won't send anything higher than this value to the plugin -
+	// so we replace any item quantity higher with "Lots" instead.
+	private static final int MAX_QUANTITY = 65535;
 	// Ground item menu options
 	private static final int FIRST_OPTION = MenuAction.GROUND_ITEM_FIRST_OPTION.getId();
 	private static final int SECOND_OPTION = MenuAction.GROUND_ITEM_SECOND_OPTION.getId();
@@ -176,6 +181,8 @@ public class GroundItemsPlugin extends Plugin
 	private List<PriceHighlight> priceChecks = ImmutableList.of();
 	private LoadingCache<NamedQuantity, Boolean> highlightedItems;
 	private LoadingCache<NamedQuantity, Boolean> hiddenItems;
+	private List<GroundItemLabel> labels = ImmutableList.of();
+	private volatile boolean labelsDirty = true;
 	private final Queue<Integer> droppedItemQueue = EvictingQueue.create(16); // recently dropped items
 
 	@Provides
@@ -206,6 +213,8 @@ public class GroundItemsPlugin extends Plugin
 		hiddenItemList = null;
 		highlightedItemsList = null;
 		collectedGroundItems.clear();
+		labels = ImmutableList.of();
+		labelsDirty = true;
 	}
 
 	@Subscribe
@@ -223,6 +232,7 @@ public class GroundItemsPlugin extends Plugin
 		if (event.getGameState() == GameState.LOADING)
 		{
 			collectedGroundItems.clear();
+			labelsDirty = true;
 		}
 	}
 
@@ -241,6 +251,7 @@ public class GroundItemsPlugin extends Plugin
 			existing.setQuantity(existing.getQuantity() + groundItem.getQuantity());
 			// The spawn time remains set at the oldest spawn
 		}
+		labelsDirty = true;
 
 		if (!config.onlyShowLoot())
 		{
@@ -273,6 +284,7 @@ public class GroundItemsPlugin extends Plugin
 			// time
 			groundItem.setSpawnTime(null);
 		}
+		labelsDirty = true;
 	}
 
 	@Subscribe
@@ -289,6 +301,7 @@ public class GroundItemsPlugin extends Plugin
 		if (groundItem != null)
 		{
 			groundItem.setQuantity(groundItem.getQuantity() + diff);
+			labelsDirty = true;
 		}
 	}
 
@@ -364,6 +377,7 @@ public class GroundItemsPlugin extends Plugin
 			if (groundItem != null)
 			{
 				groundItem.setLootType(lootType);
+				labelsDirty = true;
 
 				if (config.onlyShowLoot())
 				{
@@ -453,6 +467,107 @@ public class GroundItemsPlugin extends Plugin
 		}
 
 		priceChecks = priceCheckBuilder.build();
+		labelsDirty = true;
+	}
+
+	/**
+	 * Get the overlay labels of the ground items, rebuilding them if the ground items or the
+	 * config changed since they were last built. Must be called on the client thread.
+	 */
+	List<GroundItemLabel> getLabels()
+	{
+		if (labelsDirty && highlightedItems != null)
+		{
+			labelsDirty = false;
+			labels = buildLabels();
+		}
+		return labels;
+	}
+
+	private List<GroundItemLabel> buildLabels()
+	{
+		final boolean onlyShowLoot = config.onlyShowLoot();
+		final boolean showHighlightedOnly = config.showHighlightedOnly();
+		final PriceDisplayMode priceDisplayMode = config.priceDisplayMode();
+		final Map<WorldPoint, Integer> offsets = new HashMap<>();
+		final Map<WorldPoint, Integer> hotKeyOffsets = new HashMap<>();
+		final StringBuilder sb = new StringBuilder();
+		final ImmutableList.Builder<GroundItemLabel> builder = ImmutableList.builderWithExpectedSize(collectedGroundItems.size());
+
+		for (GroundItem item : collectedGroundItems.values())
+		{
+			// items stack on their tile in the same order with the hotkey pressed, whether they are shown or not
+			final int hotKeyOffset = hotKeyOffsets.merge(item.getLocation(), 1, Integer::sum) - 1;
+
+			if (onlyShowLoot && !item.isMine())
+			{
+				continue;
+			}
+
+			final NamedQuantity namedQuantity = new NamedQuantity(item);
+			final Color highlighted = getHighlighted(namedQuantity, item.getGePrice(), item.getHaPrice());
+			final Color hidden = getHidden(namedQuantity, item.getGePrice(), item.getHaPrice(), item.isTradeable());
+
+			// Without the hotkey, hidden items and non-highlighted items if only showing highlighted items aren't displayed
+			final boolean visible = highlighted != null || (hidden == null && !showHighlightedOnly);
+			final int offset = visible ? offsets.merge(item.getLocation(), 1, Integer::sum) - 1 : -1;
+
+			buildLabelText(sb, item, priceDisplayMode);
+			builder.add(new GroundItemLabel(item, sb.toString(), getItemColor(highlighted, hidden),
+				highlighted != null, hidden != null, offset, hotKeyOffset));
+			sb.setLength(0);
+		}
+
+		return builder.build();
+	}
+
+	private static void buildLabelText(StringBuilder sb, GroundItem item, PriceDisplayMode priceDisplayMode)
+	{
+		sb.append(item.getName());
+
+		if (item.getQuantity() > 1)
+		{
+			if (item.getQuantity() >= MAX_QUANTITY)
+			{
+				sb.append(" (Lots!)");
+			}
+			else
+			{
+				sb.append(" (")
+					.append(QuantityFormatter.quantityToStackSize(item.getQuantity()))
+					.append(")");
+			}
+		}
+
+		if (priceDisplayMode == PriceDisplayMode.BOTH)
+		{
+			if (item.getGePrice() > 0)
+			{
+				sb.append(" (GE: ")
+					.append(QuantityFormatter.quantityToStackSize(item.getGePrice()))
+					.append(" gp)");
+			}
+
+			if (item.getHaPrice() > 0)
+			{
+				sb.append(" (HA: ")
+					.append(QuantityFormatter.quantityToStackSize(item.getHaPrice()))
+					.append(" gp)");
+			}
+		}
+		else if (priceDisplayMode != PriceDisplayMode.OFF)
+		{
+			final int price = priceDisplayMode == PriceDisplayMode.GE
+				? item.getGePrice()
+				: item.getHaPrice();
+
+			if (price > 0)
+			{
+				sb.append(" (")
+					.append(QuantityFormatter.quantityToStackSize(price))
+					.append(" gp)");
+			}
+		}
 	}
 
 	@Subscribe
@@ -31,8 +31,8 @@ import java.awt.Graphics2D;
 import java.awt.Polygon;
 import java.util.Collection;
 import javax.inject.Inject;
+import net.runelite.api.CameraSnapshot;
 import net.runelite.api.Client;
-import net.runelite.api.Perspective;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.ui.overlay.Overlay;
@@ -48,6 +48,13 @@ public class GroundMarkerOverlay extends Overlay
 	private final Client client;
 	private final GroundMarkerConfig config;
 	private final GroundMarkerPlugin plugin;
+	private final Polygon poly = new Polygon();
+
+	private int[] localX = new int[0];
+	private int[] localY = new int[0];
+	private Color[] tileColors = new Color[0];
+	private int[] canvasX = new int[0];
+	private int[] canvasY = new int[0];
 
 	@Inject
 	private GroundMarkerOverlay(Client client, GroundMarkerConfig config, GroundMarkerPlugin plugin)
@@ -64,48 +71,78 @@ public class GroundMarkerOverlay extends Overlay
 	public Dimension render(Graphics2D graphics)
 	{
 		final Collection<ColorTileMarker> points = plugin.getPoints();
+		if (points.isEmpty())
+		{
+			return null;
+		}
+
+		final WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
+		final int plane = client.getPlane();
+		final boolean rememberTileColors = config.rememberTileColors();
+		final Color markerColor = config.markerColor();
+
+		if (localX.length < points.size())
+		{
+			final int capacity = Math.max(points.size(), localX.length * 2);
+			localX = new int[capacity];
+			localY = new int[capacity];
+			tileColors = new Color[capacity];
+			canvasX = new int[capacity * 4];
+			canvasY = new int[capacity * 4];
+		}
+
+		int count = 0;
 		for (final ColorTileMarker point : points)
 		{
 			WorldPoint worldPoint = point.getWorldPoint();
-			if (worldPoint.getPlane() != client.getPlane())
+			if (worldPoint.getPlane() != plane || worldPoint.distanceTo(playerLocation) >= MAX_DRAW_DISTANCE)
+			{
+				continue;
+			}
+
+			LocalPoint lp = LocalPoint.fromWorld(client, worldPoint);
+			if (lp == null)
 			{
 				continue;
 			}
 
 			Color tileColor = point.getColor();
-			if (tileColor == null || !config.rememberTileColors())
+			if (tileColor == null || !rememberTileColors)
 			{
 				// If this is an old tile which has no color, or rememberTileColors is off, use marker color
-				tileColor = config.markerColor();
+				tileColor = markerColor;
 			}
 
-			drawTile(graphics, worldPoint, tileColor);
+			localX[count] = lp.getX();
+			localY[count] = lp.getY();
+			tileColors[count] = tileColor;
+			++count;
 		}
 
-		return null;
-	}
-
-	private void drawTile(Graphics2D graphics, WorldPoint point, Color color)
-	{
-		WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
-
-		if (point.distanceTo(playerLocation) >= MAX_DRAW_DISTANCE)
+		if (count == 0)
 		{
-			return;
+			return null;
 		}
 
-		LocalPoint lp = LocalPoint.fromWorld(client, point);
-		if (lp == null)
-		{
-			return;
-		}
+		// project every tile with one camera snapshot
+		new CameraSnapshot(client).tileAreasToCanvas(count, localX, localY, 1, canvasX, canvasY);
 
-		Polygon poly = Perspective.getCanvasTilePoly(client, lp);
-		if (poly == null)
+		for (int i = 0; i < count; ++i)
 		{
-			return;
+			if (canvasX[i * 4] == CameraSnapshot.OFFSCREEN)
+			{
+				continue;
+			}
+
+			poly.reset();
+			for (int j = i * 4; j < i * 4 + 4; ++j)
+			{
+				poly.addPoint(canvasX[j], canvasY[j]);
+			}
+
+			OverlayUtil.renderPolygon(graphics, poly, tileColors[i]);
 		}
 
-		OverlayUtil.renderPolygon(graphics, poly, color);
+		return null;
 	}
 }
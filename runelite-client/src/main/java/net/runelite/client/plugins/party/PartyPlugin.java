@@ -44,6 +44,7 @@ import net.runelite.api.GameState;
 import net.runelite.api.KeyCode;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
+import net.runelite.api.Player;
 import net.runelite.api.Skill;
 import net.runelite.api.SoundEffectID;
 import net.runelite.api.Tile;
@@ -66,6 +67,8 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.party.data.PartyData;
 import net.runelite.client.plugins.party.data.PartyTilePingData;
 import net.runelite.client.plugins.party.messages.LocationUpdate;
+import net.runelite.client.plugins.party.messages.MemberUpdate;
+import net.runelite.client.plugins.party.messages.MemberUpdateCodec;
 import net.runelite.client.plugins.party.messages.SkillUpdate;
 import net.runelite.client.plugins.party.messages.TilePing;
 import net.runelite.client.task.Schedule;
@@ -86,6 +89,8 @@ import net.runelite.http.api.ws.messages.party.UserSync;
 )
 public class PartyPlugin extends Plugin
 {
+	private static final WorldPoint UNKNOWN_LOCATION = new WorldPoint(0, 0, 0);
+
 	@Inject
 	private Client client;
 
@@ -133,6 +138,15 @@ public class PartyPlugin extends Plugin
 	private final List<PartyTilePingData> pendingTilePings = Collections.synchronizedList(new ArrayList<>());
 
 	private int lastHp, lastPray;
+	/**
+	 * the last location sent, which the next location is sent relative to
+	 */
+	private WorldPoint lastLocation;
+	private volatile boolean shareLocation;
+	/**
+	 * send the full state instead of only the changes in the next update
+	 */
+	private volatile boolean fullUpdate;
 	private boolean doSync;
 	private boolean sendAlert;
 
@@ -148,6 +162,7 @@ public class PartyPlugin extends Plugin
 		overlayManager.add(partyStatsOverlay);
 		overlayManager.add(partyPingOverlay);
 		wsClient.registerMessage(SkillUpdate.class);
+		wsClient.registerMessage(MemberUpdate.class, new MemberUpdateCodec());
 		wsClient.registerMessage(TilePing.class);
 		wsClient.registerMessage(LocationUpdate.class);
 		doSync = true; // Delay sync so eventbus can process correctly.
@@ -162,10 +177,12 @@ public class PartyPlugin extends Plugin
 		overlayManager.remove(partyStatsOverlay);
 		overlayManager.remove(partyPingOverlay);
 		wsClient.unregisterMessage(SkillUpdate.class);
+		wsClient.unregisterMessage(MemberUpdate.class);
 		wsClient.unregisterMessage(TilePing.class);
 		wsClient.unregisterMessage(LocationUpdate.class);
 		doSync = false;
 		sendAlert = false;
+		lastLocation = null;
 	}
 
 	@Provides
@@ -269,21 +286,8 @@ public class PartyPlugin extends Plugin
 	)
 	public void shareLocation()
 	{
-		if (client.getGameState() != GameState.LOGGED_IN)
-		{
-			return;
-		}
-
-		final PartyMember localMember = party.getLocalMember();
-
-		if (localMember == null)
-		{
-			return;
-		}
-
-		final LocationUpdate locationUpdate = new LocationUpdate(client.getLocalPlayer().getWorldLocation());
-		locationUpdate.setMemberId(localMember.getMemberId());
-		wsClient.send(locationUpdate);
+		// sent with the next update
+		shareLocation = true;
 	}
 
 	@Subscribe
@@ -313,25 +317,82 @@ public class PartyPlugin extends Plugin
 
 		if (localMember != null)
 		{
-			if (currentHealth != lastHp)
+			// coalesce everything which changed this tick into a single message. Members
+			// which can't read it are sent the individual skill and location updates
+			// instead, unless the server has accepted the binary protocol.
+			final boolean binary = ws.isBinary();
+			final MemberUpdate update = new MemberUpdate();
+			update.setMemberId(localMember.getMemberId());
+
+			if (fullUpdate || currentHealth != lastHp)
 			{
-				final SkillUpdate update = new SkillUpdate(Skill.HITPOINTS, currentHealth, realHealth);
-				update.setMemberId(localMember.getMemberId());
-				ws.send(update);
+				update.setHitpoints(currentHealth, realHealth);
+			}
+
+			if (fullUpdate || currentPrayer != lastPray)
+			{
+				update.setPrayer(currentPrayer, realPrayer);
+			}
+
+			final Player localPlayer = client.getLocalPlayer();
+			if ((fullUpdate || shareLocation) && localPlayer != null && client.getGameState() == GameState.LOGGED_IN)
+			{
+				final WorldPoint location = localPlayer.getWorldLocation();
+				if (fullUpdate || lastLocation == null || !binary)
+				{
+					update.setLocation(location);
+				}
+				else if (!location.equals(lastLocation))
+				{
+					update.setLocationDelta(location.getX() - lastLocation.getX(),
+						location.getY() - lastLocation.getY(),
+						location.getPlane() - lastLocation.getPlane());
+				}
+
+				lastLocation = location;
+				shareLocation = false;
 			}
 
-			if (currentPrayer != lastPray)
+			if (binary && !update.isEmpty())
 			{
-				final SkillUpdate update = new SkillUpdate(Skill.PRAYER, currentPrayer, realPrayer);
-				update.setMemberId(localMember.getMemberId());
 				ws.send(update);
 			}
+			else if (!binary)
+			{
+				sendLegacyUpdates(update);
+			}
+
+			fullUpdate = false;
 		}
 
 		lastHp = currentHealth;
 		lastPray = currentPrayer;
 	}
 
+	private void sendLegacyUpdates(final MemberUpdate update)
+	{
+		if (update.has(MemberUpdate.HITPOINTS))
+		{
+			final SkillUpdate hpUpdate = new SkillUpdate(Skill.HITPOINTS, update.getHitpoints(), update.getMaxHitpoints());
+			hpUpdate.setMemberId(update.getMemberId());
+			ws.send(hpUpdate);
+		}
+
+		if (update.has(MemberUpdate.PRAYER))
+		{
+			final SkillUpdate prayUpdate = new SkillUpdate(Skill.PRAYER, update.getPrayer(), update.getMaxPrayer());
+			prayUpdate.setMemberId(update.getMemberId());
+			ws.send(prayUpdate);
+		}
+
+		if (update.has(MemberUpdate.LOCATION))
+		{
+			final LocationUpdate locationUpdate = new LocationUpdate(new WorldPoint(update.getX(), update.getY(), update.getPlane()));
+			locationUpdate.setMemberId(update.getMemberId());
+			ws.send(locationUpdate);
+		}
+	}
+
 	@Subscribe
 	public void onSkillUpdate(final SkillUpdate event)
 	{
@@ -367,6 +428,40 @@ public class PartyPlugin extends Plugin
 		partyData.getWorldMapPoint().setWorldPoint(event.getWorldPoint());
 	}
 
+	@Subscribe
+	public void onMemberUpdate(final MemberUpdate event)
+	{
+		final PartyData partyData = getPartyData(event.getMemberId());
+
+		if (partyData == null)
+		{
+			return;
+		}
+
+		if (event.has(MemberUpdate.HITPOINTS))
+		{
+			partyData.setHitpoints(event.getHitpoints());
+			partyData.setMaxHitpoints(event.getMaxHitpoints());
+		}
+
+		if (event.has(MemberUpdate.PRAYER))
+		{
+			partyData.setPrayer(event.getPrayer());
+			partyData.setMaxPrayer(event.getMaxPrayer());
+		}
+
+		final WorldMapPoint worldMapPoint = partyData.getWorldMapPoint();
+		if (event.has(MemberUpdate.LOCATION))
+		{
+			worldMapPoint.setWorldPoint(new WorldPoint(event.getX(), event.getY(), event.getPlane()));
+		}
+		else if (event.has(MemberUpdate.LOCATION_DELTA) && !worldMapPoint.getWorldPoint().equals(UNKNOWN_LOCATION))
+		{
+			// deltas received before the member's full location are dropped
+			worldMapPoint.setWorldPoint(worldMapPoint.getWorldPoint().dx(event.getX()).dy(event.getY()).dz(event.getPlane()));
+		}
+	}
+
 	@Subscribe
 	public void onUserJoin(final UserJoin event)
 	{
@@ -399,22 +494,8 @@ public class PartyPlugin extends Plugin
 	@Subscribe
 	public void onUserSync(final UserSync event)
 	{
-		final int currentHealth = client.getBoostedSkillLevel(Skill.HITPOINTS);
-		final int currentPrayer = client.getBoostedSkillLevel(Skill.PRAYER);
-		final int realHealth = client.getRealSkillLevel(Skill.HITPOINTS);
-		final int realPrayer = client.getRealSkillLevel(Skill.PRAYER);
-		final PartyMember localMember = party.getLocalMember();
-
-		if (localMember != null)
-		{
-			final SkillUpdate hpUpdate = new SkillUpdate(Skill.HITPOINTS, currentHealth, realHealth);
-			hpUpdate.setMemberId(localMember.getMemberId());
-			ws.send(hpUpdate);
-
-			final SkillUpdate prayUpdate = new SkillUpdate(Skill.PRAYER, currentPrayer, realPrayer);
-			prayUpdate.setMemberId(localMember.getMemberId());
-			ws.send(prayUpdate);
-		}
+		// send the full state to the member which requested it in the next update
+		fullUpdate = true;
 	}
 
 	@Subscribe
@@ -449,6 +530,7 @@ public class PartyPlugin extends Plugin
 		partyDataMap.clear();
 		pendingTilePings.clear();
 		worldMapManager.removeIf(PartyWorldMapPoint.class::isInstance);
+		fullUpdate = true;
 	}
 
 	@Subscribe
@@ -484,7 +566,7 @@ public class PartyPlugin extends Plugin
 		return partyDataMap.computeIfAbsent(uuid, (u) ->
 		{
 			final String name = memberById.getName();
-			final WorldMapPoint worldMapPoint = new PartyWorldMapPoint(new WorldPoint(0, 0, 0), memberById);
+			final WorldMapPoint worldMapPoint = new PartyWorldMapPoint(UNKNOWN_LOCATION, memberById);
 			worldMapPoint.setTooltip(name);
 
 			// When first joining a party, other members can join before getting a join for self
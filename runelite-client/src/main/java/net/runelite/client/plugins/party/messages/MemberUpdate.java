@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Tomas Slusny <slusnucky@gmail.com>
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.party.messages;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
+
+/**
+ * The changes to a member's location, hitpoints and prayer since their last update, sent at most once per tick
+ */
+@Getter
+@ToString
+public class MemberUpdate extends PartyMemberMessage
+{
+	public static final int LOCATION = 1;
+	public static final int LOCATION_DELTA = 1 << 1;
+	public static final int HITPOINTS = 1 << 2;
+	public static final int PRAYER = 1 << 3;
+
+	private int flags;
+	/**
+	 * the location, or the change in location since the last update with {@link #LOCATION_DELTA}
+	 */
+	private int x;
+	private int y;
+	private int plane;
+	private int hitpoints;
+	private int maxHitpoints;
+	private int prayer;
+	private int maxPrayer;
+
+	public boolean has(int flag)
+	{
+		return (flags & flag) != 0;
+	}
+
+	public boolean isEmpty()
+	{
+		return flags == 0;
+	}
+
+	public void setLocation(WorldPoint worldPoint)
+	{
+		flags = (flags & ~LOCATION_DELTA) | LOCATION;
+		x = worldPoint.getX();
+		y = worldPoint.getY();
+		plane = worldPoint.getPlane();
+	}
+
+	public void setLocationDelta(int dx, int dy, int dplane)
+	{
+		flags = (flags & ~LOCATION) | LOCATION_DELTA;
+		x = dx;
+		y = dy;
+		plane = dplane;
+	}
+
+	public void setHitpoints(int hitpoints, int maxHitpoints)
+	{
+		flags |= HITPOINTS;
+		this.hitpoints = hitpoints;
+		this.maxHitpoints = maxHitpoints;
+	}
+
+	public void setPrayer(int prayer, int maxPrayer)
+	{
+		flags |= PRAYER;
+		this.prayer = prayer;
+		this.maxPrayer = maxPrayer;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.party.messages;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.http.api.ws.WebsocketBinary;
+import net.runelite.http.api.ws.WebsocketMessageCodec;
+import okio.Buffer;
+
+public class MemberUpdateCodec implements WebsocketMessageCodec<MemberUpdate>
+{
+	private static final int ID = 1;
+
+	@Override
+	public int getId()
+	{
+		return ID;
+	}
+
+	@Override
+	public void encode(MemberUpdate message, Buffer buffer)
+	{
+		WebsocketBinary.writeUuid(buffer, message.getMemberId());
+		buffer.writeByte(message.getFlags());
+
+		if (message.has(MemberUpdate.LOCATION))
+		{
+			WebsocketBinary.writeVarInt(buffer, message.getX());
+			WebsocketBinary.writeVarInt(buffer, message.getY());
+			buffer.writeByte(message.getPlane());
+		}
+		else if (message.has(MemberUpdate.LOCATION_DELTA))
+		{
+			WebsocketBinary.writeSignedVarInt(buffer, message.getX());
+			WebsocketBinary.writeSignedVarInt(buffer, message.getY());
+			WebsocketBinary.writeSignedVarInt(buffer, message.getPlane());
+		}
+
+		if (message.has(MemberUpdate.HITPOINTS))
+		{
+			WebsocketBinary.writeVarInt(buffer, message.getHitpoints());
+			WebsocketBinary.writeVarInt(buffer, message.getMaxHitpoints());
+		}
+
+		if (message.has(MemberUpdate.PRAYER))
+		{
+			WebsocketBinary.writeVarInt(buffer, message.getPrayer());
+			WebsocketBinary.writeVarInt(buffer, message.getMaxPrayer());
+		}
+	}
+
+	@Override
+	public MemberUpdate decode(Buffer buffer)
+	{
+		final MemberUpdate message = new MemberUpdate();
+		message.setMemberId(WebsocketBinary.readUuid(buffer));
+		final int flags = buffer.readByte();
+
+		if ((flags & MemberUpdate.LOCATION) != 0)
+		{
+			final int x = WebsocketBinary.readVarInt(buffer);
+			final int y = WebsocketBinary.readVarInt(buffer);
+			final int plane = buffer.readByte();
+			message.setLocation(new WorldPoint(x, y, plane));
+		}
+		else if ((flags & MemberUpdate.LOCATION_DELTA) != 0)
+		{
+			final int dx = WebsocketBinary.readSignedVarInt(buffer);
+			final int dy = WebsocketBinary.readSignedVarInt(buffer);
+			final int dplane = WebsocketBinary.readSignedVarInt(buffer);
+			message.setLocationDelta(dx, dy, dplane);
+		}
+
+		if ((flags & MemberUpdate.HITPOINTS) != 0)
+		{
+			final int hitpoints = WebsocketBinary.readVarInt(buffer);
+			message.setHitpoints(hitpoints, WebsocketBinary.readVarInt(buffer));
+		}
+
+		if ((flags & MemberUpdate.PRAYER) != 0)
+		{
+			final int prayer = WebsocketBinary.readVarInt(buffer);
+			message.setPrayer(prayer, WebsocketBinary.readVarInt(buffer));
+		}
+
+		return message;
+	}
+}
@@ -34,8 +34,8 @@ import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
@@ -50,7 +50,8 @@ import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.game.SpriteManager;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
-import net.runelite.client.plugins.puzzlesolver.solver.heuristics.ManhattanDistance;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.Heuristic;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.PatternDatabaseHeuristic;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStar;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStarMM;
 import net.runelite.client.ui.overlay.Overlay;
@@ -72,9 +73,11 @@ public class PuzzleSolverOverlay extends Overlay
 	private static final int PUZZLE_TILE_SIZE = 39;
 	private static final int DOT_MARKER_SIZE = 16;
 
+	private static final Heuristic HEURISTIC = new PatternDatabaseHeuristic();
+
 	private final Client client;
 	private final PuzzleSolverConfig config;
-	private final ScheduledExecutorService executorService;
+	private final PuzzleSolverPlugin plugin;
 	private final SpriteManager spriteManager;
 
 	private PuzzleSolver solver;
@@ -86,14 +89,14 @@ public class PuzzleSolverOverlay extends Overlay
 	private BufferedImage rightArrow;
 
 	@Inject
-	public PuzzleSolverOverlay(Client client, PuzzleSolverConfig config, ScheduledExecutorService executorService, SpriteManager spriteManager)
+	public PuzzleSolverOverlay(Client client, PuzzleSolverConfig config, PuzzleSolverPlugin plugin, SpriteManager spriteManager)
 	{
 		setPosition(OverlayPosition.DYNAMIC);
 		setPriority(OverlayPriority.HIGH);
 		setLayer(OverlayLayer.ABOVE_WIDGETS);
 		this.client = client;
 		this.config = config;
-		this.executorService = executorService;
+		this.plugin = plugin;
 		this.spriteManager = spriteManager;
 	}
 
@@ -432,21 +435,28 @@ public class PuzzleSolverOverlay extends Overlay
 	{
 		if (solverFuture != null)
 		{
+			solver.cancel();
 			solverFuture.cancel(true);
 		}
 
+		final ForkJoinPool solverPool = plugin.getSolverPool();
+		if (solverPool == null)
+		{
+			return;
+		}
+
 		PuzzleState puzzleState = new PuzzleState(items);
 
 		if (useNormalSolver)
 		{
-			solver = new PuzzleSolver(new IDAStar(new ManhattanDistance()), puzzleState);
+			solver = new PuzzleSolver(new IDAStar(HEURISTIC, solverPool), puzzleState);
 		}
 		else
 		{
-			solver = new PuzzleSolver(new IDAStarMM(new ManhattanDistance()), puzzleState);
+			solver = new PuzzleSolver(new IDAStarMM(HEURISTIC, solverPool), puzzleState);
 		}
 
-		solverFuture = executorService.submit(solver);
+		solverFuture = solverPool.submit(solver);
 	}
 
 	private BufferedImage getDownArrow()
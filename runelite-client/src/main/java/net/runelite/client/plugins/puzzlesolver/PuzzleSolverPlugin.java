@@ -28,7 +28,10 @@ package net.runelite.client.plugins.puzzlesolver;
 import com.google.inject.Provides;
 import java.awt.Color;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 import javax.inject.Inject;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.events.GameTick;
@@ -78,6 +81,12 @@ public class PuzzleSolverPlugin extends Plugin
 	@Inject
 	private Client client;
 
+	/**
+	 * Pool the puzzles are solved on, so solving doesn't hold up the shared executor
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private ForkJoinPool solverPool;
+
 	private LightboxState lightbox;
 	private LightboxState[] changes = new LightboxState[LightBox.COMBINATIONS_POWER];
 	private Combination lastClick;
@@ -86,6 +95,7 @@ public class PuzzleSolverPlugin extends Plugin
 	@Override
 	protected void startUp() throws Exception
 	{
+		solverPool = new ForkJoinPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
 		overlayManager.add(overlay);
 	}
 
@@ -93,6 +103,8 @@ public class PuzzleSolverPlugin extends Plugin
 	protected void shutDown() throws Exception
 	{
 		overlayManager.remove(overlay);
+		solverPool.shutdownNow();
+		solverPool = null;
 	}
 
 	@Provides
@@ -86,6 +86,11 @@ public class PuzzleSolver implements Runnable
 		return failed;
 	}
 
+	public void cancel()
+	{
+		pathfinder.cancel();
+	}
+
 	@Override
 	public void run()
 	{
@@ -30,4 +30,9 @@ import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 public interface Heuristic
 {
 	int computeValue(PuzzleState state);
+
+	/**
+	 * Create an evaluator for searching a single board. Evaluators are not thread safe.
+	 */
+	HeuristicEvaluator createEvaluator();
 }
@@ -119,4 +119,39 @@ public class ManhattanDistance implements Heuristic
 
 		return value;
 	}
+
+	@Override
+	public HeuristicEvaluator createEvaluator()
+	{
+		return new HeuristicEvaluator()
+		{
+			private int value;
+
+			@Override
+			public int reset(int[] tiles)
+			{
+				value = 0;
+				for (int cell = 0; cell < tiles.length; cell++)
+				{
+					if (tiles[cell] != BLANK_TILE_VALUE)
+					{
+						value += distance(tiles[cell], cell);
+					}
+				}
+				return value;
+			}
+
+			@Override
+			public int move(int[] tiles, int tile, int from, int to)
+			{
+				value += distance(tile, to) - distance(tile, from);
+				return value;
+			}
+		};
+	}
+
+	static int distance(int tile, int cell)
+	{
+		return Math.abs(tile % DIMENSION - cell % DIMENSION) + Math.abs(tile / DIMENSION - cell / DIMENSION);
+	}
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.heuristics;
+
+import java.util.Arrays;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+
+/**
+ * The larger of an additive pattern database and the manhattan distance plus linear conflicts.
+ *
+ * The pattern database splits the tiles into groups of three, and stores for every placement of
+ * a group the number of moves of the group's own tiles needed to solve it. Moves of other tiles
+ * are free, so the values of the groups can be added together.
+ */
+public class PatternDatabaseHeuristic implements Heuristic
+{
+	private static final int CELLS = DIMENSION * DIMENSION;
+
+	private static final int[][] GROUPS = {
+		{0, 1, 5}, {2, 6, 7}, {3, 4, 8}, {9, 13, 14},
+		{10, 11, 15}, {12, 16, 17}, {18, 19, 23}, {20, 21, 22},
+	};
+
+	private static final int[] TILE_GROUP = new int[CELLS - 1];
+	private static final int[][] NEIGHBOURS = new int[CELLS][];
+
+	static
+	{
+		for (int group = 0; group < GROUPS.length; group++)
+		{
+			for (int tile : GROUPS[group])
+			{
+				TILE_GROUP[tile] = group;
+			}
+		}
+
+		for (int cell = 0; cell < CELLS; cell++)
+		{
+			NEIGHBOURS[cell] = neighbours(cell);
+		}
+	}
+
+	/**
+	 * The tables are small enough to be built the first time they are needed
+	 */
+	private static class Tables
+	{
+		private static final byte[][] DISTANCES = new byte[GROUPS.length][];
+
+		static
+		{
+			for (int group = 0; group < GROUPS.length; group++)
+			{
+				DISTANCES[group] = build(GROUPS[group]);
+			}
+		}
+	}
+
+	@Override
+	public int computeValue(PuzzleState state)
+	{
+		final int[] tiles = new int[CELLS];
+		for (int cell = 0; cell < CELLS; cell++)
+		{
+			tiles[cell] = state.getPiece(cell % DIMENSION, cell / DIMENSION);
+		}
+		return createEvaluator().reset(tiles);
+	}
+
+	@Override
+	public HeuristicEvaluator createEvaluator()
+	{
+		return new Evaluator();
+	}
+
+	private static class Evaluator implements HeuristicEvaluator
+	{
+		private final byte[][] distances = Tables.DISTANCES;
+		private final int[] positions = new int[CELLS - 1];
+		private final int[] groupValues = new int[GROUPS.length];
+		/**
+		 * conflicts of each row, followed by each column
+		 */
+		private final int[] lineConflicts = new int[DIMENSION * 2];
+		private final int[] line = new int[DIMENSION];
+		private final int[] lis = new int[DIMENSION];
+
+		private int manhattan;
+		private int conflicts;
+		private int patterns;
+
+		@Override
+		public int reset(int[] tiles)
+		{
+			manhattan = 0;
+			for (int cell = 0; cell < CELLS; cell++)
+			{
+				final int tile = tiles[cell];
+				if (tile != BLANK_TILE_VALUE)
+				{
+					positions[tile] = cell;
+					manhattan += ManhattanDistance.distance(tile, cell);
+				}
+			}
+
+			conflicts = 0;
+			for (int i = 0; i < DIMENSION; i++)
+			{
+				lineConflicts[i] = rowConflicts(tiles, i);
+				lineConflicts[DIMENSION + i] = columnConflicts(tiles, i);
+				conflicts += lineConflicts[i] + lineConflicts[DIMENSION + i];
+			}
+
+			patterns = 0;
+			for (int group = 0; group < GROUPS.length; group++)
+			{
+				groupValues[group] = groupValue(group);
+				patterns += groupValues[group];
+			}
+
+			return value();
+		}
+
+		@Override
+		public int move(int[] tiles, int tile, int from, int to)
+		{
+			positions[tile] = to;
+			manhattan += ManhattanDistance.distance(tile, to) - ManhattanDistance.distance(tile, from);
+
+			// a tile moving along a row keeps its order in that row, but changes column
+			if (from / DIMENSION == to / DIMENSION)
+			{
+				updateLine(DIMENSION + from % DIMENSION, columnConflicts(tiles, from % DIMENSION));
+				updateLine(DIMENSION + to % DIMENSION, columnConflicts(tiles, to % DIMENSION));
+			}
+			else
+			{
+				updateLine(from / DIMENSION, rowConflicts(tiles, from / DIMENSION));
+				updateLine(to / DIMENSION, rowConflicts(tiles, to / DIMENSION));
+			}
+
+			final int group = TILE_GROUP[tile];
+			final int groupValue = groupValue(group);
+			patterns += groupValue - groupValues[group];
+			groupValues[group] = groupValue;
+
+			return value();
+		}
+
+		private int value()
+		{
+			return Math.max(patterns, manhattan + conflicts);
+		}
+
+		private void updateLine(int index, int value)
+		{
+			conflicts += value - lineConflicts[index];
+			lineConflicts[index] = value;
+		}
+
+		private int groupValue(int group)
+		{
+			final int[] tiles = GROUPS[group];
+			return distances[group][index(positions[tiles[0]], positions[tiles[1]], positions[tiles[2]])];
+		}
+
+		private int rowConflicts(int[] tiles, int row)
+		{
+			int count = 0;
+			for (int x = 0; x < DIMENSION; x++)
+			{
+				final int tile = tiles[row * DIMENSION + x];
+				if (tile != BLANK_TILE_VALUE && tile / DIMENSION == row)
+				{
+					line[count++] = tile % DIMENSION;
+				}
+			}
+			return lineConflicts(count);
+		}
+
+		private int columnConflicts(int[] tiles, int column)
+		{
+			int count = 0;
+			for (int y = 0; y < DIMENSION; y++)
+			{
+				final int tile = tiles[y * DIMENSION + column];
+				if (tile != BLANK_TILE_VALUE && tile % DIMENSION == column)
+				{
+					line[count++] = tile / DIMENSION;
+				}
+			}
+			return lineConflicts(count);
+		}
+
+		/**
+		 * Every tile in its goal line which is not part of the longest ordered subsequence of
+		 * the line has to leave the line and come back, which takes two extra moves
+		 */
+		private int lineConflicts(int count)
+		{
+			int longest = 0;
+			for (int i = 0; i < count; i++)
+			{
+				lis[i] = 1;
+				for (int j = 0; j < i; j++)
+				{
+					if (line[j] < line[i] && lis[j] + 1 > lis[i])
+					{
+						lis[i] = lis[j] + 1;
+					}
+				}
+				longest = Math.max(longest, lis[i]);
+			}
+			return 2 * (count - longest);
+		}
+	}
+
+	private static int index(int a, int b, int c)
+	{
+		return (a * CELLS + b) * CELLS + c;
+	}
+
+	/**
+	 * Breadth first search from the solved placement of a group, moving only the group's tiles
+	 */
+	private static byte[] build(int[] group)
+	{
+		final byte[] distances = new byte[CELLS * CELLS * CELLS];
+		Arrays.fill(distances, (byte) -1);
+
+		final int[] queue = new int[distances.length];
+		int head = 0, tail = 0;
+
+		final int start = index(group[0], group[1], group[2]);
+		distances[start] = 0;
+		queue[tail++] = start;
+
+		final int[] cells = new int[3];
+		while (head < tail)
+		{
+			final int index = queue[head++];
+			final int distance = distances[index];
+			cells[0] = index / (CELLS * CELLS);
+			cells[1] = index / CELLS % CELLS;
+			cells[2] = index % CELLS;
+
+			for (int i = 0; i < 3; i++)
+			{
+				final int cell = cells[i];
+				for (int neighbour : NEIGHBOURS[cell])
+				{
+					if (neighbour == cells[0] || neighbour == cells[1] || neighbour == cells[2])
+					{
+						continue;
+					}
+
+					cells[i] = neighbour;
+					final int next = index(cells[0], cells[1], cells[2]);
+					cells[i] = cell;
+
+					if (distances[next] == -1)
+					{
+						distances[next] = (byte) (distance + 1);
+						queue[tail++] = next;
+					}
+				}
+			}
+		}
+
+		return distances;
+	}
+
+	private static int[] neighbours(int cell)
+	{
+		final int x = cell % DIMENSION;
+		final int y = cell / DIMENSION;
+		final int[] neighbours = new int[4];
+		int count = 0;
+		if (x > 0)
+		{
+			neighbours[count++] = cell - 1;
+		}
+		if (x < DIMENSION - 1)
+		{
+			neighbours[count++] = cell + 1;
+		}
+		if (y > 0)
+		{
+			neighbours[count++] = cell - DIMENSION;
+		}
+		if (y < DIMENSION - 1)
+		{
+			neighbours[count++] = cell + DIMENSION;
+		}
+		return Arrays.copyOf(neighbours, count);
+	}
+}
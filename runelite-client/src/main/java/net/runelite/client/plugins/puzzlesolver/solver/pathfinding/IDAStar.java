@@ -27,80 +27,394 @@ package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import javax.annotation.Nullable;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 import net.runelite.client.plugins.puzzlesolver.solver.heuristics.Heuristic;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.HeuristicEvaluator;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
 
 /**
  * An implementation of the IDA* algorithm.
  *
+ * The search moves tiles around a single board in place and keeps the heuristic up to date
+ * incrementally, so nothing is allocated per node. With a pool, each iteration splits the
+ * subtrees below the root across the pool's threads.
+ *
  * https://en.wikipedia.org/wiki/Iterative_deepening_A*
  */
 public class IDAStar extends Pathfinder
 {
+	private static final int CELLS = DIMENSION * DIMENSION;
+	/**
+	 * depth below the root at which the search is split into parallel tasks
+	 */
+	private static final int SPLIT_DEPTH = 2;
+	private static final int FOUND = -1;
+	private static final int CANCELLED = -2;
+
+	private static final int[][] NEIGHBOURS = new int[CELLS][];
+
+	static
+	{
+		for (int cell = 0; cell < CELLS; cell++)
+		{
+			final List<Integer> neighbours = new ArrayList<>(4);
+			if (cell % DIMENSION > 0)
+			{
+				neighbours.add(cell - 1);
+			}
+			if (cell % DIMENSION < DIMENSION - 1)
+			{
+				neighbours.add(cell + 1);
+			}
+			if (cell / DIMENSION > 0)
+			{
+				neighbours.add(cell - DIMENSION);
+			}
+			if (cell / DIMENSION < DIMENSION - 1)
+			{
+				neighbours.add(cell + DIMENSION);
+			}
+			NEIGHBOURS[cell] = neighbours.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	@Nullable
+	private final ForkJoinPool pool;
+
 	public IDAStar(Heuristic heuristic)
+	{
+		this(heuristic, null);
+	}
+
+	/**
+	 * @param pool pool to split the search across, or null to search on the calling thread
+	 */
+	public IDAStar(Heuristic heuristic, @Nullable ForkJoinPool pool)
 	{
 		super(heuristic);
+		this.pool = pool;
 	}
 
 	@Override
 	public List<PuzzleState> computePath(PuzzleState root)
 	{
-		PuzzleState goalNode = path(root);
+		final int[] moves = solve(root);
+		if (moves == null)
+		{
+			return null;
+		}
 
-		List<PuzzleState> path = new ArrayList<>();
+		List<PuzzleState> path = new ArrayList<>(moves.length + 1);
+		PuzzleState state = root;
+		path.add(state);
 
-		PuzzleState parent = goalNode;
-		while (parent != null)
+		for (int cell : moves)
 		{
-			path.add(0, parent);
-			parent = parent.getParent();
+			final int blank = state.getEmptyPiece();
+			state = state.swap(blank % DIMENSION, blank / DIMENSION, cell % DIMENSION, cell / DIMENSION);
+			path.add(state);
 		}
 
 		return path;
 	}
 
-	private PuzzleState path(PuzzleState root)
+	/**
+	 * Find the shortest sequence of moves which solves the puzzle
+	 *
+	 * @return the cell the blank moves to in each move, or null if the puzzle is unsolvable or the search was cancelled
+	 */
+	private int[] solve(PuzzleState root)
 	{
-		int bound = root.getHeuristicValue(getHeuristic());
+		final int[] tiles = new int[CELLS];
+		for (int cell = 0; cell < CELLS; cell++)
+		{
+			tiles[cell] = root.getPiece(cell % DIMENSION, cell / DIMENSION);
+		}
+
+		if (!isSolvable(tiles))
+		{
+			return null;
+		}
+
+		final Search search = new Search(tiles, root.getEmptyPiece(), 0);
+		int bound = search.h;
 
 		while (true)
 		{
-			PuzzleState t = search(root, 0, bound);
+			final int t = pool != null && pool.getParallelism() > 1
+				? parallelSearch(search, bound)
+				: search.search(0, bound, -1);
 
-			if (t != null)
+			if (t == FOUND)
 			{
-				return t;
+				return search.solution();
 			}
 
-			bound += 1;
+			if (t == CANCELLED || t == Integer.MAX_VALUE)
+			{
+				return null;
+			}
+
+			bound = t;
 		}
 	}
 
-	private PuzzleState search(PuzzleState node, int g, int bound)
+	/**
+	 * Search every subtree at the split depth as a separate task
+	 */
+	private int parallelSearch(Search root, int bound)
 	{
-		int h = node.getHeuristicValue(getHeuristic());
-		int f = g + h;
+		final List<Search> frontier = new ArrayList<>();
+		final int min = root.expand(0, bound, -1, frontier);
+		if (min == FOUND)
+		{
+			return FOUND;
+		}
 
-		if (f > bound)
+		final List<RecursiveAction> tasks = new ArrayList<>(frontier.size());
+		final int[] results = new int[frontier.size()];
+		for (int i = 0; i < frontier.size(); i++)
 		{
-			return null;
+			final int index = i;
+			final Search subtree = frontier.get(i);
+			tasks.add(new RecursiveAction()
+			{
+				@Override
+				protected void compute()
+				{
+					results[index] = subtree.search(subtree.depth, bound, subtree.previous);
+					if (results[index] == FOUND)
+					{
+						// stop the other subtrees, a solution at this bound is optimal
+						for (Search other : frontier)
+						{
+							other.stopped = true;
+						}
+					}
+				}
+			});
+		}
+
+		pool.invoke(new RecursiveAction()
+		{
+			@Override
+			protected void compute()
+			{
+				invokeAll(tasks);
+			}
+		});
+
+		int next = min;
+		for (int i = 0; i < results.length; i++)
+		{
+			if (results[i] == FOUND)
+			{
+				root.copySolution(frontier.get(i));
+				return FOUND;
+			}
+
+			if (results[i] == CANCELLED && !frontier.get(i).stopped)
+			{
+				return CANCELLED;
+			}
+
+			if (results[i] >= 0)
+			{
+				next = Math.min(next, results[i]);
+			}
+		}
+		return isCancelled() ? CANCELLED : next;
+	}
+
+	/**
+	 * A board being searched, with the moves made to reach it
+	 */
+	private class Search
+	{
+		private final int[] tiles;
+		private final HeuristicEvaluator evaluator;
+		private final int[] moves = new int[256];
+		private int blank;
+		private int h;
+		private int depth;
+		private int solutionLength;
+		private int previous = -1;
+		private int nodes;
+		private volatile boolean stopped;
+
+		private Search(int[] tiles, int blank, int depth)
+		{
+			this.tiles = tiles;
+			this.blank = blank;
+			this.depth = depth;
+			this.evaluator = getHeuristic().createEvaluator();
+			this.h = evaluator.reset(tiles);
 		}
 
-		if (h == 0)
+		/**
+		 * @return FOUND, CANCELLED, or the smallest f cost above the bound
+		 */
+		private int search(int g, int bound, int previous)
 		{
-			return node;
+			final int f = g + h;
+			if (f > bound)
+			{
+				return f;
+			}
+
+			if (h == 0)
+			{
+				solutionLength = g;
+				return FOUND;
+			}
+
+			if ((++nodes & 0xFFF) == 0 && (stopped || isCancelled()))
+			{
+				return CANCELLED;
+			}
+
+			if (g == moves.length)
+			{
+				return Integer.MAX_VALUE;
+			}
+
+			int min = Integer.MAX_VALUE;
+			final int from = blank;
+			for (int cell : NEIGHBOURS[from])
+			{
+				if (cell == previous)
+				{
+					continue;
+				}
+
+				final int oldH = h;
+				move(cell);
+				moves[g] = cell;
+
+				final int t = search(g + 1, bound, from);
+
+				move(from);
+				h = oldH;
+
+				if (t == FOUND || t == CANCELLED)
+				{
+					return t;
+				}
+
+				min = Math.min(min, t);
+			}
+
+			return min;
 		}
 
-		for (PuzzleState successor : node.computeMoves())
+		/**
+		 * Collect copies of the boards at the split depth which are within the bound
+		 *
+		 * @return FOUND if a solution was found above the split depth, otherwise the smallest f cost above the bound
+		 */
+		private int expand(int g, int bound, int previous, List<Search> frontier)
 		{
-			PuzzleState t = search(successor, g + 1, bound);
+			final int f = g + h;
+			if (f > bound)
+			{
+				return f;
+			}
+
+			if (h == 0)
+			{
+				solutionLength = g;
+				return FOUND;
+			}
 
-			if (t != null)
+			if (g == SPLIT_DEPTH)
 			{
-				return t;
+				final Search subtree = new Search(tiles.clone(), blank, g);
+				System.arraycopy(moves, 0, subtree.moves, 0, g);
+				subtree.previous = previous;
+				frontier.add(subtree);
+				return Integer.MAX_VALUE;
 			}
+
+			int min = Integer.MAX_VALUE;
+			final int from = blank;
+			for (int cell : NEIGHBOURS[from])
+			{
+				if (cell == previous)
+				{
+					continue;
+				}
+
+				final int oldH = h;
+				move(cell);
+				moves[g] = cell;
+
+				final int t = expand(g + 1, bound, from, frontier);
+
+				move(from);
+				h = oldH;
+
+				if (t == FOUND)
+				{
+					return t;
+				}
+
+				min = Math.min(min, t);
+			}
+
+			return min;
 		}
 
-		return null;
+		/**
+		 * Move the tile in a cell next to the blank into the blank
+		 */
+		private void move(int cell)
+		{
+			final int tile = tiles[cell];
+			tiles[blank] = tile;
+			tiles[cell] = BLANK_TILE_VALUE;
+			h = evaluator.move(tiles, tile, cell, blank);
+			blank = cell;
+		}
+
+		private void copySolution(Search other)
+		{
+			System.arraycopy(other.moves, 0, moves, 0, other.solutionLength);
+			solutionLength = other.solutionLength;
+		}
+
+		private int[] solution()
+		{
+			final int[] solution = new int[solutionLength];
+			System.arraycopy(moves, 0, solution, 0, solutionLength);
+			return solution;
+		}
+	}
+
+	/**
+	 * On a board with an odd width, a puzzle is solvable if the number of inversions is even
+	 */
+	private static boolean isSolvable(int[] tiles)
+	{
+		int inversions = 0;
+		for (int i = 0; i < tiles.length; i++)
+		{
+			if (tiles[i] == BLANK_TILE_VALUE)
+			{
+				continue;
+			}
+
+			for (int j = i + 1; j < tiles.length; j++)
+			{
+				if (tiles[j] != BLANK_TILE_VALUE && tiles[j] < tiles[i])
+				{
+					inversions++;
+				}
+			}
+		}
+		return inversions % 2 == 0;
 	}
 }
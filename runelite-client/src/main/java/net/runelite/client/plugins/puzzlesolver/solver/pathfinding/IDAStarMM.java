@@ -27,6 +27,8 @@ package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import net.runelite.api.Point;
 import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
 import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
@@ -44,7 +46,12 @@ public class IDAStarMM extends IDAStar
 
 	public IDAStarMM(Heuristic heuristic)
 	{
-		super(heuristic);
+		this(heuristic, null);
+	}
+
+	public IDAStarMM(Heuristic heuristic, @Nullable ForkJoinPool pool)
+	{
+		super(heuristic, pool);
 
 		//Add valid numbers for rows and columns
 		validRowNumbers.add(Arrays.asList(0, 1, 2, 3, 4));
@@ -73,7 +80,13 @@ public class IDAStarMM extends IDAStar
 		stateList.remove(stateList.size() - 1);
 
 		//Pathfinder for 4x4
-		path.addAll(super.computePath(currentState));
+		List<PuzzleState> remaining = super.computePath(currentState);
+		if (remaining == null)
+		{
+			return null;
+		}
+
+		path.addAll(remaining);
 
 		path.addAll(0, stateList);
 
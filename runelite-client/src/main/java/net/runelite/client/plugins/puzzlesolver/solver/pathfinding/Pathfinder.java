@@ -32,6 +32,7 @@ import net.runelite.client.plugins.puzzlesolver.solver.heuristics.Heuristic;
 public abstract class Pathfinder
 {
 	private Heuristic heuristic;
+	private volatile boolean cancelled;
 
 	Pathfinder(Heuristic heuristic)
 	{
@@ -43,5 +44,18 @@ public abstract class Pathfinder
 		return heuristic;
 	}
 
+	/**
+	 * Stop computing the path. {@link #computePath(PuzzleState)} returns null if it was cancelled.
+	 */
+	public void cancel()
+	{
+		cancelled = true;
+	}
+
+	boolean isCancelled()
+	{
+		return cancelled || Thread.currentThread().isInterrupted();
+	}
+
 	public abstract List<PuzzleState> computePath(PuzzleState start);
 }
@@ -78,6 +78,7 @@ class XpInfoBoxOverlay extends OverlayPanel
 		panelComponent.setGap(new Point(0, XP_AND_PROGRESS_BAR_GAP));
 		iconXpSplitPanel.setBorder(XP_AND_ICON_COMPONENT_BORDER);
 		iconXpSplitPanel.setBackgroundColor(null);
+		setRetained(true);
 		getMenuEntries().add(new OverlayMenuEntry(RUNELITE_OVERLAY_CONFIG, OPTION_CONFIGURE, "XP Tracker overlay"));
 	}
 
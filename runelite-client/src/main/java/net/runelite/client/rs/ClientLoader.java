@@ -29,7 +29,9 @@ package net.runelite.client.rs;
 import com.google.archivepatcher.applier.FileByFileV1DeltaApplier;
 import com.google.common.base.Strings;
 import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
 import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
 import java.applet.Applet;
@@ -39,21 +41,19 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.Map;
 import java.util.function.Supplier;
 import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 import javax.annotation.Nonnull;
 import javax.swing.SwingUtilities;
@@ -82,6 +82,7 @@ public class ClientLoader implements Supplier<Applet>
 	private static File LOCK_FILE = new File(RuneLite.CACHE_DIR, "cache.lock");
 	private static File VANILLA_CACHE = new File(RuneLite.CACHE_DIR, "vanilla.cache");
 	private static File PATCHED_CACHE = new File(RuneLite.CACHE_DIR, "patched.cache");
+	private static final String HASH_SUFFIX = ".sha512";
 
 	private final OkHttpClient okHttpClient;
 	private final ClientConfigLoader clientConfigLoader;
@@ -90,6 +91,11 @@ public class ClientLoader implements Supplier<Applet>
 
 	private Object client;
 
+	/**
+	 * sha512 of the vanilla cache, computed while it was verified or downloaded
+	 */
+	private byte[] vanillaCacheHash;
+
 	public ClientLoader(OkHttpClient okHttpClient, ClientUpdateCheckMode updateCheckMode)
 	{
 		this.okHttpClient = okHttpClient;
@@ -161,9 +167,9 @@ public class ClientLoader implements Supplier<Applet>
 
 				SplashScreen.stage(.40, null, "Loading client");
 				File jarFile = updateCheckMode == AUTO ? PATCHED_CACHE : VANILLA_CACHE;
-				// create the classloader for the jar while we hold the lock, and eagerly load and link all classes
-				// in the jar. Otherwise the jar can change on disk and can break future classloads.
-				classLoader = createJarClassLoader(jarFile);
+				// read the jar while we hold the lock, otherwise the jar can change on disk and can break
+				// future classloads. The classes are defined lazily from the copy in memory.
+				classLoader = new LazyJarClassLoader(ClientLoader.class.getClassLoader(), Files.toByteArray(jarFile));
 			}
 
 			SplashScreen.stage(.465, "Starting", "Starting Old School RuneScape");
@@ -251,6 +257,8 @@ public class ClientLoader implements Supplier<Applet>
 
 	private void updateVanilla(RSConfig config) throws IOException, VerificationException
 	{
+		vanillaCacheHash = null;
+
 		Certificate[] jagexCertificateChain = getJagexCertificateChain();
 
 		// Get the mtime of the first thing in the vanilla cache
@@ -362,9 +370,13 @@ public class ClientLoader implements Supplier<Applet>
 					{
 						try
 						{
-							// as with the request stream, its important to not early close vanilla too
-							JarInputStream vanillaCacheTest = new JarInputStream(Channels.newInputStream(vanilla));
+							// as with the request stream, its important to not early close vanilla too.
+							// hash the jar while it is verified, so applying the patch doesn't have to read it again
+							HashingInputStream in = new HashingInputStream(Hashing.sha512(), Channels.newInputStream(vanilla));
+							JarInputStream vanillaCacheTest = new JarInputStream(in);
 							verifyWholeJar(vanillaCacheTest, jagexCertificateChain);
+							ByteStreams.exhaust(in);
+							vanillaCacheHash = in.hash().asBytes();
 						}
 						catch (Exception e)
 						{
@@ -377,13 +389,15 @@ public class ClientLoader implements Supplier<Applet>
 					{
 						// the cache is not up to date, commit our peek to the file and write the rest of it, while verifying
 						vanilla.position(0);
-						OutputStream out = Channels.newOutputStream(vanilla);
+						// hash the jar as it is written, so it doesn't have to be read back to be hashed
+						HashingOutputStream out = new HashingOutputStream(Hashing.sha512(), Channels.newOutputStream(vanilla));
 						out.write(preRead.toByteArray());
 						copyStream.setOut(out);
 						verifyWholeJar(networkJIS, jagexCertificateChain);
 						copyStream.skip(Long.MAX_VALUE); // write the trailer to the file too
 						out.flush();
 						vanilla.truncate(vanilla.position());
+						vanillaCacheHash = out.hash().asBytes();
 					}
 					else
 					{
@@ -429,7 +443,11 @@ public class ClientLoader implements Supplier<Applet>
 			dis.readFully(appliedPatchHash);
 		}
 
-		byte[] vanillaCacheHash = Files.asByteSource(VANILLA_CACHE).hash(Hashing.sha512()).asBytes();
+		if (vanillaCacheHash == null)
+		{
+			vanillaCacheHash = Files.asByteSource(VANILLA_CACHE).hash(Hashing.sha512()).asBytes();
+		}
+
 		if (!Arrays.equals(vanillaHash, vanillaCacheHash))
 		{
 			log.info("Client is outdated!");
@@ -439,13 +457,24 @@ public class ClientLoader implements Supplier<Applet>
 
 		if (PATCHED_CACHE.exists())
 		{
-			byte[] diskBytes = Files.asByteSource(PATCHED_CACHE).hash(Hashing.sha512()).asBytes();
+			byte[] diskBytes = readHash(PATCHED_CACHE);
+			boolean stored = diskBytes != null;
+			if (!stored)
+			{
+				diskBytes = Files.asByteSource(PATCHED_CACHE).hash(Hashing.sha512()).asBytes();
+			}
+
 			if (!Arrays.equals(diskBytes, appliedPatchHash))
 			{
 				log.warn("Cached patch hash mismatches, regenerating patch");
 			}
 			else
 			{
+				if (!stored)
+				{
+					writeHash(PATCHED_CACHE, diskBytes);
+				}
+
 				log.info("Using cached patched client");
 				return;
 			}
@@ -469,67 +498,49 @@ public class ClientLoader implements Supplier<Applet>
 			updateCheckMode = VANILLA;
 			return;
 		}
+
+		writeHash(PATCHED_CACHE, appliedPatchHash);
 	}
 
-	private ClassLoader createJarClassLoader(File jar) throws IOException, ClassNotFoundException
+	/**
+	 * Read the stored sha512 of a file
+	 *
+	 * @return the hash, or null if there is no stored hash or the file has changed since it was stored
+	 */
+	private static byte[] readHash(File file)
 	{
-		try (JarFile jarFile = new JarFile(jar))
+		File hashFile = new File(file.getPath() + HASH_SUFFIX);
+		String stamp = file.length() + ":" + file.lastModified() + ":";
+		try
 		{
-			ClassLoader classLoader = new ClassLoader(ClientLoader.class.getClassLoader())
+			String stored = Files.asCharSource(hashFile, StandardCharsets.UTF_8).read();
+			if (file.exists() && stored.startsWith(stamp))
 			{
-				@Override
-				protected Class<?> findClass(String name) throws ClassNotFoundException
-				{
-					String entryName = name.replace('.', '/').concat(".class");
-					JarEntry jarEntry;
-
-					try
-					{
-						jarEntry = jarFile.getJarEntry(entryName);
-					}
-					catch (IllegalStateException ex)
-					{
-						throw new ClassNotFoundException(name, ex);
-					}
-
-					if (jarEntry == null)
-					{
-						throw new ClassNotFoundException(name);
-					}
-
-					try
-					{
-						InputStream inputStream = jarFile.getInputStream(jarEntry);
-						if (inputStream == null)
-						{
-							throw new ClassNotFoundException(name);
-						}
-
-						byte[] bytes = ByteStreams.toByteArray(inputStream);
-						return defineClass(name, bytes, 0, bytes.length);
-					}
-					catch (IOException e)
-					{
-						throw new ClassNotFoundException(null, e);
-					}
-				}
-			};
-
-			// load all of the classes in this jar; after the jar is closed the classloader
-			// will no longer be able to look up classes
-			Enumeration<JarEntry> entries = jarFile.entries();
-			while (entries.hasMoreElements())
-			{
-				JarEntry jarEntry = entries.nextElement();
-				String name = jarEntry.getName();
-				if (name.endsWith(".class"))
-				{
-					name = name.substring(0, name.length() - 6);
-					classLoader.loadClass(name);
-				}
+				return BaseEncoding.base16().lowerCase().decode(stored.substring(stamp.length()));
 			}
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			log.debug("Unable to read stored hash of {}", file, e);
+		}
+		return null;
+	}
 
-			return classLoader;
+	/**
+	 * Store the sha512 of a file, keyed by its current size and modification time. This must only be
+	 * called with a hash which has been checked against the expected hash.
+	 */
+	private static void writeHash(File file, byte[] hash)
+	{
+		File hashFile = new File(file.getPath() + HASH_SUFFIX);
+		String stamp = file.length() + ":" + file.lastModified() + ":" + BaseEncoding.base16().lowerCase().encode(hash);
+		try
+		{
+			Files.asCharSink(hashFile, StandardCharsets.UTF_8).write(stamp);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to store hash of {}", file, e);
 		}
 	}
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Class loader for a jar held in memory. Only the zip central directory is read up front; each class
+ * is inflated and defined the first time it is loaded. Since the classes come from a snapshot of the
+ * jar, the jar on disk is free to change afterwards.
+ */
+class LazyJarClassLoader extends ClassLoader
+{
+	private static final int END_HEADER_SIGNATURE = 0x06054b50;
+	private static final int END_HEADER_SIZE = 22;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+
+	private final ByteBuffer jar;
+	/**
+	 * class name -> offset of the central directory header of its entry
+	 */
+	private final Map<String, Integer> classes = new HashMap<>();
+
+	LazyJarClassLoader(ClassLoader parent, byte[] jar) throws IOException
+	{
+		super(parent);
+		this.jar = ByteBuffer.wrap(jar).order(ByteOrder.LITTLE_ENDIAN);
+		readCentralDirectory();
+	}
+
+	private void readCentralDirectory() throws IOException
+	{
+		// the end of central directory record is followed by a comment of up to 64k
+		int end = -1;
+		for (int i = jar.limit() - END_HEADER_SIZE; i >= 0 && i >= jar.limit() - END_HEADER_SIZE - 0xFFFF; --i)
+		{
+			if (jar.getInt(i) == END_HEADER_SIGNATURE)
+			{
+				end = i;
+				break;
+			}
+		}
+
+		if (end == -1)
+		{
+			throw new IOException("jar has no end of central directory record");
+		}
+
+		final int count = Short.toUnsignedInt(jar.getShort(end + 10));
+		int offset = jar.getInt(end + 16);
+		for (int i = 0; i < count; ++i)
+		{
+			if (offset < 0 || offset + CENTRAL_HEADER_SIZE > jar.limit() || jar.getInt(offset) != CENTRAL_HEADER_SIGNATURE)
+			{
+				throw new IOException("invalid central directory header at " + offset);
+			}
+
+			final int nameLength = Short.toUnsignedInt(jar.getShort(offset + 28));
+			final int extraLength = Short.toUnsignedInt(jar.getShort(offset + 30));
+			final int commentLength = Short.toUnsignedInt(jar.getShort(offset + 32));
+			final String name = new String(jar.array(), offset + CENTRAL_HEADER_SIZE, nameLength, StandardCharsets.UTF_8);
+			if (name.endsWith(".class"))
+			{
+				classes.put(name.substring(0, name.length() - 6).replace('/', '.'), offset);
+			}
+
+			offset += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException
+	{
+		final Integer header = classes.get(name);
+		if (header == null)
+		{
+			throw new ClassNotFoundException(name);
+		}
+
+		try
+		{
+			final byte[] bytes = readEntry(header);
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+		catch (IOException | DataFormatException e)
+		{
+			throw new ClassNotFoundException(name, e);
+		}
+	}
+
+	private byte[] readEntry(int header) throws IOException, DataFormatException
+	{
+		final int method = Short.toUnsignedInt(jar.getShort(header + 10));
+		final int compressedSize = jar.getInt(header + 20);
+		final int size = jar.getInt(header + 24);
+		final int local = jar.getInt(header + 42);
+		if (local < 0 || local + LOCAL_HEADER_SIZE > jar.limit() || jar.getInt(local) != LOCAL_HEADER_SIGNATURE)
+		{
+			throw new IOException("invalid local file header at " + local);
+		}
+
+		final int data = local + LOCAL_HEADER_SIZE
+			+ Short.toUnsignedInt(jar.getShort(local + 26))
+			+ Short.toUnsignedInt(jar.getShort(local + 28));
+		if (compressedSize < 0 || size < 0 || data + compressedSize > jar.limit())
+		{
+			throw new IOException("truncated jar entry at " + local);
+		}
+
+		final byte[] bytes = new byte[size];
+		switch (method)
+		{
+			case ZipEntry.STORED:
+				System.arraycopy(jar.array(), data, bytes, 0, size);
+				break;
+			case ZipEntry.DEFLATED:
+				final Inflater inflater = new Inflater(true);
+				try
+				{
+					// raw inflate may want an extra byte past the end of the stream, which the next header provides
+					inflater.setInput(jar.array(), data, Math.min(compressedSize + 1, jar.limit() - data));
+					if (inflater.inflate(bytes) != size || !inflater.finished())
+					{
+						throw new DataFormatException("entry did not inflate to its size");
+					}
+				}
+				finally
+				{
+					inflater.end();
+				}
+				break;
+			default:
+				throw new IOException("unsupported compression method " + method);
+		}
+		return bytes;
+	}
+}
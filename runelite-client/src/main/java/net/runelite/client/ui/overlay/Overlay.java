@@ -30,6 +30,7 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.client.plugins.Plugin;
@@ -52,6 +53,23 @@ public abstract class Overlay implements LayoutableRenderableEntity
 	private boolean resizable;
 	private boolean resettable = true;
 
+	/**
+	 * Enables retained rendering. A retained overlay is rendered into an image which is drawn
+	 * on every frame, and {@link #render} is only called again once the overlay is dirty.
+	 * Retained overlays are marked dirty every game tick and on config changes, and are rendered
+	 * directly while hovered or while overlays are being moved. Only overlays whose content
+	 * depends on nothing else should enable this.
+	 */
+	private boolean retained;
+
+	@Getter(AccessLevel.PACKAGE)
+	@Setter(AccessLevel.NONE)
+	private volatile boolean dirty = true;
+
+	@Getter(AccessLevel.PACKAGE)
+	@Setter(AccessLevel.PACKAGE)
+	private RetainedImage retainedImage;
+
 	protected Overlay()
 	{
 		plugin = null;
@@ -74,4 +92,17 @@ public abstract class Overlay implements LayoutableRenderableEntity
 	public void onMouseOver()
 	{
 	}
+
+	/**
+	 * Marks a retained overlay as needing to be rendered again on the next frame
+	 */
+	public void markDirty()
+	{
+		dirty = true;
+	}
+
+	void clearDirty()
+	{
+		dirty = false;
+	}
 }
@@ -39,6 +39,7 @@ import javax.inject.Singleton;
 import lombok.AccessLevel;
 import lombok.Getter;
 import net.runelite.api.MenuAction;
+import net.runelite.api.events.GameTick;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.widgets.WidgetItem;
 import net.runelite.client.config.ConfigGroup;
@@ -117,6 +118,8 @@ public class OverlayManager
 	@Subscribe
 	public void onConfigChanged(final ConfigChanged event)
 	{
+		markRetainedDirty();
+
 		if (!RuneLiteConfig.GROUP_NAME.equals(event.getGroup()) || !"overlayBackgroundColor".equals(event.getKey()))
 		{
 			return;
@@ -125,6 +128,12 @@ public class OverlayManager
 		overlays.forEach(this::updateOverlayConfig);
 	}
 
+	@Subscribe
+	public void onGameTick(final GameTick event)
+	{
+		markRetainedDirty();
+	}
+
 	@Subscribe
 	public void onPluginChanged(final PluginChanged event)
 	{
@@ -169,6 +178,20 @@ public class OverlayManager
 		return overlayLayers.get(layer);
 	}
 
+	/**
+	 * Mark all retained overlays as needing to be rendered again
+	 */
+	public synchronized void markRetainedDirty()
+	{
+		for (Overlay overlay : overlays)
+		{
+			if (overlay.isRetained())
+			{
+				overlay.markDirty();
+			}
+		}
+	}
+
 	/**
 	 * Add overlay.
 	 *
@@ -309,6 +332,9 @@ public class OverlayManager
 			value.sort(OVERLAY_COMPARATOR);
 			overlayLayers.put(layer, Collections.unmodifiableList(value));
 		});
+
+		// retained overlays may have moved to make room for, or fill the space of, the changed overlays
+		markRetainedDirty();
 	}
 
 	private void loadOverlay(final Overlay overlay)
@@ -26,6 +26,7 @@ package net.runelite.client.ui.overlay;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.primitives.Ints;
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Cursor;
@@ -36,10 +37,13 @@ import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Stroke;
+import java.awt.Transparency;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.Objects;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
@@ -77,6 +81,11 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private static final Color MOVING_OVERLAY_COLOR = new Color(255, 255, 0, 100);
 	private static final Color MOVING_OVERLAY_ACTIVE_COLOR = new Color(255, 255, 0, 200);
 	private static final Color MOVING_OVERLAY_RESIZING_COLOR = new Color(255, 0, 255, 200);
+	/**
+	 * Extra space given to retained overlay images so that they don't need to be reallocated
+	 * every time the overlay grows slightly
+	 */
+	private static final int RETAINED_IMAGE_SLACK = 32;
 	private final Client client;
 	private final OverlayManager overlayManager;
 	private final RuneLiteConfig runeLiteConfig;
@@ -233,7 +242,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 
 			if (overlayPosition == OverlayPosition.DYNAMIC || overlayPosition == OverlayPosition.TOOLTIP)
 			{
-				safeRender(client, overlay, layer, graphics, new Point());
+				safeRender(client, overlay, layer, graphics, new Point(), false);
 
 				// Restore graphics2d properties
 				graphics.setTransform(transform);
@@ -276,7 +285,12 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 					overlay.getBounds().setSize(overlay.getPreferredSize());
 				}
 
-				safeRender(client, overlay, layer, graphics, location);
+				// Retained overlays are rendered directly while they are interacted with
+				final boolean retained = overlay.isRetained()
+					&& !inOverlayManagingMode
+					&& !overlay.getBounds().contains(mouse);
+
+				safeRender(client, overlay, layer, graphics, location, retained);
 
 				// Restore graphics2d properties prior to drawing bounds
 				graphics.setTransform(transform);
@@ -612,7 +626,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		}
 	}
 
-	private void safeRender(Client client, Overlay overlay, OverlayLayer layer, Graphics2D graphics, Point point)
+	private void safeRender(Client client, Overlay overlay, OverlayLayer layer, Graphics2D graphics, Point point, boolean retained)
 	{
 		if (!isResizeable && (layer == OverlayLayer.ABOVE_SCENE || layer == OverlayLayer.UNDER_WIDGETS))
 		{
@@ -648,7 +662,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		final Dimension overlayDimension;
 		try
 		{
-			overlayDimension = overlay.render(graphics);
+			overlayDimension = retained ? renderRetained(overlay, graphics) : overlay.render(graphics);
 		}
 		catch (Exception ex)
 		{
@@ -660,6 +674,82 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		overlay.getBounds().setSize(dimension);
 	}
 
+	/**
+	 * Draw the retained image of an overlay, rendering the overlay into it first if it is dirty
+	 */
+	private Dimension renderRetained(Overlay overlay, Graphics2D graphics)
+	{
+		RetainedImage retainedImage = overlay.getRetainedImage();
+		if (retainedImage != null
+			&& !overlay.isDirty()
+			&& retainedImage.getFont().equals(graphics.getFont())
+			&& Objects.equals(retainedImage.getPreferredSize(), overlay.getPreferredSize()))
+		{
+			if (retainedImage.getImage() != null)
+			{
+				graphics.drawImage(retainedImage.getImage(), 0, 0, null);
+			}
+			return retainedImage.getDimension();
+		}
+
+		// clear before rendering so that the overlay can mark itself dirty again while rendering
+		overlay.clearDirty();
+
+		final Dimension size = retainedImage != null && retainedImage.getDimension() != null
+			? retainedImage.getDimension()
+			: overlay.getBounds().getSize();
+		if (size.width <= 0 || size.height <= 0)
+		{
+			// the size isn't known yet, so render directly this frame
+			final Dimension dimension = overlay.render(graphics);
+			if (dimension != null && dimension.width > 0 && dimension.height > 0)
+			{
+				// and retain it from the next frame
+				overlay.markDirty();
+			}
+			overlay.setRetainedImage(new RetainedImage(null, dimension, graphics.getFont(), overlay.getPreferredSize()));
+			return dimension;
+		}
+
+		BufferedImage image = retainedImage != null ? retainedImage.getImage() : null;
+		if (image == null
+			|| image.getWidth() < size.width || image.getWidth() > size.width + RETAINED_IMAGE_SLACK * 2
+			|| image.getHeight() < size.height || image.getHeight() > size.height + RETAINED_IMAGE_SLACK * 2)
+		{
+			image = graphics.getDeviceConfiguration().createCompatibleImage(
+				size.width + RETAINED_IMAGE_SLACK, size.height + RETAINED_IMAGE_SLACK, Transparency.TRANSLUCENT);
+		}
+
+		final Dimension dimension;
+		final Graphics2D imageGraphics = image.createGraphics();
+		try
+		{
+			imageGraphics.setComposite(AlphaComposite.Clear);
+			imageGraphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+			imageGraphics.setComposite(graphics.getComposite());
+			imageGraphics.setRenderingHints(graphics.getRenderingHints());
+			imageGraphics.setStroke(graphics.getStroke());
+			imageGraphics.setPaint(graphics.getPaint());
+			imageGraphics.setBackground(graphics.getBackground());
+			imageGraphics.setFont(graphics.getFont());
+			dimension = overlay.render(imageGraphics);
+		}
+		finally
+		{
+			imageGraphics.dispose();
+		}
+
+		if (dimension != null && (dimension.width > image.getWidth() || dimension.height > image.getHeight()))
+		{
+			// the overlay outgrew the image, render it again at the new size next frame
+			overlay.markDirty();
+		}
+
+		overlay.setRetainedImage(new RetainedImage(image, dimension, graphics.getFont(), overlay.getPreferredSize()));
+		graphics.drawImage(image, 0, 0, null);
+		return dimension;
+	}
+
 	private OverlayPosition getCorrectedOverlayPosition(final Overlay overlay)
 	{
 		OverlayPosition overlayPosition = overlay.getPosition();
@@ -28,23 +28,30 @@ import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.ws.WebsocketBinary;
 import net.runelite.http.api.ws.WebsocketGsonFactory;
 import net.runelite.http.api.ws.WebsocketMessage;
+import net.runelite.http.api.ws.WebsocketMessageCodec;
 import net.runelite.http.api.ws.messages.Handshake;
+import net.runelite.http.api.ws.messages.HandshakeResponse;
 import net.runelite.http.api.ws.messages.party.PartyMessage;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
+import okio.Buffer;
+import okio.ByteString;
 
 @Slf4j
 @Singleton
@@ -53,11 +60,18 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	private final EventBus eventBus;
 	private final OkHttpClient okHttpClient;
 	private final Collection<Class<? extends WebsocketMessage>> messages = new HashSet<>();
+	private final Map<Class<? extends WebsocketMessage>, WebsocketMessageCodec<?>> codecs = new ConcurrentHashMap<>();
+	private final Map<Integer, WebsocketMessageCodec<?>> codecIds = new ConcurrentHashMap<>();
 
 	private volatile Gson gson;
 	@Getter
 	private UUID sessionId;
 	private WebSocket webSocket;
+	/**
+	 * whether the server has accepted binary frames for messages with a codec
+	 */
+	@Getter
+	private volatile boolean binary;
 
 	@Inject
 	private WSClient(EventBus eventBus, OkHttpClient okHttpClient)
@@ -105,9 +119,11 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			.build();
 
 		webSocket = okHttpClient.newWebSocket(request, this);
+		binary = false;
 
 		Handshake handshake = new Handshake();
 		handshake.setSession(sessionId);
+		handshake.setProtocol(WebsocketBinary.PROTOCOL_VERSION);
 		send(handshake);
 	}
 
@@ -119,14 +135,32 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 	}
 
+	/**
+	 * Register a party message with a binary codec. The message is sent as json until the server
+	 * accepts the binary protocol.
+	 */
+	public <T extends PartyMessage> void registerMessage(final Class<T> message, final WebsocketMessageCodec<T> codec)
+	{
+		registerMessage(message);
+		codecs.put(message, codec);
+		codecIds.put(codec.getId(), codec);
+	}
+
 	public void unregisterMessage(final Class<? extends WebsocketMessage> message)
 	{
 		if (messages.remove(message))
 		{
 			gson = WebsocketGsonFactory.build(WebsocketGsonFactory.factory(messages));
 		}
+
+		final WebsocketMessageCodec<?> codec = codecs.remove(message);
+		if (codec != null)
+		{
+			codecIds.remove(codec.getId());
+		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public void send(WebsocketMessage message)
 	{
 		if (webSocket == null)
@@ -135,6 +169,18 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			connect();
 		}
 
+		final WebsocketMessageCodec<WebsocketMessage> codec = binary ? (WebsocketMessageCodec<WebsocketMessage>) codecs.get(message.getClass()) : null;
+		if (codec != null)
+		{
+			final Buffer buffer = new Buffer();
+			WebsocketBinary.writeVarInt(buffer, codec.getId());
+			codec.encode(message, buffer);
+			final long size = buffer.size();
+			webSocket.send(buffer.readByteString());
+			log.debug("Sent: {} ({} bytes)", message, size);
+			return;
+		}
+
 		final String json = gson.toJson(message, WebsocketMessage.class);
 		webSocket.send(json);
 		log.debug("Sent: {}", json);
@@ -177,6 +223,42 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 
 		log.debug("Got: {}", text);
+
+		if (message instanceof HandshakeResponse)
+		{
+			binary = ((HandshakeResponse) message).getProtocol() >= WebsocketBinary.PROTOCOL_VERSION;
+			log.debug("Binary protocol {}", binary ? "enabled" : "disabled");
+		}
+
+		eventBus.post(message);
+	}
+
+	@Override
+	public void onMessage(WebSocket webSocket, ByteString bytes)
+	{
+		final Buffer buffer = new Buffer().write(bytes);
+		final WebsocketMessage message;
+
+		try
+		{
+			final int id = WebsocketBinary.readVarInt(buffer);
+			final WebsocketMessageCodec<?> codec = codecIds.get(id);
+			if (codec == null)
+			{
+				log.debug("Got binary message with unknown id {}", id);
+				return;
+			}
+
+			message = codec.decode(buffer);
+		}
+		catch (RuntimeException e)
+		{
+			// a bad frame must not kill the listener
+			log.debug("Failed to decode binary message", e);
+			return;
+		}
+
+		log.debug("Got: {} ({} bytes)", message, bytes.size());
 		eventBus.post(message);
 	}
 
@@ -185,6 +267,7 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	{
 		log.info("Websocket {} closed: {}/{}", webSocket, code, reason);
 		this.webSocket = null;
+		binary = false;
 	}
 
 	@Override
@@ -192,5 +275,6 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 	{
 		log.warn("Error in websocket {}:{}", response, t);
 		this.webSocket = null;
+		binary = false;
 	}
 }
@@ -30,6 +30,9 @@ import com.google.inject.testing.fieldbinder.BoundFieldModule;
 import java.io.File;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
@@ -120,4 +123,45 @@ public class ConfigManagerTest
 		ConfigDescriptor descriptor = manager.getConfigDescriptor(conf);
 		Assert.assertEquals(1, descriptor.getItems().size());
 	}
+
+	@Test
+	public void testGetConfigurationKeys()
+	{
+		manager.setConfiguration("banktags", "item_1", "a");
+		manager.setConfiguration("banktags", "item_20", "b");
+		manager.setConfiguration("banktags", "icon_a", "1");
+		manager.setConfiguration("banktagsextra", "item_3", "c");
+
+		List<String> keys = manager.getConfigurationKeys("banktags.item_");
+		Collections.sort(keys);
+		Assert.assertEquals(Arrays.asList("banktags.item_1", "banktags.item_20"), keys);
+
+		keys = manager.getConfigurationKeys("banktags");
+		Collections.sort(keys);
+		Assert.assertEquals(Arrays.asList("banktags.icon_a", "banktags.item_1", "banktags.item_20", "banktagsextra.item_3"), keys);
+
+		manager.unsetConfiguration("banktags", "item_1");
+		Assert.assertEquals(Collections.singletonList("banktags.item_20"), manager.getConfigurationKeys("banktags.item_"));
+		Assert.assertTrue(manager.getConfigurationKeys("missing.").isEmpty());
+	}
+
+	@Test
+	public void testConfigInvalidation()
+	{
+		TestConfig conf = manager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+
+		manager.setConfiguration("test", "other", "value");
+		manager.setConfiguration("other", "key", "value");
+		Assert.assertEquals("default", conf.key());
+
+		manager.setConfiguration("test", "key", "first");
+		Assert.assertEquals("first", conf.key());
+
+		manager.setConfiguration("test", "key", "second");
+		Assert.assertEquals("second", conf.key());
+
+		manager.unsetConfiguration("test", "key");
+		Assert.assertEquals("default", conf.key());
+	}
 }
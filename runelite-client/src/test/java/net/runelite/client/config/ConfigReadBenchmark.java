@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.io.File;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Named;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import net.runelite.client.eventbus.EventBus;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Measures config proxy reads the way overlays do them: the same few getters every frame,
+ * with an occasional write to an unrelated key of the same group.
+ */
+@Slf4j
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ConfigReadBenchmark
+{
+	private static final int FRAMES = 1_000_000;
+	private static final int READS_PER_FRAME = 8;
+
+	@Mock
+	@Bind
+	EventBus eventBus;
+
+	@Mock
+	@Bind
+	ScheduledExecutorService executor;
+
+	@Mock
+	@Bind
+	RuneLiteConfig runeliteConfig;
+
+	@Bind
+	@Named("sessionfile")
+	File sessionfile = RuneLite.DEFAULT_SESSION_FILE;
+
+	@Bind
+	@Named("config")
+	File config = RuneLite.DEFAULT_CONFIG_FILE;
+
+	@Inject
+	ConfigManager manager;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	@Test
+	@Ignore
+	public void benchmark()
+	{
+		manager.setConfiguration("test", "key", "value");
+		TestConfig conf = manager.getConfig(TestConfig.class);
+
+		// warm up
+		run(conf, FRAMES / 10);
+
+		long start = System.nanoTime();
+		int hash = run(conf, FRAMES);
+		long elapsed = System.nanoTime() - start;
+
+		log.info("{} reads in {}ms, {}ns/read ({})", (long) FRAMES * READS_PER_FRAME, elapsed / 1_000_000,
+			(double) elapsed / ((long) FRAMES * READS_PER_FRAME), hash);
+	}
+
+	private int run(TestConfig conf, int frames)
+	{
+		int hash = 0;
+		for (int frame = 0; frame < frames; ++frame)
+		{
+			for (int i = 0; i < READS_PER_FRAME; ++i)
+			{
+				hash += conf.key().length();
+			}
+
+			if (frame % 1000 == 0)
+			{
+				// an unrelated change in the same group must not invalidate key()
+				manager.setConfiguration("test", "other", frame);
+			}
+		}
+		return hash;
+	}
+}
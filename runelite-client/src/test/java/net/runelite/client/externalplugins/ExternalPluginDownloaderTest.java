@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.externalplugins;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import net.runelite.client.util.VerificationException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExternalPluginDownloaderTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final MockWebServer server = new MockWebServer();
+
+	private byte[] jar;
+	private ExternalPluginManifest manifest;
+	private ExternalPluginDownloader downloader;
+
+	@Before
+	public void before() throws IOException
+	{
+		server.start();
+
+		jar = new byte[20_000];
+		new Random(42).nextBytes(jar);
+
+		manifest = new ExternalPluginManifest();
+		manifest.setInternalName("test-plugin");
+		manifest.setCommit("0123456789abcdef");
+		manifest.setHash(Hashing.sha256().hashBytes(jar).toString());
+		manifest.setSize(jar.length);
+
+		downloader = new ExternalPluginDownloader(new OkHttpClient(), server.url("/hub"), folder.getRoot());
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		server.shutdown();
+	}
+
+	@Test
+	public void testDownload() throws Exception
+	{
+		server.enqueue(new MockResponse().setBody(new Buffer().write(jar)));
+
+		assertFalse(downloader.isCached(manifest));
+		int[] progress = new int[1];
+		downloader.download(manifest, i -> progress[0] = i);
+
+		RecordedRequest request = server.takeRequest();
+		assertEquals("/hub/test-plugin/0123456789abcdef.jar", request.getPath());
+		assertNull(request.getHeader("Range"));
+
+		assertEquals(jar.length, progress[0]);
+		assertTrue(downloader.isCached(manifest));
+		assertFalse(downloader.getPartFile(manifest).exists());
+		assertArrayEquals(jar, Files.toByteArray(downloader.getJarFile(manifest)));
+	}
+
+	@Test
+	public void testResume() throws Exception
+	{
+		Files.write(Arrays.copyOf(jar, 5000), downloader.getPartFile(manifest));
+		server.enqueue(new MockResponse()
+			.setResponseCode(206)
+			.setHeader("Content-Range", "bytes 5000-" + (jar.length - 1) + "/" + jar.length)
+			.setBody(new Buffer().write(jar, 5000, jar.length - 5000)));
+
+		int[] progress = new int[1];
+		downloader.download(manifest, i -> progress[0] = i);
+
+		assertEquals("bytes=5000-", server.takeRequest().getHeader("Range"));
+		assertEquals(jar.length, progress[0]);
+		assertArrayEquals(jar, Files.toByteArray(downloader.getJarFile(manifest)));
+	}
+
+	@Test
+	public void testResumeNotSupported() throws Exception
+	{
+		Files.write(new byte[5000], downloader.getPartFile(manifest));
+		server.enqueue(new MockResponse().setBody(new Buffer().write(jar)));
+
+		downloader.download(manifest, i ->
+		{
+		});
+
+		assertEquals("bytes=5000-", server.takeRequest().getHeader("Range"));
+		assertArrayEquals(jar, Files.toByteArray(downloader.getJarFile(manifest)));
+	}
+
+	@Test
+	public void testHashMismatch() throws Exception
+	{
+		jar[0] ^= 1;
+		server.enqueue(new MockResponse().setBody(new Buffer().write(jar)));
+
+		try
+		{
+			downloader.download(manifest, i ->
+			{
+			});
+			fail();
+		}
+		catch (VerificationException e)
+		{
+			// expected
+		}
+
+		assertFalse(downloader.isCached(manifest));
+		assertFalse(downloader.getPartFile(manifest).exists());
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ItemIconStoreTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static BufferedImage icon(int seed)
+	{
+		BufferedImage image = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		for (int x = 0; x < 36; ++x)
+		{
+			image.setRGB(x, x % 32, 0xFF000000 | seed * 31 + x);
+		}
+		return image;
+	}
+
+	private static int[] pixels(BufferedImage image)
+	{
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	@Test
+	public void testPersist() throws IOException
+	{
+		File directory = folder.newFolder();
+
+		ItemIconStore store = new ItemIconStore(directory);
+		store.open(0x190L);
+		store.write(1L, icon(1));
+		store.write(2L, icon(2));
+		store.close();
+
+		store = new ItemIconStore(directory);
+		store.open(0x190L);
+		assertTrue(store.contains(1L));
+
+		BufferedImage image = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		assertTrue(store.read(2L, image));
+		assertArrayEquals(pixels(icon(2)), pixels(image));
+		assertFalse(store.read(3L, image));
+		store.close();
+	}
+
+	@Test
+	public void testContentChange() throws IOException
+	{
+		File directory = folder.newFolder();
+		File other = new File(directory, "other");
+		assertTrue(other.mkdir());
+
+		ItemIconStore store = new ItemIconStore(directory);
+		store.open(0x190L);
+		store.write(1L, icon(1));
+		store.open(0x191L);
+		assertFalse(store.contains(1L));
+		assertFalse(new File(directory, "0000000000000190").exists());
+		// directories which aren't icon stores are left alone
+		assertTrue(other.exists());
+		store.close();
+	}
+
+	@Test
+	public void testLocked() throws IOException
+	{
+		File directory = folder.newFolder();
+
+		ItemIconStore store = new ItemIconStore(directory);
+		store.open(0x190L);
+		store.write(1L, icon(1));
+
+		// a store in use elsewhere is neither read, written nor deleted
+		ItemIconStore other = new ItemIconStore(directory);
+		other.open(0x190L);
+		assertFalse(other.contains(1L));
+		other.write(2L, icon(2));
+		other.open(0x191L);
+		assertTrue(new File(directory, "0000000000000190").exists());
+		other.close();
+
+		assertTrue(store.contains(1L));
+		assertFalse(store.contains(2L));
+		store.close();
+
+		other.open(0x192L);
+		assertFalse(new File(directory, "0000000000000190").exists());
+		other.close();
+	}
+
+	@Test
+	public void testTruncatedRecord() throws IOException
+	{
+		File directory = folder.newFolder();
+
+		ItemIconStore store = new ItemIconStore(directory);
+		store.open(0x190L);
+		store.write(1L, icon(1));
+		store.write(2L, icon(2));
+		store.close();
+
+		try (RandomAccessFile file = new RandomAccessFile(new File(new File(directory, "0000000000000190"), "icons.dat"), "rw"))
+		{
+			file.setLength(file.length() - 1);
+		}
+
+		store = new ItemIconStore(directory);
+		store.open(0x190L);
+		assertTrue(store.contains(1L));
+		assertFalse(store.contains(2L));
+
+		// appending after the truncated record still works
+		store.write(2L, icon(2));
+		BufferedImage image = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		assertTrue(store.read(2L, image));
+		assertArrayEquals(pixels(icon(2)), pixels(image));
+		store.close();
+	}
+}
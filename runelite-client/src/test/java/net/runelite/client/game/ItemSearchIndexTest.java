@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ItemSearchIndexTest
+{
+	private final ItemSearchIndex index = new ItemSearchIndex(
+		new int[]{1, 2, 3, 4, 5, 6},
+		new String[]{"Dragon dagger(p++)", "Dragon dagger", "Abyssal whip", "Abyssal dagger", "Whip", "Rune scimitar"});
+
+	@Test
+	public void testRanking()
+	{
+		// exact, prefix, word start
+		assertArrayEquals(new int[]{5, 3}, index.search("whip", 10));
+		assertArrayEquals(new int[]{2, 4, 1}, index.search("DAGGER", 10));
+		assertArrayEquals(new int[]{2, 1}, index.search("dragon", 10));
+	}
+
+	@Test
+	public void testSubstring()
+	{
+		assertArrayEquals(new int[]{6}, index.search("imit", 10));
+		assertArrayEquals(new int[]{3, 4}, index.search("yss", 10));
+		assertArrayEquals(new int[0], index.search("dagger whip", 10));
+	}
+
+	@Test
+	public void testShortSearch()
+	{
+		// shorter than a trigram
+		assertArrayEquals(new int[]{5, 3}, index.search("wh", 10));
+		assertArrayEquals(new int[]{6}, index.search("u", 10));
+	}
+
+	@Test
+	public void testLimit()
+	{
+		assertArrayEquals(new int[]{2}, index.search("dagger", 1));
+		assertEquals(0, index.search("", 10).length);
+	}
+}
@@ -26,6 +26,8 @@ package net.runelite.client.plugins;
 
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
@@ -37,14 +39,19 @@ import com.google.inject.util.Modules;
 import java.applet.Applet;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteModule;
@@ -150,6 +157,42 @@ public class PluginManagerTest
 		assertEquals(expected, plugins.size());
 	}
 
+	@Test
+	public void testPluginIndex() throws Exception
+	{
+		List<PluginIndexEntry> entries;
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream(PluginIndexProcessor.INDEX))
+		{
+			entries = new Gson().fromJson(new InputStreamReader(in, StandardCharsets.UTF_8),
+				new TypeToken<List<PluginIndexEntry>>()
+				{
+				}.getType());
+		}
+
+		// The index must list exactly the plugins found by scanning the classpath
+		Set<String> indexed = entries.stream()
+			.map(PluginIndexEntry::getClassName)
+			.collect(Collectors.toSet());
+		Set<String> scanned = pluginClasses.stream()
+			.map(Class::getName)
+			.collect(Collectors.toSet());
+		assertEquals(scanned, indexed);
+
+		for (PluginIndexEntry entry : entries)
+		{
+			Class<?> clazz = Class.forName(entry.getClassName());
+			PluginDescriptor descriptor = clazz.getAnnotation(PluginDescriptor.class);
+			assertEquals(descriptor.name(), entry.getName());
+			assertEquals(descriptor.developerPlugin(), entry.isDeveloperPlugin());
+			assertEquals(descriptor.loadWhenOutdated(), entry.isLoadWhenOutdated());
+
+			List<String> dependencies = Arrays.stream(clazz.getAnnotationsByType(PluginDependency.class))
+				.map(d -> d.value().getName())
+				.collect(Collectors.toList());
+			assertEquals(dependencies, entry.getDependencies());
+		}
+	}
+
 	@Test
 	public void dumpGraph() throws Exception
 	{
@@ -27,12 +27,16 @@ package net.runelite.client.plugins.banktags;
 import com.google.inject.Guice;
 import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.Arrays;
+import java.util.Collections;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import static net.runelite.api.ItemID.ABYSSAL_WHIP;
+import static net.runelite.api.ItemID.COINS_995;
 import net.runelite.api.events.ScriptCallbackEvent;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.config.RuneLiteConfig;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.banktags.tabs.TabInterface;
 import net.runelite.client.plugins.cluescrolls.ClueScrollService;
@@ -148,4 +152,30 @@ public class BankTagsPluginTest
 		bankTagsPlugin.onScriptCallbackEvent(EVENT);
 		assertEquals(1, client.getIntStack()[0]);
 	}
+
+	@Test
+	public void testGetItemsForTag()
+	{
+		final String whipKey = TagManager.ITEM_KEY_PREFIX + ABYSSAL_WHIP;
+		final String coinsKey = TagManager.ITEM_KEY_PREFIX + COINS_995;
+
+		when(configManager.getConfigurationKeys(BankTagsPlugin.CONFIG_GROUP + "." + TagManager.ITEM_KEY_PREFIX))
+			.thenReturn(Arrays.asList(BankTagsPlugin.CONFIG_GROUP + "." + whipKey, BankTagsPlugin.CONFIG_GROUP + "." + coinsKey));
+		when(configManager.getConfiguration(BankTagsPlugin.CONFIG_GROUP, whipKey)).thenReturn("herb,bossing,whip");
+		when(configManager.getConfiguration(BankTagsPlugin.CONFIG_GROUP, coinsKey)).thenReturn("money");
+
+		assertEquals(Collections.singletonList(ABYSSAL_WHIP), tagManager.getItemsForTag("bossing"));
+		assertEquals(Collections.singletonList(COINS_995), tagManager.getItemsForTag("money"));
+
+		// tag changes are picked up incrementally from config events
+		when(configManager.getConfiguration(BankTagsPlugin.CONFIG_GROUP, coinsKey)).thenReturn("money,bossing");
+		ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup(BankTagsPlugin.CONFIG_GROUP);
+		configChanged.setKey(coinsKey);
+		configChanged.setNewValue("money,bossing");
+		bankTagsPlugin.onConfigChanged(configChanged);
+
+		assertEquals(Arrays.asList(COINS_995, ABYSSAL_WHIP), tagManager.getItemsForTag("bossing"));
+		assertEquals(Collections.emptyList(), tagManager.getItemsForTag("missing"));
+	}
 }
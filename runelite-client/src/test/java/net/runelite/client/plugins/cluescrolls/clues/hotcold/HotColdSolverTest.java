@@ -26,7 +26,9 @@ package net.runelite.client.plugins.cluescrolls.clues.hotcold;
 
 import com.google.common.collect.Sets;
 import java.awt.Rectangle;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import static junit.framework.TestCase.assertTrue;
@@ -36,6 +38,7 @@ import static net.runelite.client.plugins.cluescrolls.clues.hotcold.HotColdSolve
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import org.junit.Test;
 
 public class HotColdSolverTest
@@ -182,6 +185,95 @@ public class HotColdSolverTest
 			Sets.immutableEnumSet(HotColdLocation.ZEAH_SULPHR_MINE));
 	}
 
+	@Test
+	public void testBestCheckLocation()
+	{
+		final HotColdSolver solver = createHotColdSolver();
+		assertTrue(solver.getPossibleLocations().contains(solver.getBestCheckLocation()));
+
+		testSolver(solver, new WorldPoint(2711, 2803, 0), RESPONSE_TEXT_COLD, Sets.immutableEnumSet(
+			HotColdLocation.FELDIP_HILLS_GNOME_GLITER,
+			HotColdLocation.FELDIP_HILLS_RANTZ,
+			HotColdLocation.FELDIP_HILLS_RED_CHIN,
+			HotColdLocation.KARAMJA_KHARAZI_NE,
+			HotColdLocation.KARAMJA_CRASH_ISLAND));
+		assertTrue(solver.getPossibleLocations().contains(solver.getBestCheckLocation()));
+
+		testSolver(solver, new WorldPoint(2852, 2992, 0), RESPONSE_TEXT_VERY_HOT_WARMER,
+			Sets.immutableEnumSet(HotColdLocation.KARAMJA_KHARAZI_NE));
+		assertEquals(HotColdLocation.KARAMJA_KHARAZI_NE, solver.getBestCheckLocation());
+
+		assertNull(new HotColdSolver(EnumSet.noneOf(HotColdLocation.class)).getBestCheckLocation());
+	}
+
+	@Test
+	public void testMatchesRectangleFiltering()
+	{
+		final Random random = new Random(42);
+		final HotColdLocation[] masterLocations = Arrays.stream(HotColdLocation.values())
+			.filter(l -> !l.isBeginnerClue())
+			.toArray(HotColdLocation[]::new);
+
+		for (int run = 0; run < 50; ++run)
+		{
+			final HotColdLocation solution = masterLocations[random.nextInt(masterLocations.length)];
+			final Set<HotColdLocation> expected = EnumSet.copyOf(Arrays.asList(masterLocations));
+			final HotColdSolver solver = new HotColdSolver(EnumSet.copyOf(expected));
+
+			WorldPoint last = null;
+			for (int step = 0; step < 5; ++step)
+			{
+				final WorldPoint point = new WorldPoint(1200 + random.nextInt(2800), 2500 + random.nextInt(1500), 0);
+				final int distance = point.distanceTo2D(solution.getWorldPoint());
+				final HotColdTemperature temperature = HotColdTemperature.MASTER_HOT_COLD_TEMPERATURES.stream()
+					.filter(t -> distance >= t.getMinDistance() && distance <= t.getMaxDistance())
+					.findFirst()
+					.orElseThrow(IllegalStateException::new);
+				HotColdTemperatureChange change = null;
+				if (last != null)
+				{
+					final int lastDistance = last.distanceTo2D(solution.getWorldPoint());
+					change = distance < lastDistance ? HotColdTemperatureChange.WARMER
+						: distance == lastDistance ? HotColdTemperatureChange.SAME : HotColdTemperatureChange.COLDER;
+				}
+
+				filter(expected, point, last, temperature, change);
+				assertEquals(expected, solver.signal(point, temperature, change));
+				assertTrue(expected.contains(solution));
+				last = point;
+			}
+		}
+	}
+
+	/**
+	 * Filter the locations the straightforward way, by testing each location's rectangle
+	 */
+	private static void filter(Set<HotColdLocation> locations, WorldPoint point, WorldPoint last, HotColdTemperature temperature, HotColdTemperatureChange change)
+	{
+		final int max = temperature.getMaxDistance();
+		final int min = temperature.getMinDistance();
+		final Rectangle maxArea = new Rectangle(point.getX() - max, point.getY() - max, 2 * max + 1, 2 * max + 1);
+		final Rectangle minArea = new Rectangle(point.getX() - min, point.getY() - min, 2 * min + 1, 2 * min + 1);
+
+		locations.removeIf(l -> minArea.contains(l.getRect()) || !maxArea.intersects(l.getRect()));
+		if (last == null || change == null)
+		{
+			return;
+		}
+
+		switch (change)
+		{
+			case COLDER:
+				locations.removeIf(l -> isFirstPointCloserRect(point, last, l.getRect()));
+				break;
+			case WARMER:
+				locations.removeIf(l -> isFirstPointCloserRect(last, point, l.getRect()));
+				break;
+			case SAME:
+				locations.removeIf(l -> isFirstPointCloserRect(point, last, l.getRect()) || isFirstPointCloserRect(last, point, l.getRect()));
+		}
+	}
+
 	@Test
 	public void testIsFirstPointCloserRect()
 	{
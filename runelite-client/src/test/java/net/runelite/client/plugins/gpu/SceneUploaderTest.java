@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.gpu;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.Model;
+import net.runelite.api.Point;
+import net.runelite.api.Scene;
+import net.runelite.api.SceneTilePaint;
+import net.runelite.api.Tile;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SceneUploaderTest
+{
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	private Scene scene;
+
+	@Inject
+	private SceneUploader sceneUploader;
+
+	private SceneTilePaint edgePaint;
+	private SceneTilePaint interiorPaint;
+	private Model model;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(client.getRevision()).thenReturn(190);
+		when(client.getBaseX()).thenReturn(3200);
+		when(client.getBaseY()).thenReturn(3200);
+		when(client.getTileHeights()).thenReturn(new int[Constants.MAX_Z][Constants.SCENE_SIZE + 1][Constants.SCENE_SIZE + 1]);
+
+		Tile[][][] tiles = new Tile[Constants.MAX_Z][Constants.SCENE_SIZE][Constants.SCENE_SIZE];
+		edgePaint = paint(-1);
+		tiles[0][3][3] = tile(3, 3, edgePaint, null);
+		interiorPaint = paint(5);
+		model = model();
+		tiles[0][20][21] = tile(20, 21, interiorPaint, model);
+		when(scene.getTiles()).thenReturn(tiles);
+	}
+
+	@Test
+	public void testCachedChunk()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		int[] vertices = vertices(vertexBuffer);
+		float[] uvs = uvs(uvBuffer);
+		assertEquals((6 + 6 + 3) * 4, vertices.length);
+		assertEquals(6 * 4, uvs.length);
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		assertArrayEquals(vertices, vertices(vertexBuffer));
+		assertArrayEquals(uvs, uvs(uvBuffer), 0f);
+
+		// the edge chunk is rebuilt, the interior chunk is reused. The colours are read for the
+		// signature on every upload, and again whenever the paint is built.
+		verify(edgePaint, times(4)).getSwColor();
+		verify(interiorPaint, times(3)).getSwColor();
+		verify(model, times(1)).getVerticesX();
+
+		verify(interiorPaint, times(2)).setBufferOffset(6);
+		verify(interiorPaint, times(2)).setUvBufferOffset(0);
+		verify(interiorPaint, times(2)).setBufferLen(6);
+		verify(model, times(2)).setBufferOffset(12);
+		verify(model, times(2)).setUvBufferOffset(-1);
+	}
+
+	@Test
+	public void testMovedScene()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		when(client.getBaseX()).thenReturn(3248);
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		verify(interiorPaint, times(4)).getSwColor();
+		verify(model, times(2)).getVerticesX();
+	}
+
+	@Test
+	public void testChangedChunk()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		when(model.getTrianglesCount()).thenReturn(0);
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		verify(interiorPaint, times(4)).getSwColor();
+		assertEquals((6 + 6) * 4, vertices(vertexBuffer).length);
+	}
+
+	@Test
+	public void testRecolouredTile()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		int[] vertices = vertices(vertexBuffer);
+		when(interiorPaint.getSwColor()).thenReturn(500);
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		verify(model, times(2)).getVerticesX();
+		assertEquals(vertices.length, vertices(vertexBuffer).length);
+	}
+
+	@Test
+	public void testUpdatedMap()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+
+		// the interior chunk is in region 12850
+		when(client.getMapRegions()).thenReturn(new int[]{12850, 12851});
+		when(client.getXteaKeys()).thenReturn(new int[][]{{1, 2, 3, 4}, {5, 6, 7, 8}});
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		when(client.getXteaKeys()).thenReturn(new int[][]{{1, 2, 3, 4}, {9, 10, 11, 12}});
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		verify(model, times(1)).getVerticesX();
+
+		when(client.getXteaKeys()).thenReturn(new int[][]{{13, 14, 15, 16}, {9, 10, 11, 12}});
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+		verify(model, times(2)).getVerticesX();
+	}
+
+	private static int[] vertices(GpuIntBuffer buffer)
+	{
+		buffer.flip();
+		IntBuffer b = buffer.getBuffer();
+		int[] data = new int[b.remaining()];
+		b.get(data);
+		buffer.clear();
+		return data;
+	}
+
+	private static float[] uvs(GpuFloatBuffer buffer)
+	{
+		buffer.flip();
+		FloatBuffer b = buffer.getBuffer();
+		float[] data = new float[b.remaining()];
+		b.get(data);
+		buffer.clear();
+		return data;
+	}
+
+	private static Tile tile(int x, int y, SceneTilePaint paint, Model model)
+	{
+		Tile tile = mock(Tile.class);
+		when(tile.getSceneLocation()).thenReturn(new Point(x, y));
+		when(tile.getSceneTilePaint()).thenReturn(paint);
+		if (model != null)
+		{
+			GameObject gameObject = mock(GameObject.class);
+			when(gameObject.getRenderable()).thenReturn(model);
+			when(tile.getGameObjects()).thenReturn(new GameObject[]{gameObject});
+		}
+		else
+		{
+			when(tile.getGameObjects()).thenReturn(new GameObject[0]);
+		}
+		return tile;
+	}
+
+	private static SceneTilePaint paint(int texture)
+	{
+		SceneTilePaint paint = mock(SceneTilePaint.class);
+		when(paint.getTexture()).thenReturn(texture);
+		when(paint.getSwColor()).thenReturn(100);
+		when(paint.getSeColor()).thenReturn(200);
+		when(paint.getNeColor()).thenReturn(300);
+		when(paint.getNwColor()).thenReturn(400);
+		return paint;
+	}
+
+	private static Model model()
+	{
+		Model model = mock(Model.class);
+		lenient().when(model.getTrianglesCount()).thenReturn(1);
+		when(model.getVerticesX()).thenReturn(new int[]{0, 128, 0});
+		when(model.getVerticesY()).thenReturn(new int[]{0, 0, -64});
+		when(model.getVerticesZ()).thenReturn(new int[]{0, 0, 128});
+		when(model.getTrianglesX()).thenReturn(new int[]{0});
+		when(model.getTrianglesY()).thenReturn(new int[]{1});
+		when(model.getTrianglesZ()).thenReturn(new int[]{2});
+		when(model.getFaceColors1()).thenReturn(new int[]{1000});
+		when(model.getFaceColors2()).thenReturn(new int[]{2000});
+		when(model.getFaceColors3()).thenReturn(new int[]{3000});
+		return model;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.party.messages;
+
+import java.util.UUID;
+import net.runelite.api.coords.WorldPoint;
+import okio.Buffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MemberUpdateCodecTest
+{
+	private static final UUID MEMBER_ID = UUID.fromString("5a2c8ed6-3c27-4a1b-8d1e-9f0c6b7a1e42");
+
+	private final MemberUpdateCodec codec = new MemberUpdateCodec();
+
+	@Test
+	public void testFullUpdate()
+	{
+		MemberUpdate update = new MemberUpdate();
+		update.setMemberId(MEMBER_ID);
+		update.setLocation(new WorldPoint(3222, 3218, 2));
+		update.setHitpoints(87, 99);
+		update.setPrayer(43, 70);
+
+		MemberUpdate decoded = roundTrip(update);
+		assertEquals(MEMBER_ID, decoded.getMemberId());
+		assertTrue(decoded.has(MemberUpdate.LOCATION));
+		assertFalse(decoded.has(MemberUpdate.LOCATION_DELTA));
+		assertEquals(3222, decoded.getX());
+		assertEquals(3218, decoded.getY());
+		assertEquals(2, decoded.getPlane());
+		assertEquals(87, decoded.getHitpoints());
+		assertEquals(99, decoded.getMaxHitpoints());
+		assertEquals(43, decoded.getPrayer());
+		assertEquals(70, decoded.getMaxPrayer());
+	}
+
+	@Test
+	public void testDeltaUpdate()
+	{
+		MemberUpdate update = new MemberUpdate();
+		update.setMemberId(MEMBER_ID);
+		update.setLocationDelta(-3, 70, -1);
+
+		Buffer buffer = new Buffer();
+		codec.encode(update, buffer);
+		// member id, flags, and one or two bytes per coordinate
+		assertEquals(16 + 1 + 1 + 2 + 1, buffer.size());
+
+		MemberUpdate decoded = codec.decode(buffer);
+		assertTrue(decoded.has(MemberUpdate.LOCATION_DELTA));
+		assertFalse(decoded.has(MemberUpdate.HITPOINTS));
+		assertFalse(decoded.has(MemberUpdate.PRAYER));
+		assertEquals(-3, decoded.getX());
+		assertEquals(70, decoded.getY());
+		assertEquals(-1, decoded.getPlane());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTruncated()
+	{
+		MemberUpdate update = new MemberUpdate();
+		update.setMemberId(MEMBER_ID);
+		update.setHitpoints(50, 99);
+
+		Buffer buffer = new Buffer();
+		codec.encode(update, buffer);
+		Buffer truncated = new Buffer();
+		buffer.read(truncated, buffer.size() - 1);
+
+		codec.decode(truncated);
+	}
+
+	private MemberUpdate roundTrip(MemberUpdate update)
+	{
+		Buffer buffer = new Buffer();
+		codec.encode(update, buffer);
+		MemberUpdate decoded = codec.decode(buffer);
+		assertTrue(buffer.exhausted());
+		return decoded;
+	}
+}
@@ -25,12 +25,15 @@
  */
 package net.runelite.client.plugins.puzzlesolver;
 
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 import net.runelite.client.plugins.puzzlesolver.solver.heuristics.ManhattanDistance;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.PatternDatabaseHeuristic;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStar;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStarMM;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -163,4 +166,61 @@ public class PuzzleSolverTest
 			assertTrue(solver.getStep(solver.getStepCount() - 1).hasPieces(FINISHED_STATE));
 		}
 	}
+
+	@Test
+	public void testPatternDatabaseSolver()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (PuzzleState state : START_STATES)
+			{
+				PuzzleSolver manhattan = new PuzzleSolver(new IDAStar(new ManhattanDistance()), state);
+				manhattan.run();
+
+				PuzzleSolver solver = new PuzzleSolver(new IDAStar(new PatternDatabaseHeuristic()), state);
+				solver.run();
+
+				PuzzleSolver parallelSolver = new PuzzleSolver(new IDAStar(new PatternDatabaseHeuristic(), pool), state);
+				parallelSolver.run();
+
+				// all of the solutions are optimal
+				assertTrue(solver.getStep(solver.getStepCount() - 1).hasPieces(FINISHED_STATE));
+				assertTrue(parallelSolver.getStep(parallelSolver.getStepCount() - 1).hasPieces(FINISHED_STATE));
+				assertEquals(manhattan.getStepCount(), solver.getStepCount());
+				assertEquals(manhattan.getStepCount(), parallelSolver.getStepCount());
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testPatternDatabaseHeuristic()
+	{
+		PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic();
+		ManhattanDistance manhattan = new ManhattanDistance();
+		assertEquals(0, heuristic.computeValue(new PuzzleState(FINISHED_STATE)));
+
+		PuzzleState state = new PuzzleState(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, -1, 23});
+		assertEquals(1, heuristic.computeValue(state));
+
+		// the pattern database is never weaker than manhattan distance
+		for (PuzzleState start : START_STATES)
+		{
+			assertTrue(heuristic.computeValue(start) >= manhattan.computeValue(start));
+		}
+	}
+
+	@Test
+	public void testUnsolvable()
+	{
+		PuzzleState state = new PuzzleState(new int[]{1, 0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, -1});
+		PuzzleSolver solver = new PuzzleSolver(new IDAStar(new PatternDatabaseHeuristic()), state);
+		solver.run();
+
+		assertTrue(solver.hasFailed());
+	}
 }
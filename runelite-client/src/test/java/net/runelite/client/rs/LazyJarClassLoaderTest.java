@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class LazyJarClassLoaderTest
+{
+	public static class Deflated implements Supplier<String>
+	{
+		@Override
+		public String get()
+		{
+			return "deflated";
+		}
+	}
+
+	public static class Stored implements Supplier<String>
+	{
+		@Override
+		public String get()
+		{
+			return "stored";
+		}
+	}
+
+	@Test
+	public void testLoadClasses() throws Exception
+	{
+		ByteArrayOutputStream jar = new ByteArrayOutputStream();
+		try (JarOutputStream out = new JarOutputStream(jar))
+		{
+			out.putNextEntry(new JarEntry("README"));
+			out.write("not a class".getBytes());
+
+			out.putNextEntry(new JarEntry(entryName(Deflated.class)));
+			out.write(classBytes(Deflated.class));
+
+			byte[] stored = classBytes(Stored.class);
+			CRC32 crc = new CRC32();
+			crc.update(stored);
+			JarEntry entry = new JarEntry(entryName(Stored.class));
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(stored.length);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(stored);
+		}
+
+		// without a parent the classes can only come from the jar
+		ClassLoader classLoader = new LazyJarClassLoader(null, jar.toByteArray());
+
+		Class<?> deflated = classLoader.loadClass(Deflated.class.getName());
+		assertSame(classLoader, deflated.getClassLoader());
+		assertNotSame(Deflated.class, deflated);
+		assertEquals("deflated", ((Supplier<?>) deflated.newInstance()).get());
+
+		Class<?> stored = classLoader.loadClass(Stored.class.getName());
+		assertEquals("stored", ((Supplier<?>) stored.newInstance()).get());
+
+		// classes are only defined once
+		assertSame(deflated, classLoader.loadClass(Deflated.class.getName()));
+	}
+
+	@Test(expected = ClassNotFoundException.class)
+	public void testMissingClass() throws Exception
+	{
+		ByteArrayOutputStream jar = new ByteArrayOutputStream();
+		try (JarOutputStream out = new JarOutputStream(jar))
+		{
+			out.putNextEntry(new JarEntry(entryName(Deflated.class)));
+			out.write(classBytes(Deflated.class));
+		}
+
+		new LazyJarClassLoader(null, jar.toByteArray()).loadClass(Stored.class.getName());
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotAJar() throws Exception
+	{
+		new LazyJarClassLoader(null, new byte[100]);
+	}
+
+	private static String entryName(Class<?> clazz)
+	{
+		return clazz.getName().replace('.', '/') + ".class";
+	}
+
+	private static byte[] classBytes(Class<?> clazz) throws IOException
+	{
+		try (InputStream in = clazz.getClassLoader().getResourceAsStream(entryName(clazz)))
+		{
+			return ByteStreams.toByteArray(in);
+		}
+	}
+}
@@ -24,14 +24,20 @@
  */
 package net.runelite.client.ui.overlay;
 
+import com.google.inject.Guice;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.util.Arrays;
 import java.util.List;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.config.RuneLiteConfig;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.events.ConfigChanged;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
+import static org.mockito.Mockito.mock;
 
 public class OverlayManagerTest
 {
@@ -120,4 +126,40 @@ public class OverlayManagerTest
 		assertEquals(t, overlays.get(2));
 	}
 
+	@Test
+	public void testRetainedInvalidation()
+	{
+		OverlayManager overlayManager = Guice.createInjector(binder ->
+		{
+			binder.bind(ConfigManager.class).toInstance(mock(ConfigManager.class));
+			binder.bind(RuneLiteConfig.class).toInstance(mock(RuneLiteConfig.class));
+			binder.bind(EventBus.class).toInstance(mock(EventBus.class));
+		}).getInstance(OverlayManager.class);
+
+		Overlay retained = new OverlayA();
+		retained.setRetained(true);
+		Overlay other = new OverlayB();
+		overlayManager.add(retained);
+
+		retained.clearDirty();
+		overlayManager.add(other);
+		assertTrue(retained.isDirty());
+
+		retained.clearDirty();
+		overlayManager.remove(other);
+		assertTrue(retained.isDirty());
+
+		retained.clearDirty();
+		ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup("test");
+		configChanged.setKey("key");
+		overlayManager.onConfigChanged(configChanged);
+		assertTrue(retained.isDirty());
+
+		// only retained overlays are invalidated
+		other.clearDirty();
+		overlayManager.add(other);
+		overlayManager.markRetainedDirty();
+		assertFalse(other.isDirty());
+	}
 }
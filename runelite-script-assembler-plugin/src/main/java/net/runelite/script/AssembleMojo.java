@@ -26,12 +26,11 @@ package net.runelite.script;
 
 import com.google.common.io.Files;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.ScriptDefinition;
 import net.runelite.cache.definitions.savers.ScriptSaver;
-import net.runelite.cache.script.assembler.Assembler;
+import net.runelite.cache.script.ScriptBatch;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -52,6 +51,9 @@ public class AssembleMojo extends AbstractMojo
 	@Parameter(required = true)
 	private File outputDirectory;
 
+	@Parameter(defaultValue = "${project.build.directory}/rs2asm.manifest")
+	private File manifest;
+
 	private final Log log = getLog();
 
 	@Override
@@ -60,43 +62,52 @@ public class AssembleMojo extends AbstractMojo
 		RuneLiteInstructions instructions = new RuneLiteInstructions();
 		instructions.init();
 
-		Assembler assembler = new Assembler(instructions);
+		ScriptBatch batch = new ScriptBatch(instructions);
 		ScriptSaver saver = new ScriptSaver();
 
-		int count = 0;
 		File scriptOut = new File(outputDirectory, Integer.toString(IndexType.CLIENTSCRIPT.getNumber()));
 		scriptOut.mkdirs();
 
-		for (File scriptFile : scriptDirectory.listFiles((dir, name) -> name.endsWith(".rs2asm")))
+		int count;
+		try
 		{
-			log.debug("Assembling " + scriptFile);
-
-			try (FileInputStream fin = new FileInputStream(scriptFile))
+			count = batch.assemble(scriptDirectory, manifest, new ScriptBatch.AssembleCallback()
 			{
-				ScriptDefinition script = assembler.assemble(fin);
-				byte[] packedScript = saver.save(script);
+				@Override
+				public void accept(File scriptFile, ScriptDefinition script) throws IOException
+				{
+					log.debug("Assembled " + scriptFile);
 
-				File targetFile = new File(scriptOut, Integer.toString(script.getId()));
-				Files.write(packedScript, targetFile);
+					byte[] packedScript = saver.save(script);
 
-				// Copy hash file
+					File targetFile = new File(scriptOut, Integer.toString(script.getId()));
+					Files.write(packedScript, targetFile);
 
-				File hashFile = new File(scriptDirectory, Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
-				if (hashFile.exists())
-				{
-					Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
+					// Copy hash file
+
+					File hashFile = new File(scriptDirectory, Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
+					if (hashFile.exists())
+					{
+						Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
+					}
+					else if (script.getId() < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+					{
+						throw new IOException("Unable to find hash file for " + scriptFile);
+					}
 				}
-				else if (script.getId() < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+
+				@Override
+				public boolean isAssembled(int scriptId)
 				{
-					throw new MojoExecutionException("Unable to find hash file for " + scriptFile);
+					// the output directory may have been cleaned without the manifest
+					return new File(scriptOut, Integer.toString(scriptId)).exists()
+						&& (scriptId >= 10000 || new File(scriptOut, scriptId + ".hash").exists());
 				}
-
-				++count;
-			}
-			catch (IOException ex)
-			{
-				throw new MojoFailureException("unable to open file", ex);
-			}
+			});
+		}
+		catch (IOException ex)
+		{
+			throw new MojoFailureException("unable to assemble scripts", ex);
 		}
 
 		log.info("Assembled " + count + " scripts");